@@ -0,0 +1,83 @@
+package org.abpira.accounts.admission;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.abpira.accounts.constants.AccountsConstants;
+import org.reactivestreams.Publisher;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs admission control before the controller, so rejections surface through {@code GlobalExceptionHandler}.
+ * Endpoints are named after their path below {@code /api}, with slashes turned into dashes: {@code fetch},
+ * {@code fetch-batch}, {@code create-bulk}. Clients are identified by their remote address, or by the
+ * {@value AccountsConstants#CLIENT_ID_HEADER} header on requests from a trusted gateway.
+ * <p>
+ * Handlers returning a {@link Publisher} read through R2DBC and are only rate limited; every other handler also
+ * needs a concurrency slot, held until the request completes.
+ */
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SLOT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".slot";
+    private static final String API_PREFIX = "/api/";
+
+    private final AdmissionLimiter admissionLimiter;
+    private final Set<String> trustedGateways;
+    private final ConcurrentHashMap<String, String> endpointNames = new ConcurrentHashMap<>();
+
+    /**
+     * @param trustedGateways remote addresses whose {@value AccountsConstants#CLIENT_ID_HEADER} header is trusted
+     */
+    public AdmissionInterceptor(AdmissionLimiter admissionLimiter, Set<String> trustedGateways) {
+        this.admissionLimiter = admissionLimiter;
+        this.trustedGateways = Set.copyOf(trustedGateways);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // an async dispatch resumes a request that was admitted on its first dispatch
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        boolean holdsConnection = !Publisher.class.isAssignableFrom(handlerMethod.getMethod().getReturnType());
+        if (admissionLimiter.admit(endpoint(request), clientId(request), holdsConnection)) {
+            request.setAttribute(SLOT_ATTRIBUTE, Boolean.TRUE);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(SLOT_ATTRIBUTE) != null) {
+            request.removeAttribute(SLOT_ATTRIBUTE);
+            admissionLimiter.release();
+        }
+    }
+
+    private String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String path = pattern != null ? pattern.toString() : request.getRequestURI();
+        String endpoint = endpointNames.get(path);
+        return endpoint != null ? endpoint : endpointNames.computeIfAbsent(path, AdmissionInterceptor::endpointName);
+    }
+
+    static String endpointName(String path) {
+        String name = path.startsWith(API_PREFIX) ? path.substring(API_PREFIX.length()) : path;
+        return name.replace('/', '-');
+    }
+
+    String clientId(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (!trustedGateways.contains(remoteAddress)) {
+            return remoteAddress;
+        }
+        String clientId = request.getHeader(AccountsConstants.CLIENT_ID_HEADER);
+        return clientId != null && !clientId.isBlank() ? clientId : remoteAddress;
+    }
+}
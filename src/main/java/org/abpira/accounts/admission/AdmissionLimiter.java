@@ -0,0 +1,128 @@
+package org.abpira.accounts.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.exceptions.RateLimitExceededException;
+import org.abpira.accounts.exceptions.ServiceOverloadedException;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether a request may run. Each endpoint has a token bucket shared by all clients and one per client,
+ * and requests that hold a database connection while they run also need one of {@code maxConcurrent} slots.
+ * A client token taken for a request the shared bucket then rejects is refunded, so a busy endpoint does not
+ * also use up its callers' own limits.
+ * Rejections are thrown as {@link RateLimitExceededException} (429) or {@link ServiceOverloadedException} (503)
+ * before any work is done, so a spike is answered quickly instead of queueing on the connection pool.
+ * <p>
+ * Every check is a compare-and-set on an existing bucket or counter; locks are only taken the first time an
+ * endpoint or client is seen. Published as {@code accounts.admission.requests} tagged with {@code endpoint} and
+ * {@code result=admitted|rate-limited|overloaded}, plus the {@code accounts.admission.in-flight} gauge.
+ */
+public class AdmissionLimiter {
+
+    static final String REQUESTS_COUNTER = "accounts.admission.requests";
+
+    private static final Duration OVERLOADED_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final AccountsProperties.Admission properties;
+    private final int maxConcurrent;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, TokenBucket> endpointBuckets = new ConcurrentHashMap<>();
+    private final Cache<ClientKey, TokenBucket> clientBuckets;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * @param maxConcurrent requests allowed to hold a connection at once; {@code 0} or less disables the cap
+     */
+    public AdmissionLimiter(AccountsProperties.Admission properties, int maxConcurrent, MeterRegistry meterRegistry,
+                            LongSupplier clock) {
+        this.properties = properties;
+        this.maxConcurrent = maxConcurrent;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.clientBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getClientIdleTimeout())
+                .build();
+        Gauge.builder("accounts.admission.in-flight", inFlight, AtomicInteger::get)
+                .description("Admitted requests currently holding a concurrency slot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits the request or throws. When this returns {@code true} a concurrency slot was taken and
+     * {@link #release()} must be called once the request completes.
+     */
+    public boolean admit(String endpoint, String clientId, boolean holdsConnection) {
+        AccountsProperties.Admission.Limit limit = properties.getEndpoints()
+                .getOrDefault(endpoint, properties.getDefaultLimit());
+        long wait = 0;
+        TokenBucket clientBucket = null;
+        if (limit.getClientRate() > 0) {
+            clientBucket = clientBuckets.get(new ClientKey(endpoint, clientId),
+                    key -> new TokenBucket(limit.getClientRate(), limit.getClientBurst(), clock));
+            wait = clientBucket.tryAcquire();
+        }
+        if (wait == 0 && limit.getRate() > 0) {
+            TokenBucket bucket = endpointBuckets.get(endpoint);
+            if (bucket == null) {
+                bucket = endpointBuckets.computeIfAbsent(endpoint,
+                        key -> new TokenBucket(limit.getRate(), limit.getBurst(), clock));
+            }
+            wait = bucket.tryAcquire();
+            if (wait > 0 && clientBucket != null) {
+                clientBucket.refund();
+            }
+        }
+        if (wait > 0) {
+            count(endpoint, "rate-limited");
+            throw new RateLimitExceededException(endpoint, Duration.ofNanos(wait));
+        }
+        if (holdsConnection && maxConcurrent > 0) {
+            if (!tryEnter()) {
+                count(endpoint, "overloaded");
+                throw new ServiceOverloadedException(endpoint, OVERLOADED_RETRY_AFTER);
+            }
+            count(endpoint, "admitted");
+            return true;
+        }
+        count(endpoint, "admitted");
+        return false;
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    private boolean tryEnter() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxConcurrent) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void count(String endpoint, String result) {
+        Counter.builder(REQUESTS_COUNTER)
+                .description("Requests admitted or rejected by admission control")
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record ClientKey(String endpoint, String clientId) {
+    }
+}
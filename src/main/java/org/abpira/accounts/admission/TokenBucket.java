@@ -0,0 +1,56 @@
+package org.abpira.accounts.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket in its GCRA form: instead of a token count it keeps the theoretical arrival time of the
+ * next request, so taking a token is one compare-and-set on a single {@code long}. A bucket refills at
+ * {@code ratePerSecond} and admits bursts of up to {@code burst} requests.
+ */
+public class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long interval;
+    private final long capacity;
+    private final LongSupplier clock;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double ratePerSecond, int burst, LongSupplier clock) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate must be positive and burst at least 1");
+        }
+        this.interval = Math.max(1L, (long) (NANOS_PER_SECOND / ratePerSecond));
+        this.capacity = interval * burst;
+        this.clock = clock;
+        this.theoreticalArrival = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return {@code 0} when the request is admitted, otherwise the nanoseconds until a token becomes available
+     */
+    public long tryAcquire() {
+        long now = clock.getAsLong();
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - capacity;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns a token taken by {@link #tryAcquire()} for a request that was turned away later on.
+     */
+    public void refund() {
+        theoreticalArrival.addAndGet(-interval);
+    }
+}
@@ -0,0 +1,32 @@
+package org.abpira.accounts.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.abpira.accounts.constants.AccountsConstants;
+import org.abpira.accounts.events.AccountsChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalidates cached account details once a mutation has been committed, so a concurrent read cannot
+ * re-populate the cache with a row that is about to change. The numbers are also recorded in {@link RecentWrites},
+ * which keeps a replica read that still sees the old row out of the cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountDetailsCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final RecentWrites recentWrites;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountsChanged(AccountsChangedEvent event) {
+        // recorded first, so a miss straight after the eviction already sees the number as recently written
+        event.affectedMobileNumbers().forEach(recentWrites::record);
+        Cache cache = cacheManager.getCache(AccountsConstants.ACCOUNT_DETAILS_CACHE);
+        if (cache != null) {
+            event.affectedMobileNumbers().forEach(cache::evict);
+        }
+    }
+}
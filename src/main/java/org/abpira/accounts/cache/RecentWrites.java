@@ -0,0 +1,29 @@
+package org.abpira.accounts.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Mobile numbers changed on this instance within the replica's maximum lag. A fetch of such a number may have been
+ * answered by a replica that has not applied the change yet, so its result is returned but not cached.
+ */
+public class RecentWrites {
+
+    private final Cache<String, Boolean> mobileNumbers;
+
+    public RecentWrites(Duration maxLag) {
+        this.mobileNumbers = Caffeine.newBuilder()
+                .expireAfterWrite(maxLag)
+                .build();
+    }
+
+    public void record(String mobileNumber) {
+        mobileNumbers.put(mobileNumber, Boolean.TRUE);
+    }
+
+    public boolean contains(String mobileNumber) {
+        return mobileNumbers.getIfPresent(mobileNumber) != null;
+    }
+}
@@ -0,0 +1,32 @@
+package org.abpira.accounts.config;
+
+import org.abpira.accounts.generator.AccountNumberGenerator;
+import org.abpira.accounts.generator.BlockAccountNumberGenerator;
+import org.abpira.accounts.generator.JpaAccountNumberBlockAllocator;
+import org.abpira.accounts.generator.RandomAccountNumberGenerator;
+import org.abpira.accounts.repository.AccountNumberSequenceRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+public class AccountNumberGeneratorConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "accounts.account-number", name = "generator", havingValue = "block",
+            matchIfMissing = true)
+    public AccountNumberGenerator blockAccountNumberGenerator(AccountNumberSequenceRepository sequenceRepository,
+                                                             PlatformTransactionManager transactionManager,
+                                                             AccountsProperties accountsProperties) {
+        return new BlockAccountNumberGenerator(
+                new JpaAccountNumberBlockAllocator(sequenceRepository, transactionManager),
+                accountsProperties.getAccountNumber().getBlockSize());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "accounts.account-number", name = "generator", havingValue = "random")
+    public AccountNumberGenerator randomAccountNumberGenerator() {
+        return new RandomAccountNumberGenerator();
+    }
+}
@@ -0,0 +1,388 @@
+package org.abpira.accounts.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "accounts")
+public class AccountsProperties {
+
+    /**
+     * How account details are read: {@code JOINED} resolves customer and account in one query straight
+     * into a projection, {@code SPLIT} reads customer and account projections one after the other, and
+     * {@code ENTITY} loads both managed entities one after the other.
+     */
+    private ReadPath readPath = ReadPath.JOINED;
+
+    private final Bulk bulk = new Bulk();
+
+    private final BatchFetch batchFetch = new BatchFetch();
+
+    private final AccountNumber accountNumber = new AccountNumber();
+
+    private final Diagnostics diagnostics = new Diagnostics();
+
+    private final Delete delete = new Delete();
+
+    private final Outbox outbox = new Outbox();
+
+    private final Idempotency idempotency = new Idempotency();
+
+    private final Admission admission = new Admission();
+
+    private final FileImport fileImport = new FileImport();
+
+    private final SearchIndex searchIndex = new SearchIndex();
+
+    private final MobileNumberFilter mobileNumberFilter = new MobileNumberFilter();
+
+    private final Datasource datasource = new Datasource();
+
+    public enum ReadPath {
+        JOINED,
+        SPLIT,
+        ENTITY
+    }
+
+    public enum DeleteMode {
+        SOFT,
+        HARD
+    }
+
+    @Getter
+    @Setter
+    public static class Bulk {
+
+        /**
+         * Upper bound on the number of customers accepted by a single bulk create request.
+         */
+        private int maxItems = 10000;
+
+        /**
+         * Rows persisted per transaction; keep aligned with {@code hibernate.jdbc.batch_size}.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Mobile numbers per {@code IN} list when checking for existing customers.
+         */
+        private int lookupChunkSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class BatchFetch {
+
+        /**
+         * Mobile numbers per {@code IN} list when resolving a batch fetch.
+         */
+        private int chunkSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class AccountNumber {
+
+        /**
+         * {@code block} reserves ranges from the database, {@code random} keeps the legacy random draw.
+         */
+        private String generator = "block";
+
+        /**
+         * Account numbers reserved per database round trip by each instance.
+         */
+        private int blockSize = 1000;
+    }
+
+    @Getter
+    public static class Diagnostics {
+
+        private final Pinning pinning = new Pinning();
+
+        @Getter
+        @Setter
+        public static class Pinning {
+
+            /**
+             * Record {@code jdk.VirtualThreadPinned} JFR events and publish them as metrics.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Pinned sections shorter than this are ignored.
+             */
+            private Duration threshold = Duration.ofMillis(20);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Delete {
+
+        /**
+         * {@code SOFT} marks the customer deleted in one statement and leaves row removal to the purger,
+         * {@code HARD} removes the customer and account rows within the request.
+         */
+        private DeleteMode mode = DeleteMode.SOFT;
+
+        private final Purge purge = new Purge();
+
+        @Getter
+        @Setter
+        public static class Purge {
+
+            /**
+             * Soft-deleted customers removed, with their accounts, per purge transaction.
+             */
+            private int batchSize = 500;
+
+            /**
+             * Upper bound on purge transactions per run, so one run cannot hold the purger thread indefinitely.
+             */
+            private int maxBatchesPerRun = 100;
+
+            /**
+             * Delay between the end of one purge run and the start of the next.
+             */
+            private Duration interval = Duration.ofSeconds(30);
+        }
+    }
+
+    @Getter
+    public static class Outbox {
+
+        private final Relay relay = new Relay();
+
+        private final Sink sink = new Sink();
+
+        private final Stream stream = new Stream();
+
+        @Getter
+        @Setter
+        public static class Relay {
+
+            /**
+             * Outbox rows published per relay transaction.
+             */
+            private int batchSize = 500;
+
+            /**
+             * Delay between the end of one relay run and the start of the next.
+             */
+            private Duration interval = Duration.ofSeconds(1);
+
+            /**
+             * Published rows older than this are deleted; consumers must not fall further behind.
+             */
+            private Duration retention = Duration.ofDays(7);
+        }
+
+        @Getter
+        @Setter
+        public static class Sink {
+
+            /**
+             * Where the relay publishes: {@code log}, {@code file} (NDJSON lines) or {@code memory}.
+             */
+            private String type = "log";
+
+            /**
+             * Target of the {@code file} sink.
+             */
+            private String path = "outbox-events.ndjson";
+        }
+
+        @Getter
+        @Setter
+        public static class Stream {
+
+            /**
+             * Events read per query while a consumer catches up.
+             */
+            private int pageSize = 500;
+
+            /**
+             * How often a caught-up, following consumer checks for new events.
+             */
+            private Duration pollInterval = Duration.ofSeconds(1);
+
+            /**
+             * How long a following stream stays open before it completes; the consumer reconnects with the last
+             * sequence number it processed.
+             */
+            private Duration maxDuration = Duration.ofMinutes(5);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Idempotency {
+
+        /**
+         * Upper bound on remembered idempotency keys, in flight and completed, per instance.
+         */
+        private long maxEntries = 100_000;
+
+        /**
+         * How long a completed response is replayed for its key.
+         */
+        private Duration ttl = Duration.ofHours(24);
+
+        /**
+         * How long a duplicate waits for the in-flight original before it is answered with 409.
+         */
+        private Duration waitTimeout = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Admission {
+
+        /**
+         * Apply rate limits and the concurrency cap to the {@code /api} endpoints.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Concurrent requests allowed per pooled connection, summed over all pools; {@code 0} disables the cap.
+         * Above 1 because cache hits run without a connection.
+         */
+        private double concurrencyPerConnection = 2;
+
+        /**
+         * Upper bound on clients with a remembered bucket.
+         */
+        private long maxClients = 100_000;
+
+        /**
+         * A client's buckets are dropped after this long without a request.
+         */
+        private Duration clientIdleTimeout = Duration.ofMinutes(10);
+
+        /**
+         * Remote addresses of gateways trusted to name the client in {@code X-Client-Id}. Requests from any other
+         * address are limited by their remote address, whatever the header says.
+         */
+        private Set<String> trustedGateways = new HashSet<>();
+
+        /**
+         * Limit for endpoints without an entry in {@code endpoints}.
+         */
+        private final Limit defaultLimit = new Limit();
+
+        /**
+         * Limits by endpoint name, e.g. {@code fetch} or {@code create-bulk}; an entry replaces the default limit.
+         */
+        private final Map<String, Limit> endpoints = new HashMap<>();
+
+        @Getter
+        @Setter
+        public static class Limit {
+
+            /**
+             * Sustained requests per second to the endpoint across all clients; {@code 0} means unlimited.
+             */
+            private double rate = 0;
+
+            /**
+             * Requests accepted at once across all clients before {@code rate} paces them.
+             */
+            private int burst = 100;
+
+            /**
+             * Sustained requests per second to the endpoint from one client; {@code 0} means unlimited.
+             */
+            private double clientRate = 0;
+
+            /**
+             * Requests accepted at once from one client before {@code client-rate} paces them.
+             */
+            private int clientBurst = 20;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class FileImport {
+
+        /**
+         * Directory import files are read from; requests name files relative to it.
+         */
+        private String directory = "imports";
+
+        /**
+         * Records written per transaction, and the unit a resumed import skips by. Fixed per job when it starts.
+         */
+        private int batchSize = 1000;
+
+        /**
+         * Batches written concurrently across all running imports; each holds a pooled connection while it runs.
+         */
+        private int parallelism = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class SearchIndex {
+
+        /**
+         * Delay between runs that apply pending customer changes to the search index.
+         */
+        private Duration refreshInterval = Duration.ofMillis(500);
+
+        /**
+         * Changed customers re-read per query when refreshing the index.
+         */
+        private int refreshBatchSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class MobileNumberFilter {
+
+        /**
+         * When disabled every create looks its mobile number up in the database.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Registered mobile numbers the filter is sized for; beyond this its false-positive rate climbs.
+         */
+        private int expectedNumbers = 1_000_000;
+
+        /**
+         * Share of unregistered numbers the filter cannot rule out, which still cost a lookup.
+         */
+        private double falsePositiveRate = 0.01;
+    }
+
+    @Getter
+    public static class Datasource {
+
+        private final Replica replica = new Replica();
+
+        /**
+         * Only the settings the application acts on; the pool itself binds the same prefix with Hikari's names.
+         */
+        @Getter
+        @Setter
+        public static class Replica {
+
+            private boolean enabled = false;
+
+            /**
+             * Longest the replica is expected to trail the primary. Fetches of a mobile number changed on this
+             * instance are not cached for this long, so a stale replica read cannot outlive it in the cache.
+             */
+            private Duration maxLag = Duration.ofSeconds(5);
+        }
+    }
+}
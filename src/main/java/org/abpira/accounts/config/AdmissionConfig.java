@@ -0,0 +1,46 @@
+package org.abpira.accounts.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.abpira.accounts.admission.AdmissionInterceptor;
+import org.abpira.accounts.admission.AdmissionLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+
+import java.util.Map;
+
+/**
+ * Admission control for the {@code /api} endpoints. The interceptor is registered as a {@link MappedInterceptor}
+ * bean rather than through a {@code WebMvcConfigurer}, so MVC slice tests run without it. The concurrency cap
+ * follows the connection pools: {@code concurrency-per-connection} times the connections of all pools.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "accounts.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public AdmissionLimiter admissionLimiter(AccountsProperties accountsProperties,
+                                             Map<String, HikariDataSource> pools,
+                                             MeterRegistry meterRegistry) {
+        AccountsProperties.Admission admission = accountsProperties.getAdmission();
+        int connections = pools.values().stream().mapToInt(AdmissionConfig::maximumPoolSize).sum();
+        int maxConcurrent = (int) Math.ceil(connections * admission.getConcurrencyPerConnection());
+        return new AdmissionLimiter(admission, maxConcurrent, meterRegistry, System::nanoTime);
+    }
+
+    @Bean
+    public MappedInterceptor admissionInterceptor(AdmissionLimiter admissionLimiter,
+                                                  AccountsProperties accountsProperties) {
+        return new MappedInterceptor(new String[]{"/api/**"}, new AdmissionInterceptor(admissionLimiter,
+                accountsProperties.getAdmission().getTrustedGateways()));
+    }
+
+    private static int maximumPoolSize(HikariDataSource pool) {
+        // Hikari applies its default size only once the pool starts
+        return pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+    }
+}
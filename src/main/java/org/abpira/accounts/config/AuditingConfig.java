@@ -0,0 +1,12 @@
+package org.abpira.accounts.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+/**
+ * Kept off the application class so test slices, which skip scanned configuration, do not need the auditor bean.
+ */
+@Configuration
+@EnableJpaAuditing(auditorAwareRef = "auditAwareImpl")
+public class AuditingConfig {
+}
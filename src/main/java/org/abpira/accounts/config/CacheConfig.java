@@ -0,0 +1,36 @@
+package org.abpira.accounts.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.abpira.accounts.cache.RecentWrites;
+import org.abpira.accounts.coalescing.SingleFlight;
+import org.abpira.accounts.dto.CustomerDTO;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Enables the read-through cache in front of account lookups. Cache names, size and TTL are configured
+ * under {@code spring.cache} so they can be tuned per environment without a rebuild. Behind the cache,
+ * concurrent misses for the same mobile number are coalesced into one database lookup.
+ * <p>
+ * With a replica, a fetch shortly after a change may still see the old row. Such results are not cached until
+ * {@code accounts.datasource.replica.max-lag} has passed since the change.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public SingleFlight<String, CustomerDTO> accountDetailsSingleFlight(MeterRegistry meterRegistry) {
+        return new SingleFlight<>("accountDetails", meterRegistry);
+    }
+
+    @Bean
+    public RecentWrites recentWrites(AccountsProperties accountsProperties) {
+        AccountsProperties.Datasource.Replica replica = accountsProperties.getDatasource().getReplica();
+        // without a replica every fetch reads the primary, so nothing needs to be kept out of the cache
+        return new RecentWrites(replica.isEnabled() ? replica.getMaxLag() : Duration.ZERO);
+    }
+}
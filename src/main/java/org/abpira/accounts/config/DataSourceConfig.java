@@ -0,0 +1,94 @@
+package org.abpira.accounts.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.util.UtilityElf;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Connection pools and read/write routing. The primary pool is configured under {@code spring.datasource} as
+ * usual; the optional replica pool under {@code accounts.datasource.replica} takes Hikari's own property names.
+ * <p>
+ * The application-facing {@code dataSource} hands out lazy connections: nothing is borrowed from a pool until the
+ * first statement, and by then a read-only transaction has marked the connection read-only, which selects the
+ * replica pool. Transactions that never issue a statement, such as cache hits, borrow nothing. The proxy needs the
+ * pool's auto-commit and isolation defaults for that. A Hikari pool with a configured isolation applies both to
+ * every connection it hands out, so they are taken from its configuration and startup needs no database; otherwise
+ * they are read from one connection at startup rather than from the first transaction's.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "accounts.datasource.replica", name = "enabled", havingValue = "true")
+    @ConfigurationProperties("accounts.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") Optional<DataSource> replicaDataSource)
+            throws SQLException {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        replicaDataSource.ifPresent(dataSource::setReadOnlyDataSource);
+        HikariDataSource pool = primaryDataSource.isWrapperFor(HikariDataSource.class)
+                ? primaryDataSource.unwrap(HikariDataSource.class)
+                : null;
+        if (pool != null && pool.getTransactionIsolation() != null) {
+            dataSource.setDefaultAutoCommit(pool.isAutoCommit());
+            dataSource.setDefaultTransactionIsolation(
+                    UtilityElf.getTransactionIsolation(pool.getTransactionIsolation()));
+        } else {
+            try (Connection connection = primaryDataSource.getConnection()) {
+                dataSource.setDefaultAutoCommit(connection.getAutoCommit());
+                dataSource.setDefaultTransactionIsolation(connection.getTransactionIsolation());
+            }
+        }
+        return dataSource;
+    }
+
+    /**
+     * Share of each pool's connections in use, next to Hikari's own {@code hikaricp.connections.*} meters.
+     * A pool pinned at 1 makes callers queue in {@code hikaricp.connections.pending}.
+     */
+    @Bean
+    public MeterBinder connectionPoolSaturationMetrics(Map<String, HikariDataSource> pools) {
+        return registry -> pools.forEach((beanName, pool) -> Gauge.builder("accounts.datasource.saturation", pool,
+                        DataSourceConfig::saturation)
+                .description("Active connections as a share of the maximum pool size")
+                .tag("pool", pool.getPoolName() != null ? pool.getPoolName() : beanName)
+                .register(registry));
+    }
+
+    private static double saturation(HikariDataSource pool) {
+        HikariPoolMXBean stats = pool.getHikariPoolMXBean();
+        if (stats == null) {
+            return 0;
+        }
+        return (double) stats.getActiveConnections() / pool.getMaximumPoolSize();
+    }
+}
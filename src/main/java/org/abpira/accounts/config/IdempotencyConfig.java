@@ -0,0 +1,33 @@
+package org.abpira.accounts.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.abpira.accounts.idempotency.IdempotencyFilter;
+import org.abpira.accounts.idempotency.IdempotencyStore;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the idempotency filter for the create and update endpoints only; reads are naturally idempotent and
+ * bulk create reports per-item outcomes instead. {@code /api/accounts} also serves the account listing, which the
+ * filter passes through because it only handles POST, PUT and PATCH.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(AccountsProperties accountsProperties) {
+        AccountsProperties.Idempotency idempotency = accountsProperties.getIdempotency();
+        return new IdempotencyStore(idempotency.getMaxEntries(), idempotency.getTtl());
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore idempotencyStore,
+                                                                      AccountsProperties accountsProperties,
+                                                                      ObjectMapper objectMapper) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(new IdempotencyFilter(
+                idempotencyStore, accountsProperties.getIdempotency().getWaitTimeout(), objectMapper));
+        registration.addUrlPatterns("/api/create", "/api/accounts", "/api/update");
+        return registration;
+    }
+}
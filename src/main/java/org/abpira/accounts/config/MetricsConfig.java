@@ -0,0 +1,21 @@
+package org.abpira.accounts.config;
+
+import org.abpira.accounts.metrics.QueryCountInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks the per-request query counter into Hibernate. Service latency comes from {@code @Timed}, repository
+ * latency from Spring Data's {@code spring.data.repository.invocations} and pool wait time from the Hikari meters,
+ * all of which Boot registers on its own.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+}
@@ -0,0 +1,15 @@
+package org.abpira.accounts.config;
+
+import org.abpira.accounts.membership.MobileNumberFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MobileNumberFilterConfig {
+
+    @Bean
+    public MobileNumberFilter mobileNumberFilter(AccountsProperties accountsProperties) {
+        AccountsProperties.MobileNumberFilter filter = accountsProperties.getMobileNumberFilter();
+        return new MobileNumberFilter(filter.getExpectedNumbers(), filter.getFalsePositiveRate());
+    }
+}
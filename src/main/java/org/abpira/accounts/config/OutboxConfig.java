@@ -0,0 +1,34 @@
+package org.abpira.accounts.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.abpira.accounts.outbox.FileOutboxSink;
+import org.abpira.accounts.outbox.InMemoryOutboxSink;
+import org.abpira.accounts.outbox.LoggingOutboxSink;
+import org.abpira.accounts.outbox.OutboxSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "accounts.outbox.sink", name = "type", havingValue = "log", matchIfMissing = true)
+    public OutboxSink loggingOutboxSink() {
+        return new LoggingOutboxSink();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "accounts.outbox.sink", name = "type", havingValue = "file")
+    public OutboxSink fileOutboxSink(AccountsProperties accountsProperties, ObjectMapper objectMapper) {
+        return new FileOutboxSink(Path.of(accountsProperties.getOutbox().getSink().getPath()), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "accounts.outbox.sink", name = "type", havingValue = "memory")
+    public InMemoryOutboxSink inMemoryOutboxSink() {
+        return new InMemoryOutboxSink();
+    }
+}
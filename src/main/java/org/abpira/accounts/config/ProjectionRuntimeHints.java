@@ -0,0 +1,38 @@
+package org.abpira.accounts.config;
+
+import org.abpira.accounts.repository.projection.AccountExportRow;
+import org.abpira.accounts.repository.projection.AccountSearchRow;
+import org.abpira.accounts.repository.projection.AccountSummary;
+import org.abpira.accounts.repository.projection.AccountWithCustomer;
+import org.abpira.accounts.repository.projection.CustomerAccountView;
+import org.abpira.accounts.repository.projection.CustomerSummary;
+import org.abpira.accounts.repository.projection.ImportRejectionRow;
+import org.abpira.accounts.repository.projection.ImportTotals;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Projections are built by Hibernate through JPQL {@code select new ...} expressions, which reach their constructors
+ * reflectively and are invisible to the AOT analysis of the repositories. A native image needs them declared.
+ */
+public class ProjectionRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<Class<?>> PROJECTIONS = List.of(
+            AccountExportRow.class,
+            AccountSearchRow.class,
+            AccountSummary.class,
+            AccountWithCustomer.class,
+            CustomerAccountView.class,
+            CustomerSummary.class,
+            ImportRejectionRow.class,
+            ImportTotals.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        PROJECTIONS.forEach(projection ->
+                hints.reflection().registerType(projection, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS));
+    }
+}
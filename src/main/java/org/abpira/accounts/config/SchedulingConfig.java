@@ -0,0 +1,12 @@
+package org.abpira.accounts.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background jobs such as the soft-delete purger. Each job decides on its own whether it is active.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -13,4 +13,17 @@ public class AccountsConstants {
     public static final String MESSAGE_200 = "Request processed successfully";
     public static final String STATUS_500 = "500";
     public static final String MESSAGE_500 = "An error occurred, please try again or contact Dev Team";
+    public static final String ACCOUNT_DETAILS_CACHE = "accountDetails";
+    public static final int BATCH_FETCH_MAX_ITEMS = 5000;
+    // every account of each customer is returned, so far fewer customers than a batch fetch
+    public static final int ACCOUNTS_BATCH_MAX_ITEMS = 100;
+    public static final int ACCOUNTS_PAGE_MAX_SIZE = 500;
+    public static final int ACCOUNTS_SEARCH_MAX_SIZE = 500;
+    public static final int CUSTOMER_SEARCH_MAX_SIZE = 50;
+    public static final String SERVICE_TIMER = "accounts.service";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    // rows per cursor round trip during exports; a string because it is used in @QueryHint
+    public static final String EXPORT_FETCH_SIZE = "1000";
 }
@@ -0,0 +1,34 @@
+package org.abpira.accounts.controller;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import org.abpira.accounts.dto.AccountChangeDTO;
+import org.abpira.accounts.service.AccountChangesService;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Change feed for downstream services. A consumer remembers the last {@code sequenceNumber} it processed and
+ * resumes from it with {@code after}, instead of re-fetching account details to detect changes.
+ */
+@Validated
+@RestController
+@RequestMapping(path = "/api/changes")
+@RequiredArgsConstructor
+public class AccountChangesController {
+
+    private final AccountChangesService accountChangesService;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AccountChangeDTO> streamChanges(
+            @PositiveOrZero(message = "Offset must not be negative")
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "true") boolean follow) {
+        return accountChangesService.changesAfter(after, follow);
+    }
+}
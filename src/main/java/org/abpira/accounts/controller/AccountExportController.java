@@ -0,0 +1,56 @@
+package org.abpira.accounts.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import org.abpira.accounts.export.ExportFormat;
+import org.abpira.accounts.service.AccountExportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Full export of customers and accounts for batch consumers. The response is written on the request thread
+ * straight from a database cursor, so it is not bound by the async request timeout. An interrupted export is
+ * resumed by passing the last {@code customerId} and {@code accountNumber} received as {@code after} and
+ * {@code afterAccountNumber}.
+ */
+@Validated
+@RestController
+@RequestMapping(path = "/api/export")
+@RequiredArgsConstructor
+public class AccountExportController {
+
+    private final AccountExportService accountExportService;
+
+    @GetMapping
+    public void exportAccounts(
+            @Pattern(regexp = "ndjson|csv", message = "Format should be ndjson or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @PositiveOrZero(message = "Offset must not be negative")
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(required = false) Long afterAccountNumber,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @RequestParam(required = false) LocalDateTime createdFrom,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @RequestParam(required = false) LocalDateTime createdTo,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"accounts." + exportFormat.fileExtension() + "\"");
+        accountExportService.exportAccounts(exportFormat, after,
+                afterAccountNumber != null ? afterAccountNumber : Long.MAX_VALUE, createdFrom, createdTo,
+                response.getOutputStream());
+    }
+}
@@ -0,0 +1,53 @@
+package org.abpira.accounts.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotBlank;
+import lombok.RequiredArgsConstructor;
+import org.abpira.accounts.dto.ImportJobDTO;
+import org.abpira.accounts.service.AccountImportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Imports of legacy customer files that already sit in the import directory. Starting returns at once with the job;
+ * progress is polled by id.
+ */
+@Validated
+@RestController
+@RequestMapping(path = "/api/imports")
+@RequiredArgsConstructor
+public class AccountImportController {
+
+    private final AccountImportService accountImportService;
+
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportJobDTO> startImport(
+            @NotBlank(message = "File should not be empty") @RequestParam String file) throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(accountImportService.startImport(file));
+    }
+
+    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportJobDTO> fetchImport(@PathVariable long id) {
+        return ResponseEntity.status(HttpStatus.OK).body(accountImportService.fetchImport(id));
+    }
+
+    @GetMapping("/{id}/rejections")
+    public void exportRejections(@PathVariable long id, HttpServletResponse response) throws IOException {
+        response.setContentType("text/csv");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"import-" + id + "-rejections.csv\"");
+        accountImportService.exportRejections(id, response.getOutputStream());
+    }
+}
@@ -0,0 +1,52 @@
+package org.abpira.accounts.controller;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.abpira.accounts.constants.AccountsConstants;
+import org.abpira.accounts.dto.AccountSearchResultDTO;
+import org.abpira.accounts.service.AccountSearchService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+/**
+ * Browsing and searching accounts for operations tooling. Pages are keyset pages: pass the previous page's
+ * {@code nextAfterCreatedAt} and {@code nextAfterAccountNumber} back to read the next one. Runs on the replica when
+ * one is configured.
+ */
+@Validated
+@RestController
+@RequestMapping(path = "/api/accounts/search", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequiredArgsConstructor
+public class AccountSearchController {
+
+    private final AccountSearchService accountSearchService;
+
+    @GetMapping
+    public ResponseEntity<AccountSearchResultDTO> searchAccounts(
+            @RequestParam(required = false) String accountType,
+            @RequestParam(required = false) String branchAddress,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @RequestParam(required = false) LocalDateTime createdFrom,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @RequestParam(required = false) LocalDateTime createdTo,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @RequestParam(required = false) LocalDateTime afterCreatedAt,
+            @RequestParam(defaultValue = "0") long afterAccountNumber,
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = AccountsConstants.ACCOUNTS_SEARCH_MAX_SIZE,
+                    message = "Limit must be at most " + AccountsConstants.ACCOUNTS_SEARCH_MAX_SIZE)
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.status(HttpStatus.OK).body(accountSearchService.searchAccounts(accountType,
+                branchAddress, createdFrom, createdTo, afterCreatedAt, afterAccountNumber, limit));
+    }
+}
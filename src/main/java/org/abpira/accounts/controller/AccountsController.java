@@ -2,18 +2,36 @@ package org.abpira.accounts.controller;
 
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.groups.Default;
 import lombok.RequiredArgsConstructor;
 import org.abpira.accounts.constants.AccountsConstants;
+import org.abpira.accounts.dto.AccountsDTO;
+import org.abpira.accounts.dto.BatchAccountsRequestDTO;
+import org.abpira.accounts.dto.BatchAccountsResponseDTO;
+import org.abpira.accounts.dto.BatchFetchRequestDTO;
+import org.abpira.accounts.dto.BatchFetchResponseDTO;
+import org.abpira.accounts.dto.BulkCreateResponseDTO;
+import org.abpira.accounts.dto.CustomerAccountsDTO;
 import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.dto.NewAccountDTO;
+import org.abpira.accounts.dto.OnPatch;
+import org.abpira.accounts.dto.OnUpdate;
 import org.abpira.accounts.dto.ResponseDTO;
+import org.abpira.accounts.dto.UpdateResponseDTO;
 import org.abpira.accounts.service.AccountsService;
+import org.abpira.accounts.service.BulkAccountsService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Validated
 @RestController
 @RequestMapping(path = "/api", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -21,6 +39,7 @@ import org.springframework.web.bind.annotation.*;
 public class AccountsController {
 
     private final AccountsService accountsService;
+    private final BulkAccountsService bulkAccountsService;
 
     @PostMapping("/create")
     public ResponseEntity<ResponseDTO> createAccount(@Valid @RequestBody CustomerDTO customerDTO) {
@@ -30,6 +49,11 @@ public class AccountsController {
                 .body(new ResponseDTO(AccountsConstants.STATUS_201, AccountsConstants.MESSAGE_201));
     }
 
+    @PostMapping("/create/bulk")
+    public ResponseEntity<BulkCreateResponseDTO> createAccounts(@RequestBody List<CustomerDTO> customerDTOs) {
+        return ResponseEntity.status(HttpStatus.OK).body(bulkAccountsService.createAccounts(customerDTOs));
+    }
+
     @GetMapping("/fetch")
     public ResponseEntity<CustomerDTO> fetchAccountDetails(
             @Pattern(regexp = "^$|[0-9]{10}", message = "Mobile number should be 10 digits")
@@ -37,8 +61,43 @@ public class AccountsController {
         return ResponseEntity.status(HttpStatus.OK).body(accountsService.fetchAccountDetails(mobileNumber));
     }
 
+    @PostMapping("/fetch/batch")
+    public ResponseEntity<BatchFetchResponseDTO> fetchAccountDetailsBatch(
+            @Valid @RequestBody BatchFetchRequestDTO batchFetchRequestDTO) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(accountsService.fetchAccountDetails(batchFetchRequestDTO.getMobileNumbers()));
+    }
+
+    @PostMapping("/accounts")
+    public ResponseEntity<AccountsDTO> openAccount(@Valid @RequestBody NewAccountDTO newAccountDTO) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(accountsService.openAccount(newAccountDTO));
+    }
+
+    @GetMapping("/accounts")
+    public ResponseEntity<CustomerAccountsDTO> fetchAccounts(
+            @Pattern(regexp = "[0-9]{10}", message = "Mobile number should be 10 digits")
+            @RequestParam String mobileNumber,
+            @PositiveOrZero(message = "After must not be negative")
+            @RequestParam(defaultValue = "0") long after,
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = AccountsConstants.ACCOUNTS_PAGE_MAX_SIZE,
+                    message = "Limit must be at most " + AccountsConstants.ACCOUNTS_PAGE_MAX_SIZE)
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.status(HttpStatus.OK).body(accountsService.fetchAccounts(mobileNumber, after, limit));
+    }
+
+    @PostMapping("/accounts/batch")
+    public ResponseEntity<BatchAccountsResponseDTO> fetchAccountsBatch(
+            @Valid @RequestBody BatchAccountsRequestDTO batchAccountsRequestDTO) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(accountsService.fetchAccounts(batchAccountsRequestDTO.getMobileNumbers()));
+    }
+
     @PutMapping("/update")
-    public ResponseEntity<ResponseDTO> updateAccount(@Valid @RequestBody CustomerDTO customerDTO) {
+    public ResponseEntity<ResponseDTO> updateAccount(
+            @Validated({Default.class, OnUpdate.class}) @RequestBody CustomerDTO customerDTO) {
         boolean isUpdated = accountsService.updateAccount(customerDTO);
         if (isUpdated) {
             return ResponseEntity
@@ -51,6 +110,16 @@ public class AccountsController {
         }
     }
 
+    @PatchMapping("/update")
+    public ResponseEntity<UpdateResponseDTO> patchAccount(
+            @Validated(OnPatch.class) @RequestBody CustomerDTO customerDTO) {
+        List<String> modifiedFields = accountsService.patchAccount(customerDTO);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new UpdateResponseDTO(AccountsConstants.STATUS_200, AccountsConstants.MESSAGE_200,
+                        modifiedFields));
+    }
+
     @DeleteMapping("/delete")
     public ResponseEntity<ResponseDTO> deleteAccountsDetails(
             @Pattern(regexp = "^$|[0-9]{10}", message = "Mobile number should be 10 digits")
@@ -0,0 +1,44 @@
+package org.abpira.accounts.controller;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.abpira.accounts.constants.AccountsConstants;
+import org.abpira.accounts.search.CustomerSearchHit;
+import org.abpira.accounts.service.CustomerSearchService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Customer typeahead, answered from the in-memory search index without touching the database.
+ */
+@Validated
+@RestController
+@RequestMapping(path = "/api/customers/search", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequiredArgsConstructor
+public class CustomerSearchController {
+
+    private final CustomerSearchService customerSearchService;
+
+    @GetMapping
+    public ResponseEntity<List<CustomerSearchHit>> searchCustomers(
+            @NotBlank(message = "Query should not be empty")
+            @Size(max = 100, message = "Query should be at most 100 characters")
+            @RequestParam String q,
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = AccountsConstants.CUSTOMER_SEARCH_MAX_SIZE,
+                    message = "Limit must be at most " + AccountsConstants.CUSTOMER_SEARCH_MAX_SIZE)
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.status(HttpStatus.OK).body(customerSearchService.searchCustomers(q, limit));
+    }
+}
@@ -0,0 +1,46 @@
+package org.abpira.accounts.controller;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.service.ReactiveAccountsService;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking variant of the fetch API. The request thread is released while the lookups are in flight, and the
+ * results are written as they arrive from the
+ * {@link org.abpira.accounts.repository.reactive.ReactiveAccountsStore}.
+ */
+@Validated
+@RestController
+@RequestMapping(path = "/api/reactive")
+@RequiredArgsConstructor
+public class ReactiveAccountsController {
+
+    private final ReactiveAccountsService reactiveAccountsService;
+
+    @GetMapping(path = "/fetch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<CustomerDTO> fetchAccountDetails(
+            @Pattern(regexp = "^$|[0-9]{10}", message = "Mobile number should be 10 digits")
+            @RequestParam String mobileNumber) {
+        return reactiveAccountsService.fetchAccountDetails(mobileNumber);
+    }
+
+    @GetMapping(path = "/fetch/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CustomerDTO> streamAccountDetails(
+            @Size(max = 1000, message = "At most 1000 mobile numbers can be fetched at once")
+            @RequestParam
+            List<@Pattern(regexp = "[0-9]{10}", message = "Mobile number should be 10 digits") String> mobileNumbers) {
+        return reactiveAccountsService.fetchAccountDetails(mobileNumbers);
+    }
+}
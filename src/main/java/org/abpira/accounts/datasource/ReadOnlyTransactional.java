@@ -0,0 +1,23 @@
+package org.abpira.accounts.datasource;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the method in a read-only transaction. Its statements go to the replica pool when one is configured, and
+ * Hibernate skips dirty checking and flushing for the entities it loads.
+ * <p>
+ * Replicas lag the primary, so reads that must observe a write made in the same request belong in a read-write
+ * transaction instead.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+public @interface ReadOnlyTransactional {
+}
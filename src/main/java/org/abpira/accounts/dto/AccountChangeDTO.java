@@ -0,0 +1,22 @@
+package org.abpira.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.abpira.accounts.events.ChangeType;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountChangeDTO {
+
+    private long sequenceNumber;
+    private ChangeType type;
+    private String mobileNumber;
+    private String previousMobileNumber;
+    private LocalDateTime occurredAt;
+}
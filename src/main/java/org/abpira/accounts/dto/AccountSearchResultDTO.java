@@ -0,0 +1,29 @@
+package org.abpira.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.abpira.accounts.repository.projection.AccountSearchRow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountSearchResultDTO {
+
+    /**
+     * In creation time order, ties broken by account number.
+     */
+    private List<AccountSearchRow> accounts;
+
+    /**
+     * Pass as {@code afterCreatedAt} and {@code afterAccountNumber} to read the next page; {@code null} when there
+     * is none.
+     */
+    private LocalDateTime nextAfterCreatedAt;
+    private Long nextAfterAccountNumber;
+}
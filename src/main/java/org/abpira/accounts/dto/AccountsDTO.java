@@ -2,7 +2,7 @@ package org.abpira.accounts.dto;
 
 
 import jakarta.validation.constraints.NotEmpty;
-import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,8 +14,10 @@ import lombok.NoArgsConstructor;
 @Data
 public class AccountsDTO {
 
-    @NotEmpty(message = "Account number should not be empty")
-    @Pattern(regexp = "^$|[0-9]{10}", message = "Mobile number should be 10 digits")
+    /**
+     * Identifies the account an update or patch applies to.
+     */
+    @NotNull(message = "Account number should not be null", groups = {OnUpdate.class, OnPatch.class})
     private Long accountNumber;
 
     @NotEmpty(message = "Account type should not be empty")
@@ -0,0 +1,24 @@
+package org.abpira.accounts.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.abpira.accounts.constants.AccountsConstants;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchAccountsRequestDTO {
+
+    @NotEmpty(message = "Mobile numbers should not be empty")
+    @Size(max = AccountsConstants.ACCOUNTS_BATCH_MAX_ITEMS, message = "At most "
+            + AccountsConstants.ACCOUNTS_BATCH_MAX_ITEMS + " customers' accounts can be listed at once")
+    private List<@Pattern(regexp = "[0-9]{10}", message = "Mobile number should be 10 digits") String> mobileNumbers;
+}
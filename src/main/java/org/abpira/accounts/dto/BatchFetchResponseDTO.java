@@ -0,0 +1,18 @@
+package org.abpira.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchFetchResponseDTO {
+
+    private List<CustomerDTO> customers;
+    private List<String> notFound;
+}
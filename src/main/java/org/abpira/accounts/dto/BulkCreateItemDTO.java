@@ -0,0 +1,19 @@
+package org.abpira.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkCreateItemDTO {
+
+    private int index;
+    private String mobileNumber;
+    private BulkCreateStatus status;
+    private Long accountNumber;
+    private String message;
+}
@@ -0,0 +1,9 @@
+package org.abpira.accounts.dto;
+
+public enum BulkCreateStatus {
+    CREATED,
+    INVALID,
+    DUPLICATE_IN_REQUEST,
+    ALREADY_EXISTS,
+    FAILED
+}
@@ -0,0 +1,29 @@
+package org.abpira.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CustomerAccountsDTO {
+
+    private String name;
+    private String email;
+    private String mobileNumber;
+
+    /**
+     * In account number order.
+     */
+    private List<AccountsDTO> accounts;
+
+    /**
+     * Pass as {@code after} to read the next page; {@code null} when there is none.
+     */
+    private Long nextAfter;
+}
@@ -1,9 +1,12 @@
 package org.abpira.accounts.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.Default;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,15 +19,29 @@ import lombok.NoArgsConstructor;
 public class CustomerDTO {
 
     @NotEmpty(message = "Name should not be empty")
-    @Size(min = 5, max = 30, message = "Name should be between 5 and 30 characters")
+    @Size(min = 5, max = 30, message = "Name should be between 5 and 30 characters",
+            groups = {Default.class, OnPatch.class})
     private String name;
 
     @NotEmpty(message = "Email should not be empty")
-    @Email(message = "Invalid email format")
+    @Email(message = "Invalid email format", groups = {Default.class, OnPatch.class})
     private String email;
 
-    @Pattern(regexp = "^$|[0-9]{10}", message = "Mobile number should be 10 digits")
+    @Pattern(regexp = "^$|[0-9]{10}", message = "Mobile number should be 10 digits",
+            groups = {Default.class, OnPatch.class})
     private String mobileNumber;
 
+    /**
+     * Validated with the groups of the customer, so an update or patch must name the account it applies to.
+     */
+    @Valid
+    @NotNull(message = "Account details should not be null", groups = OnPatch.class)
     private AccountsDTO accountsDTO;
+
+    /**
+     * Version of the customer and its accounts as last read. Returned by fetch and required by update, which is
+     * refused with 409 when the record changed in between.
+     */
+    @NotNull(message = "Version should not be null", groups = {OnUpdate.class, OnPatch.class})
+    private Long version;
 }
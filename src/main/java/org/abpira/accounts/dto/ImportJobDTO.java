@@ -0,0 +1,27 @@
+package org.abpira.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.abpira.accounts.importer.ImportJobStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportJobDTO {
+
+    private long id;
+    private String file;
+    private ImportJobStatus status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long committedBatches;
+    private long importedRows;
+    private long rejectedRows;
+    private double rowsPerSecond;
+    private String failureMessage;
+}
@@ -0,0 +1,28 @@
+package org.abpira.accounts.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An additional account for the customer with the mobile number; the account number is generated.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NewAccountDTO {
+
+    @NotEmpty(message = "Mobile number should not be empty")
+    @Pattern(regexp = "^$|[0-9]{10}", message = "Mobile number should be 10 digits")
+    private String mobileNumber;
+
+    @NotEmpty(message = "Account type should not be empty")
+    private String accountType;
+
+    @NotEmpty(message = "Branch address should not be empty")
+    private String branchAddress;
+}
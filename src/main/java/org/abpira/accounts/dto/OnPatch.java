@@ -0,0 +1,8 @@
+package org.abpira.accounts.dto;
+
+/**
+ * Validation group for partial updates. It holds only the format constraints, which accept {@code null}, so fields
+ * left out of a patch are not rejected as missing.
+ */
+public interface OnPatch {
+}
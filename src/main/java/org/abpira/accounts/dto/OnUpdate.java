@@ -0,0 +1,8 @@
+package org.abpira.accounts.dto;
+
+/**
+ * Validation group for constraints that only apply when an existing customer is replaced or patched, such as the
+ * version the client read.
+ */
+public interface OnUpdate {
+}
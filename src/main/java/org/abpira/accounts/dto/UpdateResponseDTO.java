@@ -0,0 +1,19 @@
+package org.abpira.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UpdateResponseDTO {
+
+    private String statusCode;
+    private String statusMessage;
+    private List<String> modifiedFields;
+}
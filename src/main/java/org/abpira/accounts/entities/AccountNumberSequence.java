@@ -0,0 +1,23 @@
+package org.abpira.accounts.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountNumberSequence {
+
+    @Id
+    private String name;
+
+    @Column(name = "next_payload", nullable = false)
+    private long nextPayload;
+}
@@ -4,13 +4,23 @@ package org.abpira.accounts.entities;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+@DynamicUpdate
+@Table(name = "accounts", indexes = {
+        @Index(name = "idx_accounts_customer_id", columnList = "customer_id"),
+        @Index(name = "idx_accounts_created_at", columnList = "created_at, account_number"),
+        @Index(name = "idx_accounts_type_created_at", columnList = "account_type, created_at, account_number"),
+        @Index(name = "idx_accounts_branch_created_at", columnList = "branch_address, created_at, account_number")
+})
 @Setter
 @Getter
 @AllArgsConstructor
@@ -30,4 +40,10 @@ public class Accounts extends BaseEntity {
 
     @Column(name = "branch_address")
     private String branchAddress;
+
+    /**
+     * Set on the account opened together with the customer, which is the one returned with their details.
+     */
+    @Column(name = "primary_account", nullable = false)
+    private boolean primaryAccount;
 }
@@ -4,6 +4,7 @@ package org.abpira.accounts.entities;
 import jakarta.persistence.Column;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -41,4 +42,11 @@ public abstract class BaseEntity {
     @LastModifiedBy
     @Column(insertable = false)
     private String updatedBy;
+
+    /**
+     * Checked on every UPDATE, so of two concurrent updates to the same row the later one fails instead of
+     * silently overwriting the first. A {@code null} version also marks the entity as new for Spring Data.
+     */
+    @Version
+    private Long version;
 }
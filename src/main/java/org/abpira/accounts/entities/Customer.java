@@ -4,8 +4,17 @@ package org.abpira.accounts.entities;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
+
+import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
+@SQLRestriction("deleted_at is null")
+@Table(name = "customer",
+        uniqueConstraints = @UniqueConstraint(name = "uk_customer_mobile_number", columnNames = "mobile_number"),
+        indexes = @Index(name = "idx_customer_deleted_at", columnList = "deleted_at"))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -14,7 +23,8 @@ import lombok.experimental.SuperBuilder;
 public class Customer extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = 50)
     @Column(name = "customer_id")
     private Long customerId;
 
@@ -23,4 +33,12 @@ public class Customer extends BaseEntity {
 
     @Column(name = "mobile_number")
     private String mobileNumber;
+
+    /**
+     * Set when the customer is soft-deleted. Such rows are invisible to every entity load and query through
+     * {@code @SQLRestriction}, and their accounts with them, until the purger removes both. Their mobile number is
+     * cleared at the same time, so it is free for a new customer.
+     */
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
 }
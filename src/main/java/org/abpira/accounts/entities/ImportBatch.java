@@ -0,0 +1,53 @@
+package org.abpira.accounts.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of one committed import batch, written in the same transaction as the batch's customers. Batch
+ * {@code n} holds records {@code (n - 1) * batchSize + 1} to {@code n * batchSize} of the file.
+ */
+@Entity
+@Table(name = "import_batch",
+        uniqueConstraints = @UniqueConstraint(name = "uk_import_batch_job_batch",
+                columnNames = {"job_id", "batch_number"}))
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportBatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_batch_seq")
+    @SequenceGenerator(name = "import_batch_seq", sequenceName = "import_batch_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "batch_number", nullable = false)
+    private Long batchNumber;
+
+    @Column(name = "imported", nullable = false)
+    private int imported;
+
+    @Column(name = "rejected", nullable = false)
+    private int rejected;
+
+    @Column(name = "committed_at", nullable = false)
+    private LocalDateTime committedAt;
+}
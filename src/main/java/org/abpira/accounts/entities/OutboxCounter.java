@@ -0,0 +1,31 @@
+package org.abpira.accounts.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The next outbox sequence number. The table holds a single row, whose lock also serialises relays across
+ * instances.
+ */
+@Entity
+@Table(name = "outbox_counter")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxCounter {
+
+    public static final int ID = 1;
+
+    @Id
+    private int id;
+
+    @Column(name = "next_sequence_number", nullable = false)
+    private long nextSequenceNumber;
+}
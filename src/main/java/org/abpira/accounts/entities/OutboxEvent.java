@@ -0,0 +1,66 @@
+package org.abpira.accounts.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.abpira.accounts.events.ChangeType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * One account mutation, written in the transaction that made it. {@code sequenceNumber} is assigned by the relay
+ * when the event is published; consumers tail by it rather than by {@code id}, because ids of concurrent
+ * transactions can commit out of order while sequence numbers are handed out strictly in publication order.
+ */
+@Entity
+@Table(name = "outbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_outbox_sequence_number", columnNames = "sequence_number"),
+        indexes = @Index(name = "idx_outbox_published_at", columnList = "published_at"))
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "outbox_seq", allocationSize = 50)
+    private Long id;
+
+    // plain varchar rather than a native enum column, so adding a change type needs no migration
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ChangeType changeType;
+
+    @Column(name = "mobile_number")
+    private String mobileNumber;
+
+    @Column(name = "previous_mobile_number")
+    private String previousMobileNumber;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "sequence_number")
+    private Long sequenceNumber;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+}
@@ -0,0 +1,23 @@
+package org.abpira.accounts.events;
+
+import java.util.stream.Stream;
+
+/**
+ * Published by the service layer whenever a customer or its account is mutated.
+ *
+ * @param type                the kind of mutation
+ * @param mobileNumber        the mobile number the customer is known by after the change
+ * @param previousMobileNumber the mobile number before the change, if it differs (updates only)
+ */
+public record AccountsChangedEvent(ChangeType type, String mobileNumber, String previousMobileNumber) {
+
+    public AccountsChangedEvent(ChangeType type, String mobileNumber) {
+        this(type, mobileNumber, null);
+    }
+
+    public Stream<String> affectedMobileNumbers() {
+        return Stream.of(mobileNumber, previousMobileNumber)
+                .filter(number -> number != null && !number.isEmpty())
+                .distinct();
+    }
+}
@@ -0,0 +1,7 @@
+package org.abpira.accounts.events;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -1,9 +1,19 @@
 package org.abpira.accounts.exceptions;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.ElementKind;
+import jakarta.validation.Path;
+import lombok.RequiredArgsConstructor;
 import org.abpira.accounts.dto.ErrorResponseDTO;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
@@ -11,16 +21,23 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 @ControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
+    static final String ERROR_COUNTER = "accounts.errors";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
             HttpHeaders headers,
@@ -35,11 +52,50 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
             String errorMessage = error.getDefaultMessage();
             validationErrors.put(fieldName, errorMessage);
         });
+        countError(ex, HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(validationErrors, HttpStatus.BAD_REQUEST);
     }
 
+    @Override
+    protected ResponseEntity<Object> handleHandlerMethodValidationException(HandlerMethodValidationException ex,
+            HttpHeaders headers,
+            HttpStatusCode status,
+            WebRequest request) {
+
+        Map<String, String> validationErrors = new HashMap<>();
+        ex.getParameterValidationResults().forEach(result -> result.getResolvableErrors().forEach(error -> {
+            String fieldName = error instanceof FieldError fieldError
+                    ? fieldError.getField()
+                    : result.getMethodParameter().getParameterName();
+            validationErrors.put(fieldName, error.getDefaultMessage());
+        }));
+        countError(ex, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(validationErrors, HttpStatus.BAD_REQUEST);
+    }
+
+    // request parameters of @Validated controllers are checked by method validation before the handler runs;
+    // JSON even when the request only accepts a stream type such as NDJSON
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Map<String, String>> handleCVE(ConstraintViolationException ex) {
+        Map<String, String> validationErrors = new HashMap<>();
+        ex.getConstraintViolations().forEach(violation ->
+                validationErrors.put(parameterName(violation), violation.getMessage()));
+        countError(ex, HttpStatus.BAD_REQUEST);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(validationErrors);
+    }
+
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(Exception ex, Object body, HttpHeaders headers,
+            HttpStatusCode statusCode, WebRequest request) {
+        countError(ex, statusCode);
+        return super.handleExceptionInternal(ex, body, headers, statusCode, request);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDTO> handleGlobalException(Exception ex, WebRequest webRequest) {
+        countError(ex, HttpStatus.INTERNAL_SERVER_ERROR);
         return new ResponseEntity<>(ErrorResponseDTO.builder()
                 .apiPath(webRequest.getDescription(false))
                 .errorCode(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -51,6 +107,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(CustomerAlreadyExistsException.class)
     public ResponseEntity<ErrorResponseDTO> handleCAEE(CustomerAlreadyExistsException ex, WebRequest webRequest) {
+        countError(ex, HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(ErrorResponseDTO.builder()
                 .apiPath(webRequest.getDescription(false))
                 .errorCode(HttpStatus.BAD_REQUEST)
@@ -62,6 +119,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponseDTO> handleRNFE(ResourceNotFoundException ex, WebRequest webRequest) {
+        countError(ex, HttpStatus.NOT_FOUND);
         return new ResponseEntity<>(ErrorResponseDTO.builder()
                 .apiPath(webRequest.getDescription(false))
                 .errorCode(HttpStatus.NOT_FOUND)
@@ -70,4 +128,93 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                 .build(),
                 HttpStatus.NOT_FOUND);
     }
+
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<ErrorResponseDTO> handleIIFE(InvalidImportFileException ex, WebRequest webRequest) {
+        countError(ex, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(ErrorResponseDTO.builder()
+                .apiPath(webRequest.getDescription(false))
+                .errorCode(HttpStatus.BAD_REQUEST)
+                .errorMessage(ex.getMessage())
+                .errorTime(LocalDateTime.now())
+                .build(),
+                HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BulkRequestTooLargeException.class)
+    public ResponseEntity<ErrorResponseDTO> handleBRTLE(BulkRequestTooLargeException ex, WebRequest webRequest) {
+        countError(ex, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(ErrorResponseDTO.builder()
+                .apiPath(webRequest.getDescription(false))
+                .errorCode(HttpStatus.BAD_REQUEST)
+                .errorMessage(ex.getMessage())
+                .errorTime(LocalDateTime.now())
+                .build(),
+                HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleOLFE(OptimisticLockingFailureException ex, WebRequest webRequest) {
+        countError(ex, HttpStatus.CONFLICT);
+        return new ResponseEntity<>(ErrorResponseDTO.builder()
+                .apiPath(webRequest.getDescription(false))
+                .errorCode(HttpStatus.CONFLICT)
+                .errorMessage("The account was modified concurrently, fetch it again and retry")
+                .errorTime(LocalDateTime.now())
+                .build(),
+                HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponseDTO> handleRLEE(RateLimitExceededException ex, WebRequest webRequest) {
+        countError(ex, HttpStatus.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(ErrorResponseDTO.builder()
+                        .apiPath(webRequest.getDescription(false))
+                        .errorCode(HttpStatus.TOO_MANY_REQUESTS)
+                        .errorMessage(ex.getMessage())
+                        .errorTime(LocalDateTime.now())
+                        .build());
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponseDTO> handleSOE(ServiceOverloadedException ex, WebRequest webRequest) {
+        countError(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(ErrorResponseDTO.builder()
+                        .apiPath(webRequest.getDescription(false))
+                        .errorCode(HttpStatus.SERVICE_UNAVAILABLE)
+                        .errorMessage(ex.getMessage())
+                        .errorTime(LocalDateTime.now())
+                        .build());
+    }
+
+    private static String parameterName(ConstraintViolation<?> violation) {
+        String name = violation.getPropertyPath().toString();
+        for (Path.Node node : violation.getPropertyPath()) {
+            if (node.getKind() == ElementKind.PARAMETER) {
+                name = node.getName();
+            }
+        }
+        return name;
+    }
+
+    // Retry-After takes whole seconds; round up so a client retrying on time finds a token
+    private static String retryAfterSeconds(Duration retryAfter) {
+        return String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
+    private void countError(Exception ex, HttpStatusCode status) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Counter.builder(ERROR_COUNTER)
+                    .description("Requests answered with an error, by exception type")
+                    .tag("exception", ex.getClass().getSimpleName())
+                    .tag("status", String.valueOf(status.value()))
+                    .register(registry)
+                    .increment();
+        }
+    }
 }
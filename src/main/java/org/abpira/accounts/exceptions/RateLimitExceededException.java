@@ -0,0 +1,19 @@
+package org.abpira.accounts.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+@Getter
+@ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS)
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String endpoint, Duration retryAfter) {
+        super(String.format("Rate limit exceeded for %s, retry after %d ms", endpoint, retryAfter.toMillis()));
+        this.retryAfter = retryAfter;
+    }
+}
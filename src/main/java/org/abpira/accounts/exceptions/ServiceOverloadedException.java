@@ -0,0 +1,19 @@
+package org.abpira.accounts.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+@Getter
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String endpoint, Duration retryAfter) {
+        super(String.format("Too many requests in progress, %s is shedding load", endpoint));
+        this.retryAfter = retryAfter;
+    }
+}
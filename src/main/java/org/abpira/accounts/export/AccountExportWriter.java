@@ -0,0 +1,18 @@
+package org.abpira.accounts.export;
+
+import org.abpira.accounts.repository.projection.AccountExportRow;
+
+import java.io.IOException;
+
+/**
+ * Writes exported rows one at a time to a response, holding no more than its output buffer.
+ */
+public interface AccountExportWriter {
+
+    void write(AccountExportRow row) throws IOException;
+
+    /**
+     * Flushes what is buffered; the underlying stream is left open for the servlet container to close.
+     */
+    void finish() throws IOException;
+}
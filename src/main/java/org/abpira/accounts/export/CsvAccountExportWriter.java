@@ -0,0 +1,55 @@
+package org.abpira.accounts.export;
+
+import org.abpira.accounts.repository.projection.AccountExportRow;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV with a header line, fields encoded by {@link CsvFields}.
+ */
+public class CsvAccountExportWriter implements AccountExportWriter {
+
+    static final String HEADER =
+            "customerId,name,email,mobileNumber,accountNumber,accountType,branchAddress,createdAt\r\n";
+
+    private final Writer writer;
+
+    public CsvAccountExportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.writer.write(HEADER);
+    }
+
+    @Override
+    public void write(AccountExportRow row) throws IOException {
+        field(row.customerId());
+        writer.write(',');
+        field(row.name());
+        writer.write(',');
+        field(row.email());
+        writer.write(',');
+        field(row.mobileNumber());
+        writer.write(',');
+        field(row.accountNumber());
+        writer.write(',');
+        field(row.accountType());
+        writer.write(',');
+        field(row.branchAddress());
+        writer.write(',');
+        field(row.createdAt());
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void field(Object value) throws IOException {
+        CsvFields.write(writer, value);
+    }
+}
@@ -0,0 +1,44 @@
+package org.abpira.accounts.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * RFC 4180 field encoding shared by the CSV writers. Fields containing a comma, quote or line break are quoted,
+ * with quotes doubled; {@code null} is written as an empty field.
+ */
+public final class CsvFields {
+
+    private CsvFields() {
+    }
+
+    public static void write(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (!needsQuoting(text)) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean needsQuoting(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,40 @@
+package org.abpira.accounts.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.abpira.accounts.repository.projection.AccountExportRow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * One JSON object per line, written through a single generator so no row is built as a string first.
+ */
+public class NdjsonAccountExportWriter implements AccountExportWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter rowWriter;
+
+    public NdjsonAccountExportWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // lines are separated explicitly below, not by the generator's default space between root values
+        this.generator.setRootValueSeparator(null);
+        // flushing is left to the response buffer rather than done after every row
+        this.rowWriter = objectMapper.writerFor(AccountExportRow.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void write(AccountExportRow row) throws IOException {
+        rowWriter.writeValue(generator, row);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.close();
+    }
+}
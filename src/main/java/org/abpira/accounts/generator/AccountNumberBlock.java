@@ -0,0 +1,18 @@
+package org.abpira.accounts.generator;
+
+/**
+ * Half-open range {@code [start, end)} of account number payloads (the digits before the check digit)
+ * reserved by one service instance. Payloads start above the numbers {@link RandomAccountNumberGenerator} hands
+ * out, {@code [1_000_000_000, 1_900_000_000)}, so block numbers never collide with accounts it created.
+ */
+public record AccountNumberBlock(long start, long end) {
+
+    public static final long FIRST_PAYLOAD = 190_000_000L;
+    public static final long LAST_PAYLOAD = 999_999_999L;
+
+    public AccountNumberBlock {
+        if (start > end) {
+            throw new IllegalArgumentException("Block start " + start + " is after end " + end);
+        }
+    }
+}
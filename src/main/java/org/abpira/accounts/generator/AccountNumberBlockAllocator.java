@@ -0,0 +1,11 @@
+package org.abpira.accounts.generator;
+
+/**
+ * Reserves disjoint blocks of account number payloads. Blocks handed out by one allocator, on any instance,
+ * never overlap.
+ */
+@FunctionalInterface
+public interface AccountNumberBlockAllocator {
+
+    AccountNumberBlock allocate(int size);
+}
@@ -0,0 +1,11 @@
+package org.abpira.accounts.generator;
+
+/**
+ * Source of new account numbers. Implementations must be thread-safe and must never return the same number
+ * twice, across threads and across service instances sharing a database.
+ */
+@FunctionalInterface
+public interface AccountNumberGenerator {
+
+    long nextAccountNumber();
+}
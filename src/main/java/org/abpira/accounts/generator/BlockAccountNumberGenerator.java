@@ -0,0 +1,59 @@
+package org.abpira.accounts.generator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out account numbers from a block reserved through an {@link AccountNumberBlockAllocator}. Numbers
+ * within a block are claimed with a single atomic increment. The allocator, and therefore the database, is
+ * only called when the block runs out, which happens once every {@code blockSize} creates. Every number
+ * carries a Luhn check digit.
+ */
+public class BlockAccountNumberGenerator implements AccountNumberGenerator {
+
+    private final AccountNumberBlockAllocator allocator;
+    private final int blockSize;
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private volatile Range current = new Range(new AccountNumberBlock(0, 0));
+
+    public BlockAccountNumberGenerator(AccountNumberBlockAllocator allocator, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.allocator = allocator;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public long nextAccountNumber() {
+        while (true) {
+            Range range = current;
+            long payload = range.cursor.getAndIncrement();
+            if (payload < range.end) {
+                return LuhnCheckDigit.append(payload);
+            }
+            refill(range);
+        }
+    }
+
+    private void refill(Range exhausted) {
+        refillLock.lock();
+        try {
+            if (current == exhausted) {
+                current = new Range(allocator.allocate(blockSize));
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private static final class Range {
+        private final AtomicLong cursor;
+        private final long end;
+
+        private Range(AccountNumberBlock block) {
+            this.cursor = new AtomicLong(block.start());
+            this.end = block.end();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.abpira.accounts.generator;
+
+import org.abpira.accounts.entities.AccountNumberSequence;
+import org.abpira.accounts.repository.AccountNumberSequenceRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reserves blocks from a single locked counter row. The reservation runs in its own short transaction, so
+ * the row lock is never held for the lifetime of a create request.
+ */
+public class JpaAccountNumberBlockAllocator implements AccountNumberBlockAllocator {
+
+    static final String SEQUENCE_NAME = "account_number";
+
+    private final AccountNumberSequenceRepository sequenceRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public JpaAccountNumberBlockAllocator(AccountNumberSequenceRepository sequenceRepository,
+                                          PlatformTransactionManager transactionManager) {
+        this.sequenceRepository = sequenceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public AccountNumberBlock allocate(int size) {
+        return transactionTemplate.execute(status -> {
+            AccountNumberSequence sequence = sequenceRepository.findForUpdate(SEQUENCE_NAME)
+                    .orElseGet(() -> sequenceRepository.saveAndFlush(
+                            new AccountNumberSequence(SEQUENCE_NAME, AccountNumberBlock.FIRST_PAYLOAD)));
+            long start = sequence.getNextPayload();
+            long end = Math.min(start + size, AccountNumberBlock.LAST_PAYLOAD + 1);
+            if (start >= end) {
+                throw new IllegalStateException("Account number range is exhausted");
+            }
+            sequence.setNextPayload(end);
+            return new AccountNumberBlock(start, end);
+        });
+    }
+}
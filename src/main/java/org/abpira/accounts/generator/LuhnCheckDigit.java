@@ -0,0 +1,36 @@
+package org.abpira.accounts.generator;
+
+/**
+ * Luhn (mod 10) check digit, so a mistyped account number is rejected before it reaches the database.
+ */
+public class LuhnCheckDigit {
+
+    private LuhnCheckDigit() {
+    }
+
+    public static int compute(long payload) {
+        int sum = 0;
+        boolean doubled = true;
+        while (payload > 0) {
+            int digit = (int) (payload % 10);
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+            payload /= 10;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    public static long append(long payload) {
+        return payload * 10 + compute(payload);
+    }
+
+    public static boolean isValid(long number) {
+        return number > 0 && compute(number / 10) == number % 10;
+    }
+}
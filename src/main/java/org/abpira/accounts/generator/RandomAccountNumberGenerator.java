@@ -0,0 +1,15 @@
+package org.abpira.accounts.generator;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The original strategy: a random ten digit number. Collisions are only detected by the primary key on
+ * insert, so this is kept only as a fallback for environments without the block allocator table.
+ */
+public class RandomAccountNumberGenerator implements AccountNumberGenerator {
+
+    @Override
+    public long nextAccountNumber() {
+        return 1000000000L + ThreadLocalRandom.current().nextLong(900000000);
+    }
+}
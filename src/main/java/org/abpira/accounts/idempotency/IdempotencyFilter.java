@@ -0,0 +1,204 @@
+package org.abpira.accounts.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.abpira.accounts.constants.AccountsConstants;
+import org.abpira.accounts.dto.ErrorResponseDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes create and update requests that carry an {@value AccountsConstants#IDEMPOTENCY_KEY_HEADER} header safe to
+ * retry. The first request with a key runs normally and its response is stored; later requests with the same key
+ * and body get that response replayed without reaching the service, and duplicates arriving while it still runs
+ * wait for it. A failed (5xx) or throttled (429) first attempt is not stored, so the retry executes again.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> FILTERED_METHODS = Set.of("POST", "PUT", "PATCH");
+
+    private final IdempotencyStore idempotencyStore;
+    private final Duration waitTimeout;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, Duration waitTimeout, ObjectMapper objectMapper) {
+        this.idempotencyStore = idempotencyStore;
+        this.waitTimeout = waitTimeout;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // reads are idempotent already, and replaying a stored listing would serve stale pages
+        return !FILTERED_METHODS.contains(request.getMethod())
+                || request.getHeader(AccountsConstants.IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(AccountsConstants.IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    AccountsConstants.IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        // the key is scoped to the endpoint and its query, so the same key on two requests cannot collide
+        String query = request.getQueryString();
+        String key = request.getMethod() + ' ' + request.getRequestURI() + (query == null ? "" : '?' + query)
+                + ' ' + idempotencyKey;
+        String fingerprint = sha256(body);
+
+        while (true) {
+            IdempotencyStore.Entry claim = IdempotencyStore.Entry.claimedBy(fingerprint);
+            IdempotencyStore.Entry owner = idempotencyStore.claim(key, claim);
+            if (owner == null) {
+                execute(new CachedBodyRequest(request, body), response, filterChain, key, claim);
+                return;
+            }
+            if (!owner.fingerprint().equals(fingerprint)) {
+                writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        AccountsConstants.IDEMPOTENCY_KEY_HEADER + " was already used with a different request body");
+                return;
+            }
+            try {
+                replay(owner.response().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS), response);
+                return;
+            } catch (ExecutionException ex) {
+                // the original attempt failed and released the key; try to claim it for this request
+            } catch (TimeoutException ex) {
+                writeError(request, response, HttpStatus.CONFLICT,
+                        "A request with this " + AccountsConstants.IDEMPOTENCY_KEY_HEADER + " is still in progress");
+                return;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for the original request", ex);
+            }
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String key, IdempotencyStore.Entry claim) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, cachingResponse);
+        } catch (ServletException | IOException | RuntimeException ex) {
+            idempotencyStore.release(key, claim, ex);
+            throw ex;
+        }
+        int status = cachingResponse.getStatus();
+        if (status >= HttpStatus.INTERNAL_SERVER_ERROR.value() || status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            idempotencyStore.release(key, claim, new IllegalStateException("Original request failed with " + status));
+        } else {
+            idempotencyStore.complete(claim, new IdempotencyStore.StoredResponse(status,
+                    cachingResponse.getContentType(), cachingResponse.getContentAsByteArray()));
+        }
+        cachingResponse.copyBodyToResponse();
+    }
+
+    private static void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(AccountsConstants.IDEMPOTENT_REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponseDTO.builder()
+                .apiPath("uri=" + request.getRequestURI())
+                .errorCode(status)
+                .errorMessage(message)
+                .errorTime(LocalDateTime.now())
+                .build());
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Serves the already consumed request body again to the rest of the chain.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.abpira.accounts.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded, expiring map from idempotency key to the response of the first request that used it. An entry is
+ * claimed before the request executes, so concurrent duplicates find it and wait on the same future instead of
+ * running a second time. Entries live in memory and are therefore per instance.
+ */
+public class IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+
+    public IdempotencyStore(long maxEntries, Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Claims {@code key} with {@code candidate}.
+     *
+     * @return {@code null} when the caller now owns the key and must execute the request, otherwise the entry of the
+     * request that owns it
+     */
+    public Entry claim(String key, Entry candidate) {
+        return entries.asMap().putIfAbsent(key, candidate);
+    }
+
+    public void complete(Entry entry, StoredResponse response) {
+        entry.response().complete(response);
+    }
+
+    /**
+     * Forgets a claim whose request did not produce a replayable response, and wakes its waiters so one of them can
+     * claim the key again.
+     */
+    public void release(String key, Entry entry, Throwable cause) {
+        entries.asMap().remove(key, entry);
+        entry.response().completeExceptionally(cause);
+    }
+
+    public record Entry(String fingerprint, CompletableFuture<StoredResponse> response) {
+
+        public static Entry claimedBy(String fingerprint) {
+            return new Entry(fingerprint, new CompletableFuture<>());
+        }
+    }
+
+    public record StoredResponse(int status, String contentType, byte[] body) {
+    }
+}
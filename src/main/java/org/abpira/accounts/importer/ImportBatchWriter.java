@@ -0,0 +1,176 @@
+package org.abpira.accounts.importer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.abpira.accounts.dto.AccountsDTO;
+import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.entities.Accounts;
+import org.abpira.accounts.entities.Customer;
+import org.abpira.accounts.entities.ImportBatch;
+import org.abpira.accounts.entities.ImportRejection;
+import org.abpira.accounts.events.AccountsChangedEvent;
+import org.abpira.accounts.events.ChangeType;
+import org.abpira.accounts.generator.AccountNumberGenerator;
+import org.abpira.accounts.mapper.CustomerMapper;
+import org.abpira.accounts.repository.CustomerRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes one import batch in one transaction: its new customers and accounts, its rejected records and the
+ * {@link ImportBatch} checkpoint commit or roll back together. Mobile numbers are checked against the database with
+ * one {@code IN} query per batch. A batch that collides with a concurrent insert of the same number, typically the
+ * same customer appearing in two batches written in parallel, is retried and the collision then shows up as an
+ * existing customer.
+ */
+@Slf4j
+@Component
+public class ImportBatchWriter {
+
+    static final int MAX_ATTEMPTS = 3;
+
+    private static final int MAX_REASON_LENGTH = 1024;
+
+    private final CustomerRepository customerRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountNumberGenerator accountNumberGenerator;
+
+    public ImportBatchWriter(CustomerRepository customerRepository,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             Validator validator,
+                             ApplicationEventPublisher eventPublisher,
+                             AccountNumberGenerator accountNumberGenerator) {
+        this.customerRepository = customerRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.accountNumberGenerator = accountNumberGenerator;
+    }
+
+    /**
+     * @return the committed checkpoint, with the batch's imported and rejected counts
+     */
+    public ImportBatch write(long jobId, long batchNumber, List<ImportRecord> records) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> insert(jobId, batchNumber, records));
+            } catch (RuntimeException ex) {
+                entityManager.clear();
+                if (attempt == MAX_ATTEMPTS || !isConstraintViolation(ex)) {
+                    throw ex;
+                }
+                log.debug("Import batch {} of job {} collided with a concurrent insert, retrying: {}",
+                        batchNumber, jobId, ex.getMessage());
+            }
+        }
+    }
+
+    private ImportBatch insert(long jobId, long batchNumber, List<ImportRecord> records) {
+        List<ImportRejection> rejections = new ArrayList<>();
+        Map<String, ImportRecord> candidates = new LinkedHashMap<>();
+        for (ImportRecord record : records) {
+            String error = record.error() != null ? record.error() : validate(record.customerDTO());
+            if (error != null) {
+                rejections.add(rejection(jobId, record, error));
+            } else if (candidates.putIfAbsent(record.mobileNumber(), record) != null) {
+                rejections.add(rejection(jobId, record, "Mobile number appears more than once in the file"));
+            }
+        }
+
+        Set<String> existing = candidates.isEmpty()
+                ? Set.of() : customerRepository.findExistingMobileNumbers(candidates.keySet());
+        List<Customer> customers = new ArrayList<>(candidates.size());
+        List<AccountsDTO> accountsDTOs = new ArrayList<>(candidates.size());
+        for (ImportRecord record : candidates.values()) {
+            if (existing.contains(record.mobileNumber())) {
+                rejections.add(rejection(jobId, record,
+                        "Customer already exists with mobile number " + record.mobileNumber()));
+                continue;
+            }
+            Customer customer = CustomerMapper.mapToCustomer(record.customerDTO(), new Customer());
+            entityManager.persist(customer);
+            customers.add(customer);
+            accountsDTOs.add(record.customerDTO().getAccountsDTO());
+        }
+        for (int i = 0; i < customers.size(); i++) {
+            Accounts account = new Accounts();
+            account.setCustomerId(customers.get(i).getCustomerId());
+            account.setAccountNumber(accountNumberGenerator.nextAccountNumber());
+            account.setAccountType(accountsDTOs.get(i).getAccountType());
+            account.setBranchAddress(accountsDTOs.get(i).getBranchAddress());
+            account.setPrimaryAccount(true);
+            entityManager.persist(account);
+        }
+        rejections.forEach(entityManager::persist);
+        ImportBatch batch = ImportBatch.builder()
+                .jobId(jobId)
+                .batchNumber(batchNumber)
+                .imported(customers.size())
+                .rejected(rejections.size())
+                .committedAt(LocalDateTime.now())
+                .build();
+        entityManager.persist(batch);
+        entityManager.flush();
+        entityManager.clear();
+        customers.forEach(customer -> eventPublisher.publishEvent(
+                new AccountsChangedEvent(ChangeType.CREATED, customer.getMobileNumber())));
+        return batch;
+    }
+
+    /**
+     * The create rules of {@link CustomerDTO}, which cascade to its {@link AccountsDTO}. Unlike the API, an import
+     * needs a mobile number to dedupe on.
+     */
+    private String validate(CustomerDTO customerDTO) {
+        List<String> messages = new ArrayList<>();
+        collect(validator.validate(customerDTO), messages);
+        if (customerDTO.getMobileNumber().isEmpty()) {
+            messages.add("mobileNumber: Mobile number should not be empty");
+        }
+        if (messages.isEmpty()) {
+            return null;
+        }
+        messages.sort(null);
+        return String.join("; ", messages);
+    }
+
+    private static void collect(Set<? extends ConstraintViolation<?>> violations, List<String> messages) {
+        violations.forEach(v -> messages.add(v.getPropertyPath() + ": " + v.getMessage()));
+    }
+
+    private static ImportRejection rejection(long jobId, ImportRecord record, String reason) {
+        return ImportRejection.builder()
+                .jobId(jobId)
+                .recordNumber(record.recordNumber())
+                .mobileNumber(record.mobileNumber())
+                .reason(reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason)
+                .build();
+    }
+
+    private static boolean isConstraintViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException || cause instanceof DataIntegrityViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
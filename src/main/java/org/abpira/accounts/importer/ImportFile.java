@@ -0,0 +1,105 @@
+package org.abpira.accounts.importer;
+
+import org.abpira.accounts.dto.AccountsDTO;
+import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.exceptions.InvalidImportFileException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A legacy customer export: a header line naming at least the {@link #COLUMNS}, in any order and case, followed by
+ * one customer and account per record. Records are handed out in fixed-size batches in file order, so batch numbers
+ * are stable between runs over the same file.
+ */
+public class ImportFile implements Closeable {
+
+    static final List<String> COLUMNS = List.of("name", "email", "mobileNumber", "accountType", "branchAddress");
+
+    private static final char BOM = '\uFEFF';
+
+    private final CsvRecordReader reader;
+    private final int width;
+    private final int[] columns;
+
+    ImportFile(Reader reader) throws IOException {
+        this.reader = new CsvRecordReader(reader);
+        List<String> header = this.reader.next();
+        if (header == null) {
+            throw new InvalidImportFileException("Import file is empty");
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = i == 0 && !header.get(0).isEmpty() && header.get(0).charAt(0) == BOM
+                    ? header.get(0).substring(1) : header.get(i);
+            positions.put(name.trim().toLowerCase(Locale.ROOT), i);
+        }
+        this.width = header.size();
+        this.columns = new int[COLUMNS.size()];
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            Integer position = positions.get(COLUMNS.get(i).toLowerCase(Locale.ROOT));
+            if (position == null) {
+                throw new InvalidImportFileException("Import file has no " + COLUMNS.get(i) + " column");
+            }
+            columns[i] = position;
+        }
+    }
+
+    public static ImportFile open(Path path) throws IOException {
+        Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        try {
+            return new ImportFile(reader);
+        } catch (IOException | RuntimeException ex) {
+            reader.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * @return up to {@code size} records; empty once the file is exhausted
+     */
+    public List<ImportRecord> nextBatch(int size) throws IOException {
+        List<ImportRecord> batch = new ArrayList<>(size);
+        List<String> fields;
+        while (batch.size() < size && (fields = reader.next()) != null) {
+            // data records are numbered from 1; the reader also counted the header
+            batch.add(toRecord(reader.recordNumber() - 1, fields));
+        }
+        return batch;
+    }
+
+    private ImportRecord toRecord(long recordNumber, List<String> fields) {
+        if (fields.size() != width) {
+            return new ImportRecord(recordNumber, null,
+                    "Expected " + width + " fields but found " + fields.size());
+        }
+        CustomerDTO customerDTO = CustomerDTO.builder()
+                .name(field(fields, 0))
+                .email(field(fields, 1))
+                .mobileNumber(field(fields, 2))
+                .accountsDTO(AccountsDTO.builder()
+                        .accountType(field(fields, 3))
+                        .branchAddress(field(fields, 4))
+                        .build())
+                .build();
+        return new ImportRecord(recordNumber, customerDTO, null);
+    }
+
+    private String field(List<String> fields, int column) {
+        return fields.get(columns[column]).trim();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,185 @@
+package org.abpira.accounts.importer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.entities.ImportBatch;
+import org.abpira.accounts.entities.ImportJob;
+import org.abpira.accounts.repository.ImportBatchRepository;
+import org.abpira.accounts.repository.ImportJobRepository;
+import org.abpira.accounts.repository.projection.ImportTotals;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs import jobs in the background. One coordinator thread per job reads the file and hands fixed-size batches to
+ * a worker pool shared by all jobs; at most two batches per worker are read ahead, so memory is bounded however
+ * large the file. Batches whose checkpoint already exists are read past without being written, which is how a job
+ * resumes after a crash: batches run in parallel, so the committed ones need not be contiguous.
+ */
+@Slf4j
+@Component
+public class ImportJobRunner {
+
+    static final String ROWS_COUNTER = "accounts.import.rows";
+
+    private static final int MAX_MESSAGE_LENGTH = 1024;
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportBatchRepository importBatchRepository;
+    private final ImportBatchWriter batchWriter;
+    private final int readAhead;
+    private final ExecutorService coordinators = Executors.newCachedThreadPool(
+            Thread.ofPlatform().name("import-", 0).factory());
+    private final ExecutorService workers;
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+
+    public ImportJobRunner(ImportJobRepository importJobRepository,
+                           ImportBatchRepository importBatchRepository,
+                           ImportBatchWriter batchWriter,
+                           AccountsProperties accountsProperties,
+                           MeterRegistry meterRegistry) {
+        this.importJobRepository = importJobRepository;
+        this.importBatchRepository = importBatchRepository;
+        this.batchWriter = batchWriter;
+        int parallelism = accountsProperties.getFileImport().getParallelism();
+        this.readAhead = parallelism * 2;
+        this.workers = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("import-worker-", 0).factory());
+        this.importedRows = rowsCounter(meterRegistry, "imported");
+        this.rejectedRows = rowsCounter(meterRegistry, "rejected");
+    }
+
+    public boolean isRunning(long jobId) {
+        return running.contains(jobId);
+    }
+
+    /**
+     * Starts the job in the background; the file is closed when the job ends.
+     */
+    public void submit(ImportJob job, ImportFile file) {
+        running.add(job.getId());
+        try {
+            coordinators.execute(() -> run(job, file));
+        } catch (RejectedExecutionException ex) {
+            running.remove(job.getId());
+            throw ex;
+        }
+    }
+
+    void run(ImportJob job, ImportFile file) {
+        Throwable failure;
+        try (file) {
+            failure = importBatches(job, file);
+        } catch (IOException | RuntimeException ex) {
+            failure = ex;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            failure = ex;
+        }
+        try {
+            finish(job, failure);
+        } catch (RuntimeException ex) {
+            // the job stays RUNNING in the database and is resumed by the next start for its file
+            log.warn("Could not record the outcome of import {}: {}", job.getId(), ex.getMessage());
+        } finally {
+            running.remove(job.getId());
+        }
+    }
+
+    private Throwable importBatches(ImportJob job, ImportFile file) throws IOException, InterruptedException {
+        Set<Long> committed = importBatchRepository.findBatchNumbersByJobId(job.getId());
+        Semaphore inFlight = new Semaphore(readAhead);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        try {
+            long batchNumber = 0;
+            List<ImportRecord> records;
+            while (failure.get() == null && !(records = file.nextBatch(job.getBatchSize())).isEmpty()) {
+                batchNumber++;
+                if (committed.contains(batchNumber)) {
+                    continue;
+                }
+                inFlight.acquire();
+                long number = batchNumber;
+                List<ImportRecord> batch = records;
+                try {
+                    workers.execute(() -> {
+                        try {
+                            ImportBatch written = batchWriter.write(job.getId(), number, batch);
+                            importedRows.increment(written.getImported());
+                            rejectedRows.increment(written.getRejected());
+                        } catch (RuntimeException ex) {
+                            failure.compareAndSet(null, ex);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RejectedExecutionException ex) {
+                    inFlight.release();
+                    throw ex;
+                }
+            }
+        } catch (InterruptedException ex) {
+            // keep the flag so the wait below gives up too; batches still queued are dropped on shutdown
+            Thread.currentThread().interrupt();
+            throw ex;
+        } finally {
+            // the job's outcome is only recorded once every batch handed out has committed or failed
+            inFlight.acquire(readAhead);
+        }
+        return failure.get();
+    }
+
+    private void finish(ImportJob job, Throwable failure) {
+        LocalDateTime finishedAt = LocalDateTime.now();
+        ImportTotals totals = importBatchRepository.findTotals(job.getId(), job.getStartedAt());
+        job.setFinishedAt(finishedAt);
+        if (failure == null) {
+            job.setStatus(ImportJobStatus.COMPLETED);
+            log.info("Import {} of {} completed: {} imported, {} rejected, {} rows/s", job.getId(), job.getFilePath(),
+                    totals.imported(), totals.rejected(),
+                    Math.round(rowsPerSecond(totals.rowsSince(), job.getStartedAt(), finishedAt)));
+        } else {
+            String message = String.valueOf(failure.getMessage());
+            job.setStatus(ImportJobStatus.FAILED);
+            job.setFailureMessage(message.length() > MAX_MESSAGE_LENGTH
+                    ? message.substring(0, MAX_MESSAGE_LENGTH) : message);
+            log.warn("Import {} of {} failed after {} committed batches, start it again to resume", job.getId(),
+                    job.getFilePath(), totals.batches(), failure);
+        }
+        importJobRepository.save(job);
+    }
+
+    public static double rowsPerSecond(long rows, LocalDateTime from, LocalDateTime to) {
+        long millis = Duration.between(from, to).toMillis();
+        return millis <= 0 ? 0 : rows * 1000.0 / millis;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coordinators.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private static Counter rowsCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(ROWS_COUNTER)
+                .description("Import file records committed, by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,7 @@
+package org.abpira.accounts.importer;
+
+public enum ImportJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
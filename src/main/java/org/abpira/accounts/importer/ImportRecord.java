@@ -0,0 +1,14 @@
+package org.abpira.accounts.importer;
+
+import org.abpira.accounts.dto.CustomerDTO;
+
+/**
+ * One data record of an import file, numbered from 1 after the header. {@code error} is set when the record could
+ * not be mapped at all, in which case {@code customerDTO} is {@code null}.
+ */
+public record ImportRecord(long recordNumber, CustomerDTO customerDTO, String error) {
+
+    public String mobileNumber() {
+        return customerDTO != null ? customerDTO.getMobileNumber() : null;
+    }
+}
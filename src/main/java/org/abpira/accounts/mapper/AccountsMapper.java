@@ -2,6 +2,11 @@ package org.abpira.accounts.mapper;
 
 import org.abpira.accounts.dto.AccountsDTO;
 import org.abpira.accounts.entities.Accounts;
+import org.abpira.accounts.repository.projection.AccountSummary;
+import org.abpira.accounts.repository.projection.CustomerAccountView;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class AccountsMapper {
 
@@ -12,10 +17,30 @@ public class AccountsMapper {
         return accountsDTO;
     }
 
-    public static Accounts mapToAccounts(AccountsDTO accountsDTO, Accounts accounts) {
-        accounts.setAccountNumber(accountsDTO.getAccountNumber());
-        accounts.setAccountType(accountsDTO.getAccountType());
-        accounts.setBranchAddress(accountsDTO.getBranchAddress());
-        return accounts;
+    public static AccountsDTO mapToAccountsDTO(CustomerAccountView view, AccountsDTO accountsDTO) {
+        accountsDTO.setAccountNumber(view.accountNumber());
+        accountsDTO.setAccountType(view.accountType());
+        accountsDTO.setBranchAddress(view.branchAddress());
+        return accountsDTO;
+    }
+
+    public static AccountsDTO mapToAccountsDTO(AccountSummary summary, AccountsDTO accountsDTO) {
+        accountsDTO.setAccountNumber(summary.accountNumber());
+        accountsDTO.setAccountType(summary.accountType());
+        accountsDTO.setBranchAddress(summary.branchAddress());
+        return accountsDTO;
+    }
+
+    /**
+     * Applies only the account fields that differ and returns their names, prefixed as in the request body.
+     * With {@code patch} set, {@code null} fields in the DTO are left untouched.
+     */
+    public static List<String> updateAccounts(AccountsDTO accountsDTO, Accounts accounts, boolean patch) {
+        List<String> changed = new ArrayList<>(2);
+        FieldChanges.apply("accountsDTO.accountType", accountsDTO.getAccountType(), accounts.getAccountType(),
+                accounts::setAccountType, patch, changed);
+        FieldChanges.apply("accountsDTO.branchAddress", accountsDTO.getBranchAddress(), accounts.getBranchAddress(),
+                accounts::setBranchAddress, patch, changed);
+        return changed;
     }
 }
@@ -2,6 +2,11 @@ package org.abpira.accounts.mapper;
 
 import org.abpira.accounts.dto.CustomerDTO;
 import org.abpira.accounts.entities.Customer;
+import org.abpira.accounts.repository.projection.CustomerAccountView;
+import org.abpira.accounts.repository.projection.CustomerSummary;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class CustomerMapper {
 
@@ -9,6 +14,23 @@ public class CustomerMapper {
         customerDTO.setName(customer.getName());
         customerDTO.setEmail(customer.getEmail());
         customerDTO.setMobileNumber(customer.getMobileNumber());
+        customerDTO.setVersion(customer.getVersion());
+        return customerDTO;
+    }
+
+    public static CustomerDTO mapToCustomerDTO(CustomerAccountView view, CustomerDTO customerDTO) {
+        customerDTO.setName(view.name());
+        customerDTO.setEmail(view.email());
+        customerDTO.setMobileNumber(view.mobileNumber());
+        customerDTO.setVersion(view.version());
+        return customerDTO;
+    }
+
+    public static CustomerDTO mapToCustomerDTO(CustomerSummary summary, CustomerDTO customerDTO) {
+        customerDTO.setName(summary.name());
+        customerDTO.setEmail(summary.email());
+        customerDTO.setMobileNumber(summary.mobileNumber());
+        customerDTO.setVersion(summary.version());
         return customerDTO;
     }
 
@@ -18,4 +40,17 @@ public class CustomerMapper {
         customer.setMobileNumber(customerDTO.getMobileNumber());
         return customer;
     }
+
+    /**
+     * Applies only the customer fields that differ and returns their names. With {@code patch} set, {@code null}
+     * fields in the DTO are left untouched.
+     */
+    public static List<String> updateCustomer(CustomerDTO customerDTO, Customer customer, boolean patch) {
+        List<String> changed = new ArrayList<>(3);
+        FieldChanges.apply("name", customerDTO.getName(), customer.getName(), customer::setName, patch, changed);
+        FieldChanges.apply("email", customerDTO.getEmail(), customer.getEmail(), customer::setEmail, patch, changed);
+        FieldChanges.apply("mobileNumber", customerDTO.getMobileNumber(), customer.getMobileNumber(),
+                customer::setMobileNumber, patch, changed);
+        return changed;
+    }
 }
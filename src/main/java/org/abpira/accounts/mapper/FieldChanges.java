@@ -0,0 +1,23 @@
+package org.abpira.accounts.mapper;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Copies a DTO value onto an entity only when it differs from the current one, and records the name of every field
+ * it changed. In patch mode a {@code null} value means "leave as is".
+ */
+final class FieldChanges {
+
+    private FieldChanges() {
+    }
+
+    static <T> void apply(String field, T value, T current, Consumer<T> setter, boolean patch, List<String> changed) {
+        if ((patch && value == null) || Objects.equals(value, current)) {
+            return;
+        }
+        setter.accept(value);
+        changed.add(field);
+    }
+}
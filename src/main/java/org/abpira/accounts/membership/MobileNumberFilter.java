@@ -0,0 +1,113 @@
+package org.abpira.accounts.membership;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over registered mobile numbers, answering whether a number may be registered. A number that was
+ * {@linkplain #add added} is always reported as possibly present; an unknown one is ruled out except for a
+ * false-positive share fixed by the sizing. Numbers cannot be taken out again, so a deleted customer's number keeps
+ * costing a lookup until the filter is rebuilt at the next start.
+ * <p>
+ * Until {@link #markLoaded()} the filter holds only part of the table and rules nothing out. Bits are set with
+ * compare-and-set, so adds and checks need no lock.
+ */
+public class MobileNumberFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private volatile boolean loaded;
+
+    /**
+     * @param expectedNumbers   numbers the filter is sized for
+     * @param falsePositiveRate share of unknown numbers reported as possibly present once that many are added
+     */
+    public MobileNumberFilter(int expectedNumbers, double falsePositiveRate) {
+        if (expectedNumbers < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Filter needs at least one expected number and a rate in (0, 1)");
+        }
+        long bits = (long) Math.ceil(-expectedNumbers * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray(Math.toIntExact((bits + Long.SIZE - 1) / Long.SIZE));
+        this.bitCount = (long) words.length() * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedNumbers * Math.log(2)));
+    }
+
+    public void add(String mobileNumber) {
+        long hash = hash(mobileNumber);
+        long step = step(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = words.get(word)) & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Whether the number may be registered. {@code false} means it certainly is not, as far as this instance has
+     * seen.
+     */
+    public boolean mightContain(String mobileNumber) {
+        if (!loaded) {
+            return true;
+        }
+        long hash = hash(mobileNumber);
+        long step = step(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void markLoaded() {
+        loaded = true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Expected share of unknown numbers reported as possibly present, from how many bits are set.
+     */
+    public double falsePositiveRate() {
+        long set = 0;
+        for (int i = 0; i < words.length(); i++) {
+            set += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) set / bitCount, hashCount);
+    }
+
+    public long sizeInBytes() {
+        return bitCount / Byte.SIZE;
+    }
+
+    private static long hash(String mobileNumber) {
+        long hash = 0;
+        for (int i = 0; i < mobileNumber.length(); i++) {
+            hash = 31 * hash + mobileNumber.charAt(i);
+        }
+        return mix(hash);
+    }
+
+    // second hash for double hashing; kept odd so it is never zero and the probes never collapse onto one bit
+    private static long step(long hash) {
+        return mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    // MurmurHash3's 64-bit finalizer
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE1A85A53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,77 @@
+package org.abpira.accounts.membership;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.events.AccountsChangedEvent;
+import org.abpira.accounts.events.ChangeType;
+import org.abpira.accounts.repository.CustomerRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Fills the {@link MobileNumberFilter} from the customer table once the application is ready, and adds the number of
+ * every customer created or renumbered on this instance after that. Numbers registered through other instances are
+ * not seen; a create with one of those skips the lookup and is refused by the unique constraint instead.
+ */
+@Slf4j
+@Component
+public class MobileNumberFilterLoader {
+
+    static final String FALSE_POSITIVE_GAUGE = "accounts.mobile-number-filter.false-positive-rate";
+
+    private final MobileNumberFilter filter;
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    public MobileNumberFilterLoader(MobileNumberFilter filter,
+                                    CustomerRepository customerRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    AccountsProperties accountsProperties,
+                                    MeterRegistry meterRegistry) {
+        this.filter = filter;
+        this.customerRepository = customerRepository;
+        // read-write, so the load reads the primary rather than a lagging replica
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = accountsProperties.getMobileNumberFilter().isEnabled();
+        Gauge.builder(FALSE_POSITIVE_GAUGE, filter, MobileNumberFilter::falsePositiveRate)
+                .description("Expected share of unregistered mobile numbers still looked up on create")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long[] loaded = new long[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> mobileNumbers = customerRepository.streamMobileNumbers()) {
+                mobileNumbers.forEach(mobileNumber -> {
+                    filter.add(mobileNumber);
+                    loaded[0]++;
+                });
+            }
+        });
+        // numbers created during the load were added by onAccountsChanged, so nothing is missing from here on
+        filter.markLoaded();
+        log.info("Mobile number filter loaded with {} numbers into {} KB in {} ms", loaded[0],
+                filter.sizeInBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountsChanged(AccountsChangedEvent event) {
+        if (event.type() != ChangeType.DELETED && event.mobileNumber() != null) {
+            filter.add(event.mobileNumber());
+        }
+    }
+}
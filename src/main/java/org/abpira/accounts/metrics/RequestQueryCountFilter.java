@@ -0,0 +1,54 @@
+package org.abpira.accounts.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request issued in the {@code accounts.request.queries} summary, tagged
+ * with the matched URI pattern. A rising count on one endpoint is the usual sign of an N+1 or a lost join.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestQueryCountFilter extends OncePerRequestFilter {
+
+    static final String QUERY_SUMMARY = "accounts.request.queries";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCountInspector.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int queries = QueryCountInspector.stop();
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                DistributionSummary.builder(QUERY_SUMMARY)
+                        .description("SQL statements issued per request")
+                        .baseUnit("queries")
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri(request))
+                        .register(registry)
+                        .record(queries);
+            }
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
@@ -0,0 +1,27 @@
+package org.abpira.accounts.outbox;
+
+import org.abpira.accounts.dto.AccountChangeDTO;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps every published event in memory. Intended for tests and local runs.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<AccountChangeDTO> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<AccountChangeDTO> events) {
+        this.events.addAll(events);
+    }
+
+    public List<AccountChangeDTO> events() {
+        return List.copyOf(events);
+    }
+
+    public void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,20 @@
+package org.abpira.accounts.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.abpira.accounts.dto.AccountChangeDTO;
+
+import java.util.List;
+
+/**
+ * Default sink when no broker is configured; consumers read the change stream endpoint instead.
+ */
+@Slf4j
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void publish(List<AccountChangeDTO> events) {
+        if (log.isDebugEnabled()) {
+            events.forEach(event -> log.debug("Account change {}", event));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.abpira.accounts.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.dto.AccountChangeDTO;
+import org.abpira.accounts.entities.OutboxCounter;
+import org.abpira.accounts.entities.OutboxEvent;
+import org.abpira.accounts.repository.OutboxCounterRepository;
+import org.abpira.accounts.repository.OutboxEventRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publishes outbox rows to the {@link OutboxSink} in batches. Each batch runs under the row lock of the
+ * {@link OutboxCounter}, which serialises relays across instances and hands out the sequence numbers consumers
+ * tail by. Sink, sequence numbers and publication timestamps succeed or fail together, so a failed batch
+ * is simply picked up again on the next run.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxCounterRepository counterRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountsProperties.Outbox.Relay relay;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxCounterRepository counterRepository,
+                       OutboxSink outboxSink,
+                       PlatformTransactionManager transactionManager,
+                       AccountsProperties accountsProperties) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.counterRepository = counterRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.relay = accountsProperties.getOutbox().getRelay();
+    }
+
+    @Scheduled(fixedDelayString = "${accounts.outbox.relay.interval:1s}")
+    public void relayScheduled() {
+        try {
+            relay();
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deletePublishedBefore(
+                    LocalDateTime.now().minus(relay.getRetention())));
+        } catch (RuntimeException ex) {
+            log.warn("Outbox relay run failed, retrying on the next run: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Publishes batches until the outbox is drained.
+     *
+     * @return the number of events published
+     */
+    public int relay() {
+        int published = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> relayBatch());
+            published += batch;
+        } while (batch == relay.getBatchSize());
+        return published;
+    }
+
+    private int relayBatch() {
+        OutboxCounter counter = counterRepository.findForUpdate(OutboxCounter.ID)
+                .orElseGet(() -> counterRepository.saveAndFlush(new OutboxCounter(OutboxCounter.ID, 1)));
+        List<OutboxEvent> events = outboxEventRepository.findUnpublished(PageRequest.ofSize(relay.getBatchSize()));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        long next = counter.getNextSequenceNumber();
+        LocalDateTime now = LocalDateTime.now();
+        List<AccountChangeDTO> changes = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            event.setSequenceNumber(next++);
+            event.setPublishedAt(now);
+            changes.add(toAccountChangeDTO(event));
+        }
+        counter.setNextSequenceNumber(next);
+        outboxSink.publish(changes);
+        return events.size();
+    }
+
+    static AccountChangeDTO toAccountChangeDTO(OutboxEvent event) {
+        return AccountChangeDTO.builder()
+                .sequenceNumber(event.getSequenceNumber())
+                .type(event.getChangeType())
+                .mobileNumber(event.getMobileNumber())
+                .previousMobileNumber(event.getPreviousMobileNumber())
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+}
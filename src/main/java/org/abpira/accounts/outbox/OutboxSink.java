@@ -0,0 +1,14 @@
+package org.abpira.accounts.outbox;
+
+import org.abpira.accounts.dto.AccountChangeDTO;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox relay. A batch is published inside the relay transaction: if this method throws, the
+ * batch stays unpublished and is retried on the next run, so implementations must tolerate redelivery.
+ */
+public interface OutboxSink {
+
+    void publish(List<AccountChangeDTO> events);
+}
@@ -0,0 +1,34 @@
+package org.abpira.accounts.outbox;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.abpira.accounts.entities.OutboxEvent;
+import org.abpira.accounts.events.AccountsChangedEvent;
+import org.abpira.accounts.repository.OutboxEventRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records every {@link AccountsChangedEvent} in the outbox table. The listener runs synchronously inside the
+ * publishing transaction, so the outbox row commits or rolls back together with the mutation it describes.
+ * Publishing a change outside a transaction is a bug and fails fast.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    @EventListener
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void onAccountsChanged(AccountsChangedEvent event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .changeType(event.type())
+                .mobileNumber(event.mobileNumber())
+                .previousMobileNumber(event.previousMobileNumber())
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+}
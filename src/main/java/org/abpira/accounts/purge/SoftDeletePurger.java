@@ -0,0 +1,75 @@
+package org.abpira.accounts.purge;
+
+import lombok.extern.slf4j.Slf4j;
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.repository.AccountsRepository;
+import org.abpira.accounts.repository.CustomerRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Removes soft-deleted customers and their accounts in the background. Each batch runs in its own short
+ * transaction and deletes by primary key, so a large wave of account closures is drained as a series of small
+ * lock windows rather than one long one on the live tables.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "accounts.delete", name = "mode", havingValue = "soft", matchIfMissing = true)
+public class SoftDeletePurger {
+
+    private final CustomerRepository customerRepository;
+    private final AccountsRepository accountsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountsProperties.Delete.Purge purge;
+
+    public SoftDeletePurger(CustomerRepository customerRepository,
+                            AccountsRepository accountsRepository,
+                            PlatformTransactionManager transactionManager,
+                            AccountsProperties accountsProperties) {
+        this.customerRepository = customerRepository;
+        this.accountsRepository = accountsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purge = accountsProperties.getDelete().getPurge();
+    }
+
+    @Scheduled(fixedDelayString = "${accounts.delete.purge.interval:30s}",
+            initialDelayString = "${accounts.delete.purge.interval:30s}")
+    public void purgeScheduled() {
+        int purged = purge();
+        if (purged > 0) {
+            log.info("Purged {} soft-deleted customers", purged);
+        }
+    }
+
+    /**
+     * Runs purge batches until no soft-deleted customer is left or the per-run limit is reached.
+     *
+     * @return the number of customers removed
+     */
+    public int purge() {
+        int purged = 0;
+        for (int batch = 0; batch < purge.getMaxBatchesPerRun(); batch++) {
+            Integer removed = transactionTemplate.execute(status -> purgeBatch());
+            purged += removed;
+            if (removed < purge.getBatchSize()) {
+                break;
+            }
+        }
+        return purged;
+    }
+
+    private int purgeBatch() {
+        List<Long> customerIds = customerRepository.findSoftDeletedIds(purge.getBatchSize());
+        if (customerIds.isEmpty()) {
+            return 0;
+        }
+        accountsRepository.deleteByCustomerIdIn(customerIds);
+        customerRepository.purgeSoftDeleted(customerIds);
+        return customerIds.size();
+    }
+}
@@ -0,0 +1,27 @@
+package org.abpira.accounts.repository;
+
+import org.abpira.accounts.repository.projection.AccountSearchRow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Account search, mixed into {@link AccountsRepository}. Pages are keyset pages in {@code (createdAt,
+ * accountNumber)} order, each backed by one of the {@code idx_accounts_*created_at} indexes.
+ */
+public interface AccountSearchRepository {
+
+    /**
+     * Accounts matching every filter given, starting after {@code (afterCreatedAt, afterAccountNumber)} or from the
+     * beginning when {@code afterCreatedAt} is {@code null}. Accounts without a creation time are never returned.
+     *
+     * @param accountType   exact account type, or {@code null}
+     * @param branchAddress exact branch address, or {@code null}
+     * @param createdFrom   inclusive lower bound on the account's creation time, or {@code null}
+     * @param createdTo     exclusive upper bound on the account's creation time, or {@code null}
+     * @param limit         the most rows to return
+     */
+    List<AccountSearchRow> search(String accountType, String branchAddress, LocalDateTime createdFrom,
+                                  LocalDateTime createdTo, LocalDateTime afterCreatedAt, long afterAccountNumber,
+                                  int limit);
+}
@@ -2,15 +2,88 @@ package org.abpira.accounts.repository;
 
 import jakarta.transaction.Transactional;
 import org.abpira.accounts.entities.Accounts;
+import org.abpira.accounts.repository.projection.AccountSummary;
+import org.abpira.accounts.repository.projection.AccountWithCustomer;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface AccountsRepository extends JpaRepository<Accounts, Long> {
-    Optional<Accounts> findByCustomerId(Long customerId);
+/**
+ * A customer holds one or more accounts. Their primary account, the one returned with the customer's details, is
+ * flagged {@code primary_account}; it is the account opened together with the customer. Lookups by customer id
+ * and account number are served by {@code idx_accounts_customer_id}: secondary indexes carry the primary key, so
+ * the index is ordered by account number within each customer and keyset pages are plain index range scans.
+ */
+public interface AccountsRepository extends JpaRepository<Accounts, Long>, AccountSearchRepository {
+    Optional<Accounts> findByCustomerIdAndPrimaryAccountTrue(Long customerId);
+
+    @Query("""
+            select a from Accounts a
+            where a.customerId in :customerIds and a.primaryAccount = true
+            """)
+    List<Accounts> findPrimaryByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    @Query("""
+            select new org.abpira.accounts.repository.projection.AccountSummary(
+                a.customerId, a.accountNumber, a.accountType, a.branchAddress)
+            from Accounts a
+            where a.customerId = :customerId and a.primaryAccount = true
+            """)
+    Optional<AccountSummary> findPrimarySummaryByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("""
+            select new org.abpira.accounts.repository.projection.AccountSummary(
+                a.customerId, a.accountNumber, a.accountType, a.branchAddress)
+            from Accounts a
+            where a.customerId in :customerIds and a.primaryAccount = true
+            """)
+    List<AccountSummary> findPrimarySummariesByCustomerIds(@Param("customerIds") Collection<Long> customerIds);
+
+    /**
+     * Every account of the given customers, grouped by customer and in account number order.
+     */
+    @Query("""
+            select new org.abpira.accounts.repository.projection.AccountSummary(
+                a.customerId, a.accountNumber, a.accountType, a.branchAddress)
+            from Accounts a
+            where a.customerId in :customerIds
+            order by a.customerId, a.accountNumber
+            """)
+    List<AccountSummary> findSummariesByCustomerIds(@Param("customerIds") Collection<Long> customerIds);
+
+    /**
+     * One keyset page of a customer's accounts: the first {@code pageable.pageSize} accounts numbered above
+     * {@code after}. The cost of a page does not depend on how deep into the list it is.
+     */
+    @Query("""
+            select new org.abpira.accounts.repository.projection.AccountSummary(
+                a.customerId, a.accountNumber, a.accountType, a.branchAddress)
+            from Accounts a
+            where a.customerId = :customerId and a.accountNumber > :after
+            order by a.accountNumber
+            """)
+    List<AccountSummary> findPageByCustomerId(@Param("customerId") Long customerId, @Param("after") long after,
+                                              Pageable pageable);
+
+    @Query("""
+            select new org.abpira.accounts.repository.projection.AccountWithCustomer(a, c)
+            from Accounts a left join Customer c on c.customerId = a.customerId
+            where a.accountNumber = :accountNumber
+            """)
+    Optional<AccountWithCustomer> findWithCustomerByAccountNumber(@Param("accountNumber") Long accountNumber);
 
     @Modifying
     @Transactional
-    void deleteByCustomerId(Long customerId);
+    @Query("delete from Accounts a where a.customerId = :customerId")
+    void deleteByCustomerId(@Param("customerId") Long customerId);
+
+    @Modifying
+    @Query("delete from Accounts a where a.customerId in :customerIds")
+    int deleteByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
 }
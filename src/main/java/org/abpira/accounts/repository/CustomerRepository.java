@@ -1,10 +1,137 @@
 package org.abpira.accounts.repository;
 
+import jakarta.persistence.QueryHint;
+import org.abpira.accounts.constants.AccountsConstants;
 import org.abpira.accounts.entities.Customer;
+import org.abpira.accounts.repository.projection.AccountExportRow;
+import org.abpira.accounts.repository.projection.CustomerAccountView;
+import org.abpira.accounts.repository.projection.CustomerSummary;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByMobileNumber(String mobileNumber);
+
+    @Query("""
+            select new org.abpira.accounts.repository.projection.CustomerAccountView(
+                c.customerId, c.name, c.email, c.mobileNumber, c.version, a.accountNumber, a.accountType,
+                a.branchAddress)
+            from Customer c left join Accounts a on a.customerId = c.customerId and a.primaryAccount = true
+            where c.mobileNumber = :mobileNumber
+            """)
+    Optional<CustomerAccountView> findCustomerAccountByMobileNumber(@Param("mobileNumber") String mobileNumber);
+
+    @Query("""
+            select new org.abpira.accounts.repository.projection.CustomerAccountView(
+                c.customerId, c.name, c.email, c.mobileNumber, c.version, a.accountNumber, a.accountType,
+                a.branchAddress)
+            from Customer c left join Accounts a on a.customerId = c.customerId and a.primaryAccount = true
+            where c.mobileNumber in :mobileNumbers
+            """)
+    List<CustomerAccountView> findCustomerAccountsByMobileNumbers(
+            @Param("mobileNumbers") Collection<String> mobileNumbers);
+
+    @Query("""
+            select new org.abpira.accounts.repository.projection.CustomerSummary(
+                c.customerId, c.name, c.email, c.mobileNumber, c.version)
+            from Customer c
+            where c.mobileNumber = :mobileNumber
+            """)
+    Optional<CustomerSummary> findSummaryByMobileNumber(@Param("mobileNumber") String mobileNumber);
+
+    @Query("""
+            select new org.abpira.accounts.repository.projection.CustomerSummary(
+                c.customerId, c.name, c.email, c.mobileNumber, c.version)
+            from Customer c
+            where c.mobileNumber in :mobileNumbers
+            """)
+    List<CustomerSummary> findSummariesByMobileNumbers(@Param("mobileNumbers") Collection<String> mobileNumbers);
+
+    /**
+     * Streams every live customer from a forward-only cursor. Must be consumed, and closed, within a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AccountsConstants.EXPORT_FETCH_SIZE))
+    @Query("""
+            select new org.abpira.accounts.repository.projection.CustomerSummary(
+                c.customerId, c.name, c.email, c.mobileNumber, c.version)
+            from Customer c
+            """)
+    Stream<CustomerSummary> streamSummaries();
+
+    /**
+     * Streams customers with their accounts in customer id, then account number, order from a forward-only cursor.
+     * Rows are projections, so the persistence context stays empty however many are read. Must be consumed, and
+     * closed, within a transaction.
+     *
+     * @param after              resume at this customer id; {@code 0} starts from the beginning
+     * @param afterAccountNumber skip the accounts of customer {@code after} up to and including this number;
+     *                           {@link Long#MAX_VALUE} skips that customer entirely
+     * @param createdFrom        inclusive lower bound on the customer's creation time, or {@code null}
+     * @param createdTo          exclusive upper bound on the customer's creation time, or {@code null}
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AccountsConstants.EXPORT_FETCH_SIZE))
+    @Query("""
+            select new org.abpira.accounts.repository.projection.AccountExportRow(
+                c.customerId, c.name, c.email, c.mobileNumber, a.accountNumber, a.accountType, a.branchAddress,
+                c.createdAt)
+            from Customer c join Accounts a on a.customerId = c.customerId
+            where c.customerId >= :after
+              and (c.customerId > :after or a.accountNumber > :afterAccountNumber)
+              and (:createdFrom is null or c.createdAt >= :createdFrom)
+              and (:createdTo is null or c.createdAt < :createdTo)
+            order by c.customerId, a.accountNumber
+            """)
+    Stream<AccountExportRow> streamForExport(@Param("after") long after,
+                                             @Param("afterAccountNumber") long afterAccountNumber,
+                                             @Param("createdFrom") LocalDateTime createdFrom,
+                                             @Param("createdTo") LocalDateTime createdTo);
+
+    List<Customer> findByMobileNumberIn(Collection<String> mobileNumbers);
+
+    @Query("select c.mobileNumber from Customer c where c.mobileNumber in :mobileNumbers")
+    Set<String> findExistingMobileNumbers(@Param("mobileNumbers") Collection<String> mobileNumbers);
+
+    /**
+     * Streams every live customer's mobile number from a forward-only cursor. Must be consumed, and closed, within
+     * a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AccountsConstants.EXPORT_FETCH_SIZE))
+    @Query("select c.mobileNumber from Customer c")
+    Stream<String> streamMobileNumbers();
+
+    /**
+     * Marks the live customer with this mobile number as deleted without loading it. The mobile number is cleared so
+     * it no longer holds {@code uk_customer_mobile_number} and can be used for a new customer straight away. The
+     * version is bumped so an update racing with the delete fails its version check.
+     *
+     * @return the number of customers marked, {@code 0} when none was live
+     */
+    @Modifying
+    @Query("""
+            update Customer c set c.deletedAt = :deletedAt, c.mobileNumber = null, c.version = c.version + 1
+            where c.mobileNumber = :mobileNumber and c.deletedAt is null
+            """)
+    int softDeleteByMobileNumber(@Param("mobileNumber") String mobileNumber,
+                                 @Param("deletedAt") LocalDateTime deletedAt);
+
+    // native, because @SQLRestriction hides soft-deleted rows from every JPQL query
+    @Query(value = "select customer_id from customer where deleted_at is not null order by customer_id limit :limit",
+            nativeQuery = true)
+    List<Long> findSoftDeletedIds(@Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "delete from customer where customer_id in (:customerIds) and deleted_at is not null",
+            nativeQuery = true)
+    int purgeSoftDeleted(@Param("customerIds") Collection<Long> customerIds);
 }
@@ -0,0 +1,29 @@
+package org.abpira.accounts.repository;
+
+import org.abpira.accounts.entities.ImportBatch;
+import org.abpira.accounts.repository.projection.ImportTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+public interface ImportBatchRepository extends JpaRepository<ImportBatch, Long> {
+
+    @Query("select b.batchNumber from ImportBatch b where b.jobId = :jobId")
+    Set<Long> findBatchNumbersByJobId(@Param("jobId") Long jobId);
+
+    /**
+     * Totals over every committed batch of the job; {@code rowsSince} only counts batches committed at or after
+     * {@code since}, which is what the current run has done.
+     */
+    @Query("""
+            select new org.abpira.accounts.repository.projection.ImportTotals(
+                count(b), coalesce(sum(b.imported), 0L), coalesce(sum(b.rejected), 0L),
+                coalesce(sum(case when b.committedAt >= :since then b.imported + b.rejected else 0 end), 0L))
+            from ImportBatch b
+            where b.jobId = :jobId
+            """)
+    ImportTotals findTotals(@Param("jobId") Long jobId, @Param("since") LocalDateTime since);
+}
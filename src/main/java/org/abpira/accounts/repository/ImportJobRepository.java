@@ -0,0 +1,12 @@
+package org.abpira.accounts.repository;
+
+import org.abpira.accounts.entities.ImportJob;
+import org.abpira.accounts.importer.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    Optional<ImportJob> findFirstByFilePathAndStatusNotOrderByIdDesc(String filePath, ImportJobStatus status);
+}
@@ -0,0 +1,26 @@
+package org.abpira.accounts.repository;
+
+import jakarta.persistence.QueryHint;
+import org.abpira.accounts.constants.AccountsConstants;
+import org.abpira.accounts.entities.ImportRejection;
+import org.abpira.accounts.repository.projection.ImportRejectionRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.stream.Stream;
+
+public interface ImportRejectionRepository extends JpaRepository<ImportRejection, Long> {
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AccountsConstants.EXPORT_FETCH_SIZE))
+    @Query("""
+            select new org.abpira.accounts.repository.projection.ImportRejectionRow(
+                r.recordNumber, r.mobileNumber, r.reason)
+            from ImportRejection r
+            where r.jobId = :jobId
+            order by r.recordNumber
+            """)
+    Stream<ImportRejectionRow> streamByJobId(@Param("jobId") Long jobId);
+}
@@ -0,0 +1,17 @@
+package org.abpira.accounts.repository;
+
+import jakarta.persistence.LockModeType;
+import org.abpira.accounts.entities.OutboxCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface OutboxCounterRepository extends JpaRepository<OutboxCounter, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from OutboxCounter c where c.id = :id")
+    Optional<OutboxCounter> findForUpdate(@Param("id") int id);
+}
@@ -0,0 +1,27 @@
+package org.abpira.accounts.repository;
+
+import org.abpira.accounts.entities.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("select e from OutboxEvent e where e.sequenceNumber is null order by e.id")
+    List<OutboxEvent> findUnpublished(Pageable pageable);
+
+    @Query("select e from OutboxEvent e where e.sequenceNumber > :after order by e.sequenceNumber")
+    List<OutboxEvent> findPublishedAfter(@Param("after") long after, Pageable pageable);
+
+    @Query("select coalesce(max(e.sequenceNumber), 0) from OutboxEvent e")
+    long findLastSequenceNumber();
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
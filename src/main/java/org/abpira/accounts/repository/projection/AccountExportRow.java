@@ -0,0 +1,17 @@
+package org.abpira.accounts.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * One exported customer and account. {@code customerId} and {@code accountNumber} are the export's sort key, so the
+ * last pair written is where an interrupted export resumes.
+ */
+public record AccountExportRow(Long customerId,
+                               String name,
+                               String email,
+                               String mobileNumber,
+                               Long accountNumber,
+                               String accountType,
+                               String branchAddress,
+                               LocalDateTime createdAt) {
+}
@@ -0,0 +1,16 @@
+package org.abpira.accounts.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * One account search hit with its customer. {@code createdAt} and {@code accountNumber} are the search's sort key,
+ * so the last pair returned is where the next page starts.
+ */
+public record AccountSearchRow(Long accountNumber,
+                               String accountType,
+                               String branchAddress,
+                               LocalDateTime createdAt,
+                               Long customerId,
+                               String name,
+                               String mobileNumber) {
+}
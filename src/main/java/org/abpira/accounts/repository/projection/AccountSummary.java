@@ -0,0 +1,11 @@
+package org.abpira.accounts.repository.projection;
+
+/**
+ * Read-only account columns needed to answer a fetch. Loaded through a constructor expression, so no entity
+ * instance, auditing fields or dirty-check snapshot is created.
+ */
+public record AccountSummary(Long customerId,
+                             Long accountNumber,
+                             String accountType,
+                             String branchAddress) {
+}
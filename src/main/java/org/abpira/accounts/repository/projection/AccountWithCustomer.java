@@ -0,0 +1,11 @@
+package org.abpira.accounts.repository.projection;
+
+import org.abpira.accounts.entities.Accounts;
+import org.abpira.accounts.entities.Customer;
+
+/**
+ * An account and its owning customer loaded by one query. Both are managed entities, so changes made to them are
+ * written back by dirty checking at flush. {@code customer} is {@code null} when the account has no customer row.
+ */
+public record AccountWithCustomer(Accounts accounts, Customer customer) {
+}
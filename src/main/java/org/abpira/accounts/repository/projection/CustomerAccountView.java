@@ -0,0 +1,15 @@
+package org.abpira.accounts.repository.projection;
+
+/**
+ * Flat, read-only view of a customer joined with its primary account. The account columns are {@code null} when
+ * the customer has no account row.
+ */
+public record CustomerAccountView(Long customerId,
+                                  String name,
+                                  String email,
+                                  String mobileNumber,
+                                  Long version,
+                                  Long accountNumber,
+                                  String accountType,
+                                  String branchAddress) {
+}
@@ -0,0 +1,12 @@
+package org.abpira.accounts.repository.projection;
+
+/**
+ * Read-only customer columns needed to answer a fetch. Loaded through a constructor expression, so no entity
+ * instance, auditing fields or dirty-check snapshot is created.
+ */
+public record CustomerSummary(Long customerId,
+                              String name,
+                              String email,
+                              String mobileNumber,
+                              Long version) {
+}
@@ -0,0 +1,4 @@
+package org.abpira.accounts.repository.projection;
+
+public record ImportRejectionRow(Long recordNumber, String mobileNumber, String reason) {
+}
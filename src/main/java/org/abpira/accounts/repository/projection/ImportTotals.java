@@ -0,0 +1,8 @@
+package org.abpira.accounts.repository.projection;
+
+/**
+ * Committed progress of an import job. {@code rowsSince} counts the rows of the current run only, so a resumed job
+ * reports its own throughput rather than one diluted by the earlier run's batches.
+ */
+public record ImportTotals(Long batches, Long imported, Long rejected, Long rowsSince) {
+}
@@ -0,0 +1,61 @@
+package org.abpira.accounts.repository.reactive;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import org.abpira.accounts.repository.projection.CustomerAccountView;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Repository
+public class R2dbcAccountsStore implements ReactiveAccountsStore {
+
+    // raw SQL bypasses the entity's @SQLRestriction, so soft-deleted customers are filtered here explicitly;
+    // the account joined is the customer's primary one, as in CustomerRepository
+    private static final String SELECT_CUSTOMER_ACCOUNT = """
+            select c.customer_id, c.name, c.email, c.mobile_number, c.version,
+                a.account_number, a.account_type, a.branch_address
+            from customer c left join accounts a on a.customer_id = c.customer_id and a.primary_account = true
+            where c.deleted_at is null
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public R2dbcAccountsStore(ConnectionFactory connectionFactory) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+    }
+
+    @Override
+    public Mono<CustomerAccountView> findByMobileNumber(String mobileNumber) {
+        return databaseClient.sql(SELECT_CUSTOMER_ACCOUNT + "and c.mobile_number = :mobileNumber")
+                .bind("mobileNumber", mobileNumber)
+                .map(R2dbcAccountsStore::toView)
+                .one();
+    }
+
+    @Override
+    public Flux<CustomerAccountView> findByMobileNumbers(Collection<String> mobileNumbers) {
+        if (mobileNumbers.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT_CUSTOMER_ACCOUNT + "and c.mobile_number in (:mobileNumbers)")
+                .bind("mobileNumbers", mobileNumbers)
+                .map(R2dbcAccountsStore::toView)
+                .all();
+    }
+
+    private static CustomerAccountView toView(Readable row) {
+        return new CustomerAccountView(
+                row.get("customer_id", Long.class),
+                row.get("name", String.class),
+                row.get("email", String.class),
+                row.get("mobile_number", String.class),
+                row.get("version", Long.class),
+                row.get("account_number", Long.class),
+                row.get("account_type", String.class),
+                row.get("branch_address", String.class));
+    }
+}
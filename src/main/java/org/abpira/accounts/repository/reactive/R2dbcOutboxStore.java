@@ -0,0 +1,49 @@
+package org.abpira.accounts.repository.reactive;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import org.abpira.accounts.dto.AccountChangeDTO;
+import org.abpira.accounts.events.ChangeType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+@Repository
+public class R2dbcOutboxStore implements ReactiveOutboxStore {
+
+    // served by the unique index on sequence_number; unpublished rows have none and are never returned
+    private static final String SELECT_PUBLISHED_AFTER = """
+            select sequence_number, change_type, mobile_number, previous_mobile_number, occurred_at
+            from outbox
+            where sequence_number > :after
+            order by sequence_number
+            limit :limit
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public R2dbcOutboxStore(ConnectionFactory connectionFactory) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+    }
+
+    @Override
+    public Flux<AccountChangeDTO> findPublishedAfter(long after, int limit) {
+        return databaseClient.sql(SELECT_PUBLISHED_AFTER)
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(R2dbcOutboxStore::toAccountChangeDTO)
+                .all();
+    }
+
+    private static AccountChangeDTO toAccountChangeDTO(Readable row) {
+        return AccountChangeDTO.builder()
+                .sequenceNumber(row.get("sequence_number", Long.class))
+                .type(ChangeType.valueOf(row.get("change_type", String.class)))
+                .mobileNumber(row.get("mobile_number", String.class))
+                .previousMobileNumber(row.get("previous_mobile_number", String.class))
+                .occurredAt(row.get("occurred_at", LocalDateTime.class))
+                .build();
+    }
+}
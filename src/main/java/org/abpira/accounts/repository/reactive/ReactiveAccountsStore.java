@@ -0,0 +1,18 @@
+package org.abpira.accounts.repository.reactive;
+
+import org.abpira.accounts.repository.projection.CustomerAccountView;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Non-blocking read access to customers and their accounts. It is the reactive counterpart of the
+ * joined read in {@link org.abpira.accounts.repository.CustomerRepository} and reads the same tables.
+ */
+public interface ReactiveAccountsStore {
+
+    Mono<CustomerAccountView> findByMobileNumber(String mobileNumber);
+
+    Flux<CustomerAccountView> findByMobileNumbers(Collection<String> mobileNumbers);
+}
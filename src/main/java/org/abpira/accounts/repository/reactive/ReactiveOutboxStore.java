@@ -0,0 +1,15 @@
+package org.abpira.accounts.repository.reactive;
+
+import org.abpira.accounts.dto.AccountChangeDTO;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking read access to published outbox events, for consumers tailing the change stream.
+ */
+public interface ReactiveOutboxStore {
+
+    /**
+     * @return up to {@code limit} published events with a sequence number greater than {@code after}, in order
+     */
+    Flux<AccountChangeDTO> findPublishedAfter(long after, int limit);
+}
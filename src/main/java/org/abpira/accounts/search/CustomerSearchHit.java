@@ -0,0 +1,7 @@
+package org.abpira.accounts.search;
+
+/**
+ * A customer found by the search index, as it was when last indexed.
+ */
+public record CustomerSearchHit(String name, String email, String mobileNumber) {
+}
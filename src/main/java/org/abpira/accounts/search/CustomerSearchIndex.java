@@ -0,0 +1,384 @@
+package org.abpira.accounts.search;
+
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory typeahead index over customers' name, email and mobile number. Each is split into lower-case terms
+ * without accents ({@code John.Smith@example.com} gives {@code john}, {@code smith}, {@code example} and
+ * {@code com}) held in a sorted dictionary, each with the sorted slots of the customers containing it, so every
+ * term starting with a prefix is one range of the dictionary.
+ * <p>
+ * A customer matches when every query token is the prefix of one of its terms. If that finds fewer customers than
+ * asked for, tokens of {@value #FUZZY_MIN_LENGTH} or more characters also match terms that start one typo away: a
+ * character inserted, dropped, replaced or two swapped, anywhere but the first character. Results come in the
+ * dictionary order of the longest token's matching term.
+ * <p>
+ * Searches share a read lock; changes, which arrive one customer at a time, take the write lock.
+ */
+@Component
+public class CustomerSearchIndex {
+
+    static final int FUZZY_MIN_LENGTH = 4;
+    static final int MAX_QUERY_TOKENS = 5;
+    static final int MAX_FUZZY_CANDIDATES = 2_000;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    // precedes each of a customer's terms in its entry; never part of a term
+    private static final char TERM_SEPARATOR = '\0';
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> dictionary = new TreeMap<>();
+    private final Map<String, Integer> slotsByMobileNumber = new HashMap<>();
+    // slots are never reused, so postings filled in slot order stay sorted by appending
+    private Entry[] entries = new Entry[1024];
+    private int nextSlot;
+
+    /**
+     * Adds the customer, or replaces what is indexed for its mobile number.
+     */
+    public void put(String name, String email, String mobileNumber) {
+        Set<String> terms = terms(name, email, mobileNumber);
+        StringBuilder text = new StringBuilder();
+        for (String term : terms) {
+            text.append(TERM_SEPARATOR).append(term);
+        }
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByMobileNumber.get(mobileNumber);
+            if (slot != null) {
+                unlink(slot);
+            } else {
+                slot = nextSlot++;
+                if (slot == entries.length) {
+                    entries = Arrays.copyOf(entries, entries.length * 2);
+                }
+                slotsByMobileNumber.put(mobileNumber, slot);
+            }
+            for (String term : terms) {
+                dictionary.computeIfAbsent(term, key -> new Postings()).add(slot);
+            }
+            entries[slot] = new Entry(new CustomerSearchHit(name, email, mobileNumber), text.toString());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String mobileNumber) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByMobileNumber.remove(mobileNumber);
+            if (slot != null) {
+                unlink(slot);
+                entries[slot] = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<CustomerSearchHit> search(String query, int limit) {
+        List<String> tokens = tokens(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Search search = new Search(tokens, limit);
+            search.run();
+            List<CustomerSearchHit> hits = new ArrayList<>(search.found.size());
+            for (int slot : search.found) {
+                hits.add(entries[slot].hit());
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsByMobileNumber.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return dictionary.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private NavigableMap<String, Postings> withPrefix(String prefix) {
+        return dictionary.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Whether some term of an entry's text starts with the token, or with {@code fuzzy} set starts within one typo
+     * of it.
+     */
+    private static boolean matchesAny(String text, String token, boolean fuzzy) {
+        int from = 1;
+        while (from < text.length()) {
+            int to = text.indexOf(TERM_SEPARATOR, from);
+            to = to < 0 ? text.length() : to;
+            if (matches(text, from, to, token, fuzzy)) {
+                return true;
+            }
+            from = to + 1;
+        }
+        return false;
+    }
+
+    private static boolean matches(String text, int from, int to, String token, boolean fuzzy) {
+        if (to - from >= token.length() && text.regionMatches(from, token, 0, token.length())) {
+            return true;
+        }
+        return fuzzy && token.length() >= FUZZY_MIN_LENGTH && startsWithinOneEdit(text, from, to, token);
+    }
+
+    /**
+     * Whether some prefix of the term {@code text[from, to)} is one insertion, deletion, substitution or adjacent
+     * transposition away from {@code token}, with the first character left alone.
+     */
+    private static boolean startsWithinOneEdit(String text, int from, int to, String token) {
+        int length = to - from;
+        int i = 0;
+        int common = Math.min(length, token.length());
+        while (i < common && text.charAt(from + i) == token.charAt(i)) {
+            i++;
+        }
+        if (i == token.length()) {
+            return true;
+        }
+        if (i == 0) {
+            return false;
+        }
+        return startsWith(text, from + i + 1, to, token, i + 1)
+                || startsWith(text, from + i, to, token, i + 1)
+                || startsWith(text, from + i + 1, to, token, i)
+                || (i + 1 < token.length() && i + 1 < length
+                && text.charAt(from + i) == token.charAt(i + 1) && text.charAt(from + i + 1) == token.charAt(i)
+                && startsWith(text, from + i + 2, to, token, i + 2));
+    }
+
+    private static boolean startsWith(String text, int offset, int to, String token, int tokenOffset) {
+        int length = token.length() - tokenOffset;
+        return length <= 0 || (offset + length <= to && text.regionMatches(offset, token, tokenOffset, length));
+    }
+
+    private void unlink(int slot) {
+        String text = entries[slot].text();
+        int from = 1;
+        while (from < text.length()) {
+            int to = text.indexOf(TERM_SEPARATOR, from);
+            to = to < 0 ? text.length() : to;
+            String term = text.substring(from, to);
+            Postings postings = dictionary.get(term);
+            postings.remove(slot);
+            if (postings.size == 0) {
+                dictionary.remove(term);
+            }
+            from = to + 1;
+        }
+    }
+
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalize(text)) {
+            if (!tokens.contains(token) && tokens.size() < MAX_QUERY_TOKENS) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> terms(String name, String email, String mobileNumber) {
+        Set<String> terms = new LinkedHashSet<>();
+        terms.addAll(Arrays.asList(normalize(name)));
+        terms.addAll(Arrays.asList(normalize(email)));
+        terms.addAll(Arrays.asList(normalize(mobileNumber)));
+        return terms;
+    }
+
+    private static String[] normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        // most names and emails are plain ASCII, which has no accents to strip
+        String plain = text.chars().allMatch(c -> c < 0x80)
+                ? text : COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(SEPARATORS.split(plain.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * One query's walk over the dictionary, driven by its longest token. Fuzzy passes give up after checking
+     * {@value #MAX_FUZZY_CANDIDATES} customers: a prefix one typo away matches a large share of the dictionary, and
+     * typeahead would rather answer now than list every near miss.
+     */
+    private final class Search {
+
+        private final List<String> tokens;
+        private final String driver;
+        private final int limit;
+        private final Set<Integer> found = new LinkedHashSet<>();
+        // customers already checked in the current pass, reached again through another of their terms
+        private final Set<Integer> checked = new HashSet<>();
+        private int fuzzyCandidates;
+
+        Search(List<String> tokens, int limit) {
+            this.tokens = tokens;
+            this.limit = limit;
+            String longest = tokens.get(0);
+            for (String token : tokens) {
+                if (token.length() > longest.length()) {
+                    longest = token;
+                }
+            }
+            this.driver = longest;
+        }
+
+        void run() {
+            collect(withPrefix(driver), false);
+            if (!done(false) && tokens.stream().anyMatch(token -> token.length() >= FUZZY_MIN_LENGTH)) {
+                checked.clear();
+                checked.addAll(found);
+                // the exact pass may have passed over customers because another token has the typo
+                collect(withPrefix(driver), true);
+                if (driver.length() >= FUZZY_MIN_LENGTH) {
+                    collectWithinOneEdit();
+                }
+            }
+        }
+
+        /**
+         * Adds customers under the given dictionary range whose terms match every token. With {@code fuzzy} set, the
+         * range's terms need only match the driving token within one typo.
+         */
+        private void collect(NavigableMap<String, Postings> range, boolean fuzzy) {
+            for (Map.Entry<String, Postings> term : range.entrySet()) {
+                if (done(fuzzy)) {
+                    return;
+                }
+                String key = term.getKey();
+                if (fuzzy && !matches(key, 0, key.length(), driver, true)) {
+                    continue;
+                }
+                Postings postings = term.getValue();
+                for (int i = 0; i < postings.size && !done(fuzzy); i++) {
+                    int slot = postings.slots[i];
+                    if (!checked.add(slot)) {
+                        continue;
+                    }
+                    if (matchesAll(entries[slot].text(), fuzzy)) {
+                        found.add(slot);
+                    }
+                    if (fuzzy) {
+                        fuzzyCandidates++;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds customers with a term starting within one typo of the driving token. Instead of checking every term
+         * that shares its first character, visits only the dictionary ranges such a term can lie in: the token with
+         * the character at each position dropped, swapped with the next, or replaced or preceded by each character
+         * that actually follows that position in the dictionary.
+         */
+        private void collectWithinOneEdit() {
+            for (int at = 1; at < driver.length() && !done(true); at++) {
+                String head = driver.substring(0, at);
+                String rest = driver.substring(at);
+                String tail = driver.substring(at + 1);
+                collect(withPrefix(head + tail), true);
+                if (at + 1 < driver.length()) {
+                    collect(withPrefix(head + driver.charAt(at + 1) + driver.charAt(at) + driver.substring(at + 2)),
+                            true);
+                }
+                String next = dictionary.higherKey(head);
+                while (next != null && next.startsWith(head) && !done(true)) {
+                    char c = next.charAt(at);
+                    collect(withPrefix(head + c + tail), true);
+                    collect(withPrefix(head + c + rest), true);
+                    // skip the rest of the terms continuing with c
+                    next = c == Character.MAX_VALUE ? null : dictionary.ceilingKey(head + (char) (c + 1));
+                }
+            }
+        }
+
+        private boolean matchesAll(String text, boolean fuzzy) {
+            for (String token : tokens) {
+                if (!matchesAny(text, token, fuzzy)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean done(boolean fuzzy) {
+            return found.size() >= limit || (fuzzy && fuzzyCandidates >= MAX_FUZZY_CANDIDATES);
+        }
+    }
+
+    /**
+     * @param text the customer's terms, each preceded by {@link #TERM_SEPARATOR}; one string rather than an array of
+     *             them, so checking a customer against a query reads two objects instead of one per term
+     */
+    private record Entry(CustomerSearchHit hit, String text) {
+    }
+
+    /**
+     * Sorted customer slots of one term, in a growable array.
+     */
+    private static final class Postings {
+
+        private int[] slots = new int[2];
+        private int size;
+
+        void add(int slot) {
+            int at = size > 0 && slots[size - 1] < slot ? size : Arrays.binarySearch(slots, 0, size, slot);
+            if (at >= 0 && at < size) {
+                return;
+            }
+            at = at < 0 ? -at - 1 : at;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size + (size >> 1) + 1);
+            }
+            System.arraycopy(slots, at, slots, at + 1, size - at);
+            slots[at] = slot;
+            size++;
+        }
+
+        void remove(int slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            if (at >= 0) {
+                System.arraycopy(slots, at + 1, slots, at, size - at - 1);
+                size--;
+            }
+        }
+    }
+}
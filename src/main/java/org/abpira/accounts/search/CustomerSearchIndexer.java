@@ -0,0 +1,158 @@
+package org.abpira.accounts.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.entities.OutboxEvent;
+import org.abpira.accounts.events.AccountsChangedEvent;
+import org.abpira.accounts.repository.CustomerRepository;
+import org.abpira.accounts.repository.OutboxEventRepository;
+import org.abpira.accounts.repository.projection.CustomerSummary;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the {@link CustomerSearchIndex} in step with the customer table. The index is loaded once the application
+ * is ready; from then on the mobile numbers of changed customers are queued, from this instance's committed changes
+ * and from the published outbox for every other instance's, and re-read from the primary on each refresh. A
+ * customer that is no longer found is dropped from the index.
+ */
+@Slf4j
+@Component
+public class CustomerSearchIndexer {
+
+    static final String SIZE_GAUGE = "accounts.search.index.customers";
+    static final String TERMS_GAUGE = "accounts.search.index.terms";
+
+    private final CustomerSearchIndex index;
+    private final CustomerRepository customerRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountsProperties.SearchIndex searchIndex;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean built;
+    private long outboxCursor;
+
+    public CustomerSearchIndexer(CustomerSearchIndex index,
+                                 CustomerRepository customerRepository,
+                                 OutboxEventRepository outboxEventRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 AccountsProperties accountsProperties,
+                                 MeterRegistry meterRegistry) {
+        this.index = index;
+        this.customerRepository = customerRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        // read-write, so both the load and the refreshes read the primary rather than a lagging replica
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.searchIndex = accountsProperties.getSearchIndex();
+        Gauge.builder(SIZE_GAUGE, index, CustomerSearchIndex::size)
+                .description("Customers held by the search index")
+                .register(meterRegistry);
+        Gauge.builder(TERMS_GAUGE, index, CustomerSearchIndex::termCount)
+                .description("Distinct terms held by the search index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        // taken first: anything published while the table is read is replayed by the next refresh
+        outboxCursor = transactionTemplate.execute(status -> outboxEventRepository.findLastSequenceNumber());
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<CustomerSummary> customers = customerRepository.streamSummaries()) {
+                customers.forEach(customer ->
+                        index.put(customer.name(), customer.email(), customer.mobileNumber()));
+            }
+        });
+        built = true;
+        log.info("Customer search index built with {} customers in {} ms", index.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountsChanged(AccountsChangedEvent event) {
+        event.affectedMobileNumbers().forEach(pending::add);
+    }
+
+    @Scheduled(fixedDelayString = "${accounts.search-index.refresh-interval:500ms}")
+    public void refreshScheduled() {
+        if (!built) {
+            return;
+        }
+        try {
+            tailOutbox();
+            refresh();
+        } catch (RuntimeException ex) {
+            log.warn("Customer search index refresh failed, retrying on the next run: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Re-reads every queued customer and applies it to the index.
+     *
+     * @return the number of customers re-read
+     */
+    public synchronized int refresh() {
+        int refreshed = 0;
+        List<String> batch;
+        while (!(batch = drain()).isEmpty()) {
+            try {
+                List<String> mobileNumbers = batch;
+                List<CustomerSummary> customers = transactionTemplate.execute(status ->
+                        customerRepository.findSummariesByMobileNumbers(mobileNumbers));
+                Set<String> gone = new HashSet<>(batch);
+                for (CustomerSummary customer : customers) {
+                    index.put(customer.name(), customer.email(), customer.mobileNumber());
+                    gone.remove(customer.mobileNumber());
+                }
+                gone.forEach(index::remove);
+                refreshed += batch.size();
+            } catch (RuntimeException ex) {
+                pending.addAll(batch);
+                throw ex;
+            }
+        }
+        return refreshed;
+    }
+
+    private synchronized void tailOutbox() {
+        List<OutboxEvent> events;
+        do {
+            events = transactionTemplate.execute(status -> outboxEventRepository.findPublishedAfter(outboxCursor,
+                    PageRequest.ofSize(searchIndex.getRefreshBatchSize())));
+            for (OutboxEvent event : events) {
+                pending.add(event.getMobileNumber());
+                if (event.getPreviousMobileNumber() != null) {
+                    pending.add(event.getPreviousMobileNumber());
+                }
+                outboxCursor = event.getSequenceNumber();
+            }
+        } while (events.size() == searchIndex.getRefreshBatchSize());
+    }
+
+    private List<String> drain() {
+        List<String> batch = new ArrayList<>();
+        Iterator<String> iterator = pending.iterator();
+        while (iterator.hasNext() && batch.size() < searchIndex.getRefreshBatchSize()) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,14 @@
+package org.abpira.accounts.service;
+
+import org.abpira.accounts.dto.AccountChangeDTO;
+import reactor.core.publisher.Flux;
+
+public interface AccountChangesService {
+
+    /**
+     * Streams published account changes with a sequence number greater than {@code after}, in order. With
+     * {@code follow} set the stream stays open for a bounded time and emits new changes as they are published;
+     * otherwise it completes once the consumer has caught up.
+     */
+    Flux<AccountChangeDTO> changesAfter(long after, boolean follow);
+}
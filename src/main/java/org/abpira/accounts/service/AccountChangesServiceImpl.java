@@ -0,0 +1,55 @@
+package org.abpira.accounts.service;
+
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.dto.AccountChangeDTO;
+import org.abpira.accounts.repository.reactive.ReactiveOutboxStore;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class AccountChangesServiceImpl implements AccountChangesService {
+
+    private final ReactiveOutboxStore reactiveOutboxStore;
+    private final int pageSize;
+    private final Duration pollInterval;
+    private final Duration maxDuration;
+
+    public AccountChangesServiceImpl(ReactiveOutboxStore reactiveOutboxStore, AccountsProperties accountsProperties) {
+        this.reactiveOutboxStore = reactiveOutboxStore;
+        this.pageSize = accountsProperties.getOutbox().getStream().getPageSize();
+        this.pollInterval = accountsProperties.getOutbox().getStream().getPollInterval();
+        this.maxDuration = accountsProperties.getOutbox().getStream().getMaxDuration();
+    }
+
+    /**
+     * Reads page after page while pages come back full. Once a short page shows the consumer has caught up, a
+     * following stream waits one poll interval per query instead of spinning on the database, and completes after
+     * {@code maxDuration}.
+     */
+    @Override
+    public Flux<AccountChangeDTO> changesAfter(long after, boolean follow) {
+        AtomicLong cursor = new AtomicLong(after);
+        Mono<List<AccountChangeDTO>> nextPage = Mono.defer(() -> reactiveOutboxStore
+                        .findPublishedAfter(cursor.get(), pageSize)
+                        .collectList())
+                .doOnNext(page -> {
+                    if (!page.isEmpty()) {
+                        cursor.set(page.get(page.size() - 1).getSequenceNumber());
+                    }
+                });
+        Flux<AccountChangeDTO> changes = nextPage
+                .expand(page -> {
+                    if (page.size() == pageSize) {
+                        return nextPage;
+                    }
+                    return follow ? Mono.delay(pollInterval).then(nextPage) : Mono.empty();
+                })
+                .concatMapIterable(page -> page);
+        return follow ? changes.take(maxDuration) : changes;
+    }
+}
@@ -0,0 +1,23 @@
+package org.abpira.accounts.service;
+
+import org.abpira.accounts.export.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface AccountExportService {
+
+    /**
+     * Streams every live customer with their accounts, in customer id and account number order, to {@code out}.
+     *
+     * @param after              resume at this customer id; {@code 0} exports from the beginning
+     * @param afterAccountNumber resume after this account of customer {@code after}; {@link Long#MAX_VALUE}
+     *                           resumes after that customer's last account
+     * @param createdFrom        inclusive lower bound on the customer's creation time, or {@code null}
+     * @param createdTo          exclusive upper bound on the customer's creation time, or {@code null}
+     * @return the number of rows written
+     */
+    long exportAccounts(ExportFormat format, long after, long afterAccountNumber, LocalDateTime createdFrom,
+                        LocalDateTime createdTo, OutputStream out) throws IOException;
+}
@@ -0,0 +1,54 @@
+package org.abpira.accounts.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.abpira.accounts.constants.AccountsConstants;
+import org.abpira.accounts.datasource.ReadOnlyTransactional;
+import org.abpira.accounts.export.AccountExportWriter;
+import org.abpira.accounts.export.CsvAccountExportWriter;
+import org.abpira.accounts.export.ExportFormat;
+import org.abpira.accounts.export.NdjsonAccountExportWriter;
+import org.abpira.accounts.repository.CustomerRepository;
+import org.abpira.accounts.repository.projection.AccountExportRow;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class AccountExportServiceImpl implements AccountExportService {
+
+    private final CustomerRepository customerRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Rows go from the cursor to the writer one at a time, so memory stays flat whatever the export size. The
+     * read-only transaction, and with it the cursor, stays open until the last row is written.
+     */
+    @Override
+    @Timed(value = AccountsConstants.SERVICE_TIMER, extraTags = {"operation", "export"})
+    @ReadOnlyTransactional
+    public long exportAccounts(ExportFormat format, long after, long afterAccountNumber, LocalDateTime createdFrom,
+                               LocalDateTime createdTo, OutputStream out) throws IOException {
+        AccountExportWriter writer = switch (format) {
+            case NDJSON -> new NdjsonAccountExportWriter(out, objectMapper);
+            case CSV -> new CsvAccountExportWriter(out);
+        };
+        long rows = 0;
+        try (Stream<AccountExportRow> stream = customerRepository.streamForExport(after, afterAccountNumber,
+                createdFrom, createdTo)) {
+            Iterator<AccountExportRow> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                rows++;
+            }
+        }
+        writer.finish();
+        return rows;
+    }
+}
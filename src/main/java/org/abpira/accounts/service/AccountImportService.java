@@ -0,0 +1,27 @@
+package org.abpira.accounts.service;
+
+import org.abpira.accounts.dto.ImportJobDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface AccountImportService {
+
+    /**
+     * Starts importing {@code file}, relative to the import directory, in the background. An unfinished job for the
+     * same file is resumed instead of starting over; if it is already running here, it is returned as is.
+     */
+    ImportJobDTO startImport(String file) throws IOException;
+
+    /**
+     * Progress of the job; {@code rowsPerSecond} covers the current or last run.
+     */
+    ImportJobDTO fetchImport(long jobId);
+
+    /**
+     * Writes the job's rejected records as CSV, in file order.
+     *
+     * @return the number of rejections written
+     */
+    long exportRejections(long jobId, OutputStream out) throws IOException;
+}
@@ -0,0 +1,150 @@
+package org.abpira.accounts.service;
+
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.datasource.ReadOnlyTransactional;
+import org.abpira.accounts.dto.ImportJobDTO;
+import org.abpira.accounts.entities.ImportJob;
+import org.abpira.accounts.exceptions.InvalidImportFileException;
+import org.abpira.accounts.exceptions.ResourceNotFoundException;
+import org.abpira.accounts.export.CsvFields;
+import org.abpira.accounts.importer.ImportFile;
+import org.abpira.accounts.importer.ImportJobRunner;
+import org.abpira.accounts.importer.ImportJobStatus;
+import org.abpira.accounts.repository.ImportBatchRepository;
+import org.abpira.accounts.repository.ImportJobRepository;
+import org.abpira.accounts.repository.ImportRejectionRepository;
+import org.abpira.accounts.repository.projection.ImportRejectionRow;
+import org.abpira.accounts.repository.projection.ImportTotals;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class AccountImportServiceImpl implements AccountImportService {
+
+    static final String REJECTIONS_HEADER = "recordNumber,mobileNumber,reason\r\n";
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportBatchRepository importBatchRepository;
+    private final ImportRejectionRepository importRejectionRepository;
+    private final ImportJobRunner importJobRunner;
+    private final AccountsProperties.FileImport fileImport;
+
+    public AccountImportServiceImpl(ImportJobRepository importJobRepository,
+                                    ImportBatchRepository importBatchRepository,
+                                    ImportRejectionRepository importRejectionRepository,
+                                    ImportJobRunner importJobRunner,
+                                    AccountsProperties accountsProperties) {
+        this.importJobRepository = importJobRepository;
+        this.importBatchRepository = importBatchRepository;
+        this.importRejectionRepository = importRejectionRepository;
+        this.importJobRunner = importJobRunner;
+        this.fileImport = accountsProperties.getFileImport();
+    }
+
+    /**
+     * Synchronized so two requests for the same file cannot both resume its job on this instance. The header is
+     * checked before the job is recorded, so a malformed file is rejected with the request.
+     */
+    @Override
+    public synchronized ImportJobDTO startImport(String file) throws IOException {
+        Path path = resolve(file);
+        ImportJob job = importJobRepository.findFirstByFilePathAndStatusNotOrderByIdDesc(path.toString(),
+                ImportJobStatus.COMPLETED).orElse(null);
+        if (job != null && importJobRunner.isRunning(job.getId())) {
+            return toDTO(job);
+        }
+        ImportFile importFile = ImportFile.open(path);
+        try {
+            if (job == null) {
+                job = ImportJob.builder()
+                        .filePath(path.toString())
+                        .batchSize(fileImport.getBatchSize())
+                        .build();
+            }
+            job.setStatus(ImportJobStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            job.setFinishedAt(null);
+            job.setFailureMessage(null);
+            job = importJobRepository.save(job);
+            importJobRunner.submit(job, importFile);
+        } catch (RuntimeException ex) {
+            importFile.close();
+            throw ex;
+        }
+        return toDTO(job);
+    }
+
+    @Override
+    public ImportJobDTO fetchImport(long jobId) {
+        return toDTO(findJob(jobId));
+    }
+
+    @Override
+    @ReadOnlyTransactional
+    public long exportRejections(long jobId, OutputStream out) throws IOException {
+        findJob(jobId);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(REJECTIONS_HEADER);
+        long rows = 0;
+        try (Stream<ImportRejectionRow> stream = importRejectionRepository.streamByJobId(jobId)) {
+            Iterator<ImportRejectionRow> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                ImportRejectionRow row = iterator.next();
+                CsvFields.write(writer, row.recordNumber());
+                writer.write(',');
+                CsvFields.write(writer, row.mobileNumber());
+                writer.write(',');
+                CsvFields.write(writer, row.reason());
+                writer.write("\r\n");
+                rows++;
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private Path resolve(String file) {
+        Path directory = Path.of(fileImport.getDirectory()).toAbsolutePath().normalize();
+        Path path = directory.resolve(file).normalize();
+        if (!path.startsWith(directory)) {
+            throw new InvalidImportFileException("Import files must be inside the import directory");
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new ResourceNotFoundException("Import file", "file", file);
+        }
+        return path;
+    }
+
+    private ImportJob findJob(long jobId) {
+        return importJobRepository.findById(jobId).orElseThrow(
+                () -> new ResourceNotFoundException("Import", "id", String.valueOf(jobId)));
+    }
+
+    private ImportJobDTO toDTO(ImportJob job) {
+        ImportTotals totals = importBatchRepository.findTotals(job.getId(), job.getStartedAt());
+        LocalDateTime until = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+        return ImportJobDTO.builder()
+                .id(job.getId())
+                .file(job.getFilePath())
+                .status(job.getStatus())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .committedBatches(totals.batches())
+                .importedRows(totals.imported())
+                .rejectedRows(totals.rejected())
+                .rowsPerSecond(ImportJobRunner.rowsPerSecond(totals.rowsSince(), job.getStartedAt(), until))
+                .failureMessage(job.getFailureMessage())
+                .build();
+    }
+}
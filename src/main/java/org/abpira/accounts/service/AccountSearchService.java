@@ -0,0 +1,23 @@
+package org.abpira.accounts.service;
+
+import org.abpira.accounts.dto.AccountSearchResultDTO;
+
+import java.time.LocalDateTime;
+
+public interface AccountSearchService {
+
+    /**
+     * One page of live customers' accounts matching every filter given, in creation time and account number order.
+     *
+     * @param accountType        exact account type, or {@code null}
+     * @param branchAddress      exact branch address, or {@code null}
+     * @param createdFrom        inclusive lower bound on the account's creation time, or {@code null}
+     * @param createdTo          exclusive upper bound on the account's creation time, or {@code null}
+     * @param afterCreatedAt     creation time of the last account of the previous page, or {@code null} for the
+     *                           first page
+     * @param afterAccountNumber account number of the last account of the previous page
+     */
+    AccountSearchResultDTO searchAccounts(String accountType, String branchAddress, LocalDateTime createdFrom,
+                                          LocalDateTime createdTo, LocalDateTime afterCreatedAt,
+                                          long afterAccountNumber, int limit);
+}
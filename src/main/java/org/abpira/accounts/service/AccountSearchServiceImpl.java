@@ -0,0 +1,40 @@
+package org.abpira.accounts.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.abpira.accounts.constants.AccountsConstants;
+import org.abpira.accounts.datasource.ReadOnlyTransactional;
+import org.abpira.accounts.dto.AccountSearchResultDTO;
+import org.abpira.accounts.repository.AccountsRepository;
+import org.abpira.accounts.repository.projection.AccountSearchRow;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class AccountSearchServiceImpl implements AccountSearchService {
+
+    private final AccountsRepository accountsRepository;
+
+    @Override
+    @Timed(value = AccountsConstants.SERVICE_TIMER, extraTags = {"operation", "search"},
+            percentiles = {0.5, 0.95, 0.99}, histogram = true)
+    @ReadOnlyTransactional
+    public AccountSearchResultDTO searchAccounts(String accountType, String branchAddress, LocalDateTime createdFrom,
+                                                 LocalDateTime createdTo, LocalDateTime afterCreatedAt,
+                                                 long afterAccountNumber, int limit) {
+        // one row beyond the page tells whether another page follows, without a count query
+        List<AccountSearchRow> rows = accountsRepository.search(accountType, branchAddress, createdFrom, createdTo,
+                afterCreatedAt, afterAccountNumber, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<AccountSearchRow> page = hasMore ? rows.subList(0, limit) : rows;
+        AccountSearchRow last = hasMore ? page.get(limit - 1) : null;
+        return AccountSearchResultDTO.builder()
+                .accounts(page)
+                .nextAfterCreatedAt(last != null ? last.createdAt() : null)
+                .nextAfterAccountNumber(last != null ? last.accountNumber() : null)
+                .build();
+    }
+}
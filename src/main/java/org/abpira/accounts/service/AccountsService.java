@@ -1,14 +1,48 @@
 package org.abpira.accounts.service;
 
+import org.abpira.accounts.dto.AccountsDTO;
+import org.abpira.accounts.dto.BatchAccountsResponseDTO;
+import org.abpira.accounts.dto.BatchFetchResponseDTO;
+import org.abpira.accounts.dto.CustomerAccountsDTO;
 import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.dto.NewAccountDTO;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface AccountsService {
 
     void createAccount(CustomerDTO customerDTO);
 
+    /**
+     * Opens another account for an existing customer.
+     *
+     * @return the new account, with its generated number
+     */
+    AccountsDTO openAccount(NewAccountDTO newAccountDTO);
+
     CustomerDTO fetchAccountDetails(String mobileNumber);
 
+    BatchFetchResponseDTO fetchAccountDetails(Collection<String> mobileNumbers);
+
+    /**
+     * One page of the customer's accounts in account number order, starting after account number {@code after}.
+     */
+    CustomerAccountsDTO fetchAccounts(String mobileNumber, long after, int limit);
+
+    /**
+     * Every account of each customer, in request order; unknown numbers are listed as not found.
+     */
+    BatchAccountsResponseDTO fetchAccounts(Collection<String> mobileNumbers);
+
     boolean updateAccount(CustomerDTO customerDTO);
 
+    /**
+     * Updates only the non-null fields of {@code customerDTO} that differ from the stored values.
+     *
+     * @return the names of the fields that were modified; empty when nothing changed and nothing was written
+     */
+    List<String> patchAccount(CustomerDTO customerDTO);
+
     boolean deleteAccounts(String mobileNumber);
 }
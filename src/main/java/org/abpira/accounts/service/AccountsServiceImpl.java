@@ -1,98 +1,408 @@
 package org.abpira.accounts.service;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.abpira.accounts.coalescing.SingleFlight;
+import org.abpira.accounts.config.AccountsProperties;
 import org.abpira.accounts.constants.AccountsConstants;
+import org.abpira.accounts.datasource.ReadOnlyTransactional;
 import org.abpira.accounts.dto.AccountsDTO;
+import org.abpira.accounts.dto.BatchAccountsResponseDTO;
+import org.abpira.accounts.dto.BatchFetchResponseDTO;
+import org.abpira.accounts.dto.CustomerAccountsDTO;
 import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.dto.NewAccountDTO;
 import org.abpira.accounts.entities.Accounts;
 import org.abpira.accounts.entities.Customer;
+import org.abpira.accounts.events.AccountsChangedEvent;
+import org.abpira.accounts.events.ChangeType;
 import org.abpira.accounts.exceptions.CustomerAlreadyExistsException;
 import org.abpira.accounts.exceptions.ResourceNotFoundException;
+import org.abpira.accounts.generator.AccountNumberGenerator;
 import org.abpira.accounts.mapper.AccountsMapper;
 import org.abpira.accounts.mapper.CustomerMapper;
+import org.abpira.accounts.membership.MobileNumberFilter;
 import org.abpira.accounts.repository.AccountsRepository;
 import org.abpira.accounts.repository.CustomerRepository;
+import org.abpira.accounts.repository.projection.AccountSummary;
+import org.abpira.accounts.repository.projection.AccountWithCustomer;
+import org.abpira.accounts.repository.projection.CustomerAccountView;
+import org.abpira.accounts.repository.projection.CustomerSummary;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class AccountsServiceImpl implements AccountsService {
 
     private final AccountsRepository accountsRepository;
     private final CustomerRepository customerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountsProperties accountsProperties;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final SingleFlight<String, CustomerDTO> accountDetailsSingleFlight;
+    private final MobileNumberFilter mobileNumberFilter;
 
     @Override
+    @Timed(value = AccountsConstants.SERVICE_TIMER, extraTags = {"operation", "create"},
+            percentiles = {0.5, 0.95, 0.99}, histogram = true)
     @Transactional
     public void createAccount(CustomerDTO customerDTO) {
         Customer customer = CustomerMapper.mapToCustomer(customerDTO, new Customer());
-        customerRepository.findByMobileNumber(customerDTO.getMobileNumber())
-                .ifPresent(c -> {
-                    throw new CustomerAlreadyExistsException("Customer already exists with mobile number " +
-                            c.getMobileNumber());
-                });
-        Customer savedCustomer = customerRepository.save(customer);
-        accountsRepository.save(createNewAccount(savedCustomer));
+        // a number the filter rules out goes straight to the insert; the unique constraint still refuses one
+        // registered elsewhere since the filter was loaded
+        if (mobileNumberFilter.mightContain(customerDTO.getMobileNumber())) {
+            customerRepository.findByMobileNumber(customerDTO.getMobileNumber())
+                    .ifPresent(c -> {
+                        throw new CustomerAlreadyExistsException("Customer already exists with mobile number " +
+                                c.getMobileNumber());
+                    });
+        }
+        Customer savedCustomer;
+        try {
+            // flush so a concurrent create of the same number fails here, on the unique constraint
+            savedCustomer = customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException ex) {
+            throw new CustomerAlreadyExistsException("Customer already exists with mobile number " +
+                    customerDTO.getMobileNumber());
+        }
+        accountsRepository.save(createNewAccount(savedCustomer, accountNumberGenerator.nextAccountNumber()));
+        eventPublisher.publishEvent(new AccountsChangedEvent(ChangeType.CREATED, savedCustomer.getMobileNumber()));
     }
 
-    private Accounts createNewAccount(Customer customer) {
+    static Accounts createNewAccount(Customer customer, long accountNumber) {
         Accounts newAccount = new Accounts();
         newAccount.setCustomerId(customer.getCustomerId());
-        long randomAccountNumber = 1000000000L + (long) (Math.random() * 900000000);
-
-        newAccount.setAccountNumber(randomAccountNumber);
+        newAccount.setAccountNumber(accountNumber);
         newAccount.setAccountType(AccountsConstants.SAVINGS);
         newAccount.setBranchAddress(AccountsConstants.ADDRESS);
+        newAccount.setPrimaryAccount(true);
         return newAccount;
     }
 
+    /**
+     * Publishes an update for the customer, so their cached details are evicted and the change reaches the outbox.
+     */
+    @Override
+    @Timed(value = AccountsConstants.SERVICE_TIMER, extraTags = {"operation", "open-account"},
+            percentiles = {0.5, 0.95, 0.99}, histogram = true)
+    @Transactional
+    public AccountsDTO openAccount(NewAccountDTO newAccountDTO) {
+        String mobileNumber = newAccountDTO.getMobileNumber();
+        Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
+                () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
+        );
+        Accounts account = new Accounts();
+        account.setCustomerId(customer.getCustomerId());
+        account.setAccountNumber(accountNumberGenerator.nextAccountNumber());
+        account.setAccountType(newAccountDTO.getAccountType());
+        account.setBranchAddress(newAccountDTO.getBranchAddress());
+        accountsRepository.save(account);
+        eventPublisher.publishEvent(new AccountsChangedEvent(ChangeType.UPDATED, mobileNumber));
+        return AccountsMapper.mapToAccountsDTO(account, new AccountsDTO());
+    }
+
     @Override
+    @Timed(value = AccountsConstants.SERVICE_TIMER, extraTags = {"operation", "fetch"},
+            percentiles = {0.5, 0.95, 0.99}, histogram = true)
+    @Cacheable(cacheNames = AccountsConstants.ACCOUNT_DETAILS_CACHE, key = "#mobileNumber",
+            unless = "@recentWrites.contains(#mobileNumber)")
+    @ReadOnlyTransactional
     public CustomerDTO fetchAccountDetails(String mobileNumber) {
+        // concurrent cache misses for the same number share one lookup
+        return accountDetailsSingleFlight.execute(mobileNumber, () -> loadAccountDetails(mobileNumber));
+    }
+
+    private CustomerDTO loadAccountDetails(String mobileNumber) {
+        return switch (accountsProperties.getReadPath()) {
+            case JOINED -> fetchJoinedAccountDetails(mobileNumber);
+            case SPLIT -> fetchSplitAccountDetails(mobileNumber);
+            case ENTITY -> fetchEntityAccountDetails(mobileNumber);
+        };
+    }
+
+    private CustomerDTO fetchEntityAccountDetails(String mobileNumber) {
         Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
         );
 
-        Accounts accounts = accountsRepository.findByCustomerId(customer.getCustomerId()).orElseThrow(
-                () -> new ResourceNotFoundException("Accounts", "CustomerId", customer.getCustomerId().toString())
+        Long customerId = customer.getCustomerId();
+        Accounts accounts = accountsRepository.findByCustomerIdAndPrimaryAccountTrue(customerId).orElseThrow(
+                () -> new ResourceNotFoundException("Accounts", "CustomerId", customerId.toString())
         );
         CustomerDTO customerDTO = CustomerMapper.mapToCustomerDTO(customer, new CustomerDTO());
         customerDTO.setAccountsDTO(AccountsMapper.mapToAccountsDTO(accounts, new AccountsDTO()));
         return customerDTO;
     }
 
+    private CustomerDTO fetchJoinedAccountDetails(String mobileNumber) {
+        CustomerAccountView view = customerRepository.findCustomerAccountByMobileNumber(mobileNumber).orElseThrow(
+                () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
+        );
+        if (view.accountNumber() == null) {
+            throw new ResourceNotFoundException("Accounts", "CustomerId", view.customerId().toString());
+        }
+        return toCustomerDTO(view);
+    }
+
+    private CustomerDTO fetchSplitAccountDetails(String mobileNumber) {
+        CustomerSummary customer = customerRepository.findSummaryByMobileNumber(mobileNumber).orElseThrow(
+                () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
+        );
+        Long customerId = customer.customerId();
+        AccountSummary accounts = accountsRepository.findPrimarySummaryByCustomerId(customerId).orElseThrow(
+                () -> new ResourceNotFoundException("Accounts", "CustomerId", customerId.toString())
+        );
+        CustomerDTO customerDTO = CustomerMapper.mapToCustomerDTO(customer, new CustomerDTO());
+        customerDTO.setAccountsDTO(AccountsMapper.mapToAccountsDTO(accounts, new AccountsDTO()));
+        return customerDTO;
+    }
+
+    @Override
+    @Timed(value = AccountsConstants.SERVICE_TIMER, extraTags = {"operation", "fetch-batch"},
+            percentiles = {0.5, 0.95, 0.99}, histogram = true)
+    @ReadOnlyTransactional
+    public BatchFetchResponseDTO fetchAccountDetails(Collection<String> mobileNumbers) {
+        List<String> requested = new ArrayList<>(new LinkedHashSet<>(mobileNumbers));
+        int chunkSize = accountsProperties.getBatchFetch().getChunkSize();
+        Map<String, CustomerDTO> found = new HashMap<>(requested.size());
+        for (int from = 0; from < requested.size(); from += chunkSize) {
+            List<String> chunk = requested.subList(from, Math.min(from + chunkSize, requested.size()));
+            switch (accountsProperties.getReadPath()) {
+                case JOINED -> customerRepository.findCustomerAccountsByMobileNumbers(chunk).stream()
+                        .filter(view -> view.accountNumber() != null)
+                        .forEach(view -> found.put(view.mobileNumber(), toCustomerDTO(view)));
+                case SPLIT -> fetchSplitChunk(chunk, found);
+                case ENTITY -> fetchEntityChunk(chunk, found);
+            }
+        }
+
+        List<CustomerDTO> customers = new ArrayList<>(found.size());
+        List<String> notFound = new ArrayList<>();
+        for (String mobileNumber : requested) {
+            CustomerDTO customerDTO = found.get(mobileNumber);
+            if (customerDTO != null) {
+                customers.add(customerDTO);
+            } else {
+                notFound.add(mobileNumber);
+            }
+        }
+        return BatchFetchResponseDTO.builder()
+                .customers(customers)
+                .notFound(notFound)
+                .build();
+    }
+
+    private void fetchSplitChunk(List<String> mobileNumbers, Map<String, CustomerDTO> found) {
+        List<CustomerSummary> customers = customerRepository.findSummariesByMobileNumbers(mobileNumbers);
+        if (customers.isEmpty()) {
+            return;
+        }
+        Map<Long, AccountSummary> accountsByCustomerId = accountsRepository.findPrimarySummariesByCustomerIds(
+                        customers.stream().map(CustomerSummary::customerId).toList()).stream()
+                .collect(Collectors.toMap(AccountSummary::customerId, Function.identity()));
+        for (CustomerSummary customer : customers) {
+            AccountSummary accounts = accountsByCustomerId.get(customer.customerId());
+            if (accounts != null) {
+                CustomerDTO customerDTO = CustomerMapper.mapToCustomerDTO(customer, new CustomerDTO());
+                customerDTO.setAccountsDTO(AccountsMapper.mapToAccountsDTO(accounts, new AccountsDTO()));
+                found.put(customer.mobileNumber(), customerDTO);
+            }
+        }
+    }
+
+    private void fetchEntityChunk(List<String> mobileNumbers, Map<String, CustomerDTO> found) {
+        List<Customer> customers = customerRepository.findByMobileNumberIn(mobileNumbers);
+        if (customers.isEmpty()) {
+            return;
+        }
+        Map<Long, Accounts> accountsByCustomerId = accountsRepository.findPrimaryByCustomerIdIn(
+                        customers.stream().map(Customer::getCustomerId).toList()).stream()
+                .collect(Collectors.toMap(Accounts::getCustomerId, Function.identity()));
+        for (Customer customer : customers) {
+            Accounts accounts = accountsByCustomerId.get(customer.getCustomerId());
+            if (accounts != null) {
+                CustomerDTO customerDTO = CustomerMapper.mapToCustomerDTO(customer, new CustomerDTO());
+                customerDTO.setAccountsDTO(AccountsMapper.mapToAccountsDTO(accounts, new AccountsDTO()));
+                found.put(customer.getMobileNumber(), customerDTO);
+            }
+        }
+    }
+
+    @Override
+    @Timed(value = AccountsConstants.SERVICE_TIMER, extraTags = {"operation", "list-accounts"},
+            percentiles = {0.5, 0.95, 0.99}, histogram = true)
+    @ReadOnlyTransactional
+    public CustomerAccountsDTO fetchAccounts(String mobileNumber, long after, int limit) {
+        CustomerSummary customer = customerRepository.findSummaryByMobileNumber(mobileNumber).orElseThrow(
+                () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
+        );
+        // one row beyond the page tells whether another page follows, without a count query
+        List<AccountSummary> accounts = accountsRepository.findPageByCustomerId(customer.customerId(), after,
+                PageRequest.ofSize(limit + 1));
+        boolean hasMore = accounts.size() > limit;
+        List<AccountSummary> page = hasMore ? accounts.subList(0, limit) : accounts;
+        CustomerAccountsDTO customerAccountsDTO = toCustomerAccountsDTO(customer, page);
+        customerAccountsDTO.setNextAfter(hasMore ? page.get(limit - 1).accountNumber() : null);
+        return customerAccountsDTO;
+    }
+
+    /**
+     * Two queries for the whole batch, one for the customers and one for all of their accounts, however many
+     * customers are asked for. Customers without accounts are returned with an empty list.
+     */
+    @Override
+    @Timed(value = AccountsConstants.SERVICE_TIMER, extraTags = {"operation", "list-accounts-batch"},
+            percentiles = {0.5, 0.95, 0.99}, histogram = true)
+    @ReadOnlyTransactional
+    public BatchAccountsResponseDTO fetchAccounts(Collection<String> mobileNumbers) {
+        List<String> requested = new ArrayList<>(new LinkedHashSet<>(mobileNumbers));
+        List<CustomerSummary> customers = customerRepository.findSummariesByMobileNumbers(requested);
+        List<Long> customerIds = customers.stream().map(CustomerSummary::customerId).toList();
+        Map<Long, List<AccountSummary>> accountsByCustomerId = customerIds.isEmpty() ? Map.of()
+                : accountsRepository.findSummariesByCustomerIds(customerIds).stream()
+                        .collect(Collectors.groupingBy(AccountSummary::customerId));
+        Map<String, CustomerAccountsDTO> found = new HashMap<>(customers.size());
+        for (CustomerSummary customer : customers) {
+            found.put(customer.mobileNumber(), toCustomerAccountsDTO(customer,
+                    accountsByCustomerId.getOrDefault(customer.customerId(), List.of())));
+        }
+
+        List<CustomerAccountsDTO> listed = new ArrayList<>(found.size());
+        List<String> notFound = new ArrayList<>();
+        for (String mobileNumber : requested) {
+            CustomerAccountsDTO customerAccountsDTO = found.get(mobileNumber);
+            if (customerAccountsDTO != null) {
+                listed.add(customerAccountsDTO);
+            } else {
+                notFound.add(mobileNumber);
+            }
+        }
+        return BatchAccountsResponseDTO.builder()
+                .customers(listed)
+                .notFound(notFound)
+                .build();
+    }
+
+    private static CustomerAccountsDTO toCustomerAccountsDTO(CustomerSummary customer, List<AccountSummary> accounts) {
+        List<AccountsDTO> accountsDTOs = new ArrayList<>(accounts.size());
+        for (AccountSummary account : accounts) {
+            accountsDTOs.add(AccountsMapper.mapToAccountsDTO(account, new AccountsDTO()));
+        }
+        return CustomerAccountsDTO.builder()
+                .name(customer.name())
+                .email(customer.email())
+                .mobileNumber(customer.mobileNumber())
+                .accounts(accountsDTOs)
+                .build();
+    }
+
+    private static CustomerDTO toCustomerDTO(CustomerAccountView view) {
+        CustomerDTO customerDTO = CustomerMapper.mapToCustomerDTO(view, new CustomerDTO());
+        customerDTO.setAccountsDTO(AccountsMapper.mapToAccountsDTO(view, new AccountsDTO()));
+        return customerDTO;
+    }
+
     @Override
+    @Timed(value = AccountsConstants.SERVICE_TIMER, extraTags = {"operation", "update"},
+            percentiles = {0.5, 0.95, 0.99}, histogram = true)
     @Transactional
     public boolean updateAccount(CustomerDTO customerDTO) {
         boolean isUpdated = false;
         AccountsDTO accountsDTO = customerDTO.getAccountsDTO();
         if (accountsDTO != null) {
-            Accounts accounts = accountsRepository.findById(accountsDTO.getAccountNumber()).orElseThrow(
-                    () -> new ResourceNotFoundException("Accounts",
-                            "AccountNumber",
-                            accountsDTO.getAccountNumber().toString())
-            );
-            AccountsMapper.mapToAccounts(accountsDTO, accounts);
-            accounts = accountsRepository.save(accounts);
-
-            Long customerId = accounts.getCustomerId();
-            Customer customer = customerRepository.findById(customerId).orElseThrow(
-                    () -> new ResourceNotFoundException("Customer", "CustomerID", customerId.toString())
-            );
-            CustomerMapper.mapToCustomer(customerDTO, customer);
-            customerRepository.save(customer);
+            applyUpdate(customerDTO, false);
             isUpdated = true;
-
         }
         return isUpdated;
     }
 
     @Override
-    public boolean deleteAccounts(String mobileNumber) {
-        Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
-                () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
+    @Timed(value = AccountsConstants.SERVICE_TIMER, extraTags = {"operation", "patch"},
+            percentiles = {0.5, 0.95, 0.99}, histogram = true)
+    @Transactional
+    public List<String> patchAccount(CustomerDTO customerDTO) {
+        return applyUpdate(customerDTO, true);
+    }
+
+    /**
+     * Loads the account and its customer in one query and copies over only the fields that differ. The entities
+     * stay managed, so with {@code @DynamicUpdate} each table gets at most one UPDATE naming just the changed
+     * columns, and none at all when nothing changed. Both UPDATEs carry the version check, and the version the
+     * client read is compared first, so an update based on a stale read fails even when no one else is writing.
+     */
+    private List<String> applyUpdate(CustomerDTO customerDTO, boolean patch) {
+        AccountsDTO accountsDTO = customerDTO.getAccountsDTO();
+        Long accountNumber = accountsDTO.getAccountNumber();
+        AccountWithCustomer current = accountsRepository.findWithCustomerByAccountNumber(accountNumber).orElseThrow(
+                () -> new ResourceNotFoundException("Accounts", "AccountNumber", String.valueOf(accountNumber))
         );
-        accountsRepository.deleteByCustomerId(customer.getCustomerId());
-        customerRepository.deleteById(customer.getCustomerId());
+        Customer customer = current.customer();
+        if (customer == null) {
+            throw new ResourceNotFoundException("Customer", "CustomerID",
+                    current.accounts().getCustomerId().toString());
+        }
+        if (!Objects.equals(customerDTO.getVersion(), customer.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Customer.class, customer.getCustomerId());
+        }
+        String previousMobileNumber = customer.getMobileNumber();
+        List<String> modifiedFields = new ArrayList<>(CustomerMapper.updateCustomer(customerDTO, customer, patch));
+        boolean customerModified = !modifiedFields.isEmpty();
+        modifiedFields.addAll(AccountsMapper.updateAccounts(accountsDTO, current.accounts(), patch));
+        if (modifiedFields.isEmpty()) {
+            return modifiedFields;
+        }
+        if (!customerModified) {
+            // the customer's version covers its accounts too, so an account-only change must still bump it
+            customer.setUpdatedAt(LocalDateTime.now());
+        }
+        try {
+            // flush here so a failed version check or a taken mobile number surfaces from this call, not at commit
+            accountsRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            throw new CustomerAlreadyExistsException("Customer already exists with mobile number " +
+                    customer.getMobileNumber());
+        }
+        eventPublisher.publishEvent(new AccountsChangedEvent(ChangeType.UPDATED,
+                customer.getMobileNumber(),
+                previousMobileNumber));
+        return modifiedFields;
+    }
+
+    @Override
+    @Timed(value = AccountsConstants.SERVICE_TIMER, extraTags = {"operation", "delete"},
+            percentiles = {0.5, 0.95, 0.99}, histogram = true)
+    @Transactional
+    public boolean deleteAccounts(String mobileNumber) {
+        if (accountsProperties.getDelete().getMode() == AccountsProperties.DeleteMode.SOFT) {
+            // one UPDATE on the customer row; the purger removes it and its account later, in batches
+            if (customerRepository.softDeleteByMobileNumber(mobileNumber, LocalDateTime.now()) == 0) {
+                throw new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber);
+            }
+        } else {
+            Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
+                    () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
+            );
+            accountsRepository.deleteByCustomerId(customer.getCustomerId());
+            customerRepository.deleteById(customer.getCustomerId());
+        }
+        eventPublisher.publishEvent(new AccountsChangedEvent(ChangeType.DELETED, mobileNumber));
         return true;
     }
 }
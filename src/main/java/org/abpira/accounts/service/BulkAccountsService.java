@@ -0,0 +1,11 @@
+package org.abpira.accounts.service;
+
+import org.abpira.accounts.dto.BulkCreateResponseDTO;
+import org.abpira.accounts.dto.CustomerDTO;
+
+import java.util.List;
+
+public interface BulkAccountsService {
+
+    BulkCreateResponseDTO createAccounts(List<CustomerDTO> customerDTOs);
+}
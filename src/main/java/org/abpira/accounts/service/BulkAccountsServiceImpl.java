@@ -0,0 +1,216 @@
+package org.abpira.accounts.service;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.constants.AccountsConstants;
+import org.abpira.accounts.dto.BulkCreateItemDTO;
+import org.abpira.accounts.dto.BulkCreateResponseDTO;
+import org.abpira.accounts.dto.BulkCreateStatus;
+import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.entities.Accounts;
+import org.abpira.accounts.entities.Customer;
+import org.abpira.accounts.events.AccountsChangedEvent;
+import org.abpira.accounts.events.ChangeType;
+import org.abpira.accounts.exceptions.BulkRequestTooLargeException;
+import org.abpira.accounts.generator.AccountNumberGenerator;
+import org.abpira.accounts.mapper.CustomerMapper;
+import org.abpira.accounts.repository.CustomerRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates customers and their accounts in chunks. Existing mobile numbers are found with one {@code IN} query
+ * per lookup chunk, and every chunk is persisted in its own transaction so Hibernate can send the inserts as
+ * JDBC batches. If a chunk fails, its items are retried one at a time so a single bad row cannot reject the
+ * rest of the chunk.
+ */
+@Slf4j
+@Service
+public class BulkAccountsServiceImpl implements BulkAccountsService {
+
+    private final CustomerRepository customerRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountsProperties accountsProperties;
+    private final AccountNumberGenerator accountNumberGenerator;
+
+    public BulkAccountsServiceImpl(CustomerRepository customerRepository,
+                                   EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   Validator validator,
+                                   ApplicationEventPublisher eventPublisher,
+                                   AccountsProperties accountsProperties,
+                                   AccountNumberGenerator accountNumberGenerator) {
+        this.customerRepository = customerRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.accountsProperties = accountsProperties;
+        this.accountNumberGenerator = accountNumberGenerator;
+    }
+
+    @Override
+    @Timed(value = AccountsConstants.SERVICE_TIMER, extraTags = {"operation", "create-bulk"},
+            percentiles = {0.5, 0.95, 0.99}, histogram = true)
+    public BulkCreateResponseDTO createAccounts(List<CustomerDTO> customerDTOs) {
+        AccountsProperties.Bulk bulk = accountsProperties.getBulk();
+        if (customerDTOs.size() > bulk.getMaxItems()) {
+            throw new BulkRequestTooLargeException("Bulk create accepts at most " + bulk.getMaxItems() + " customers");
+        }
+
+        BulkCreateItemDTO[] results = new BulkCreateItemDTO[customerDTOs.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < customerDTOs.size(); i++) {
+            CustomerDTO customerDTO = customerDTOs.get(i);
+            String violations = validate(customerDTO);
+            if (violations != null) {
+                results[i] = result(i, customerDTO, BulkCreateStatus.INVALID, null, violations);
+            } else if (candidates.putIfAbsent(customerDTO.getMobileNumber(), i) != null) {
+                results[i] = result(i, customerDTO, BulkCreateStatus.DUPLICATE_IN_REQUEST, null,
+                        "Mobile number appears more than once in the request");
+            }
+        }
+
+        Set<String> existing = findExistingMobileNumbers(new ArrayList<>(candidates.keySet()), bulk.getLookupChunkSize());
+        List<Integer> pending = new ArrayList<>(candidates.size());
+        candidates.forEach((mobileNumber, index) -> {
+            if (existing.contains(mobileNumber)) {
+                results[index] = result(index, customerDTOs.get(index), BulkCreateStatus.ALREADY_EXISTS, null,
+                        "Customer already exists with mobile number " + mobileNumber);
+            } else {
+                pending.add(index);
+            }
+        });
+
+        for (int from = 0; from < pending.size(); from += bulk.getBatchSize()) {
+            List<Integer> chunk = pending.subList(from, Math.min(from + bulk.getBatchSize(), pending.size()));
+            persistChunk(customerDTOs, chunk, results);
+        }
+
+        int created = (int) Arrays.stream(results).filter(r -> r.getStatus() == BulkCreateStatus.CREATED).count();
+        return BulkCreateResponseDTO.builder()
+                .created(created)
+                .rejected(results.length - created)
+                .items(Arrays.asList(results))
+                .build();
+    }
+
+    private String validate(CustomerDTO customerDTO) {
+        if (customerDTO == null) {
+            return "Customer should not be null";
+        }
+        Set<ConstraintViolation<CustomerDTO>> violations = validator.validate(customerDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private Set<String> findExistingMobileNumbers(List<String> mobileNumbers, int chunkSize) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < mobileNumbers.size(); from += chunkSize) {
+            existing.addAll(customerRepository.findExistingMobileNumbers(
+                    mobileNumbers.subList(from, Math.min(from + chunkSize, mobileNumbers.size()))));
+        }
+        return existing;
+    }
+
+    private void persistChunk(List<CustomerDTO> customerDTOs, List<Integer> chunk, BulkCreateItemDTO[] results) {
+        try {
+            List<Accounts> accounts = transactionTemplate.execute(status -> insert(customerDTOs, chunk));
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = chunk.get(i);
+                results[index] = result(index, customerDTOs.get(index), BulkCreateStatus.CREATED,
+                        accounts.get(i).getAccountNumber(), null);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Bulk chunk of {} customers failed, retrying items individually: {}", chunk.size(), ex.getMessage());
+            entityManager.clear();
+            chunk.forEach(index -> persistSingle(customerDTOs, index, results));
+        }
+    }
+
+    private void persistSingle(List<CustomerDTO> customerDTOs, int index, BulkCreateItemDTO[] results) {
+        try {
+            List<Accounts> accounts = transactionTemplate.execute(status -> insert(customerDTOs, List.of(index)));
+            results[index] = result(index, customerDTOs.get(index), BulkCreateStatus.CREATED,
+                    accounts.get(0).getAccountNumber(), null);
+        } catch (RuntimeException ex) {
+            entityManager.clear();
+            if (isConstraintViolation(ex)) {
+                results[index] = result(index, customerDTOs.get(index), BulkCreateStatus.ALREADY_EXISTS, null,
+                        "Customer already exists with mobile number " + customerDTOs.get(index).getMobileNumber());
+            } else {
+                results[index] = result(index, customerDTOs.get(index), BulkCreateStatus.FAILED, null, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Account numbers are collision-free, so a constraint violation on a single-row insert means the mobile
+     * number was registered concurrently, after the set-based existence check.
+     */
+    private static boolean isConstraintViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException || cause instanceof DataIntegrityViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Accounts> insert(List<CustomerDTO> customerDTOs, List<Integer> indexes) {
+        List<Customer> customers = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            Customer customer = CustomerMapper.mapToCustomer(customerDTOs.get(index), new Customer());
+            entityManager.persist(customer);
+            customers.add(customer);
+        }
+        List<Accounts> accounts = new ArrayList<>(customers.size());
+        for (Customer customer : customers) {
+            Accounts account = AccountsServiceImpl.createNewAccount(customer,
+                    accountNumberGenerator.nextAccountNumber());
+            entityManager.persist(account);
+            accounts.add(account);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        customers.forEach(customer -> eventPublisher.publishEvent(
+                new AccountsChangedEvent(ChangeType.CREATED, customer.getMobileNumber())));
+        return accounts;
+    }
+
+    private static BulkCreateItemDTO result(int index, CustomerDTO customerDTO, BulkCreateStatus status,
+                                            Long accountNumber, String message) {
+        return BulkCreateItemDTO.builder()
+                .index(index)
+                .mobileNumber(customerDTO != null ? customerDTO.getMobileNumber() : null)
+                .status(status)
+                .accountNumber(accountNumber)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package org.abpira.accounts.service;
+
+import org.abpira.accounts.search.CustomerSearchHit;
+
+import java.util.List;
+
+public interface CustomerSearchService {
+
+    /**
+     * Typeahead over customers' name, email and mobile number: customers for which every word of the query starts
+     * one of those, tolerating a typo in longer words when exact matches run short. Served from memory, so a change
+     * shows up once the index has refreshed.
+     *
+     * @param query words as typed, the last possibly unfinished
+     * @param limit maximum number of customers returned
+     */
+    List<CustomerSearchHit> searchCustomers(String query, int limit);
+}
@@ -0,0 +1,24 @@
+package org.abpira.accounts.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.abpira.accounts.constants.AccountsConstants;
+import org.abpira.accounts.search.CustomerSearchHit;
+import org.abpira.accounts.search.CustomerSearchIndex;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class CustomerSearchServiceImpl implements CustomerSearchService {
+
+    private final CustomerSearchIndex customerSearchIndex;
+
+    @Override
+    @Timed(value = AccountsConstants.SERVICE_TIMER, extraTags = {"operation", "search-customers"},
+            percentiles = {0.5, 0.95, 0.99}, histogram = true)
+    public List<CustomerSearchHit> searchCustomers(String query, int limit) {
+        return customerSearchIndex.search(query, limit);
+    }
+}
@@ -0,0 +1,14 @@
+package org.abpira.accounts.service;
+
+import org.abpira.accounts.dto.CustomerDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface ReactiveAccountsService {
+
+    Mono<CustomerDTO> fetchAccountDetails(String mobileNumber);
+
+    Flux<CustomerDTO> fetchAccountDetails(Collection<String> mobileNumbers);
+}
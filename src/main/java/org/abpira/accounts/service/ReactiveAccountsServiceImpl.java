@@ -0,0 +1,52 @@
+package org.abpira.accounts.service;
+
+import lombok.RequiredArgsConstructor;
+import org.abpira.accounts.dto.AccountsDTO;
+import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.exceptions.ResourceNotFoundException;
+import org.abpira.accounts.mapper.AccountsMapper;
+import org.abpira.accounts.mapper.CustomerMapper;
+import org.abpira.accounts.repository.projection.CustomerAccountView;
+import org.abpira.accounts.repository.reactive.ReactiveAccountsStore;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveAccountsServiceImpl implements ReactiveAccountsService {
+
+    private final ReactiveAccountsStore reactiveAccountsStore;
+
+    @Override
+    public Mono<CustomerDTO> fetchAccountDetails(String mobileNumber) {
+        return reactiveAccountsStore.findByMobileNumber(mobileNumber)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)))
+                .map(view -> {
+                    if (view.accountNumber() == null) {
+                        throw new ResourceNotFoundException("Accounts", "CustomerId", view.customerId().toString());
+                    }
+                    return toCustomerDTO(view);
+                });
+    }
+
+    /**
+     * Streams the customers that exist and have an account; unknown mobile numbers are skipped rather than
+     * failing the whole stream.
+     */
+    @Override
+    public Flux<CustomerDTO> fetchAccountDetails(Collection<String> mobileNumbers) {
+        return reactiveAccountsStore.findByMobileNumbers(new LinkedHashSet<>(mobileNumbers))
+                .filter(view -> view.accountNumber() != null)
+                .map(ReactiveAccountsServiceImpl::toCustomerDTO);
+    }
+
+    private static CustomerDTO toCustomerDTO(CustomerAccountView view) {
+        CustomerDTO customerDTO = CustomerMapper.mapToCustomerDTO(view, new CustomerDTO());
+        customerDTO.setAccountsDTO(AccountsMapper.mapToAccountsDTO(view, new AccountsDTO()));
+        return customerDTO;
+    }
+}
@@ -0,0 +1,4 @@
+-- H2 counterpart of mysql/V10__account_search_indexes.sql.
+create index idx_accounts_created_at on accounts (created_at, account_number);
+create index idx_accounts_type_created_at on accounts (account_type, created_at, account_number);
+create index idx_accounts_branch_created_at on accounts (branch_address, created_at, account_number);
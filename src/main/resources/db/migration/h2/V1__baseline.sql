@@ -0,0 +1,24 @@
+-- H2 counterpart of mysql/V1__baseline.sql; used for local runs and the schema migration test.
+create table customer (
+    customer_id   bigint generated by default as identity,
+    created_at    timestamp(6),
+    created_by    varchar(255),
+    updated_at    timestamp(6),
+    updated_by    varchar(255),
+    email         varchar(255),
+    mobile_number varchar(255),
+    name          varchar(255),
+    primary key (customer_id)
+);
+
+create table accounts (
+    account_number bigint not null,
+    created_at     timestamp(6),
+    created_by     varchar(255),
+    updated_at     timestamp(6),
+    updated_by     varchar(255),
+    customer_id    bigint,
+    account_type   varchar(255),
+    branch_address varchar(255),
+    primary key (account_number)
+);
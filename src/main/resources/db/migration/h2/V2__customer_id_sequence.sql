@@ -0,0 +1,6 @@
+-- H2 counterpart of mysql/V2__customer_id_sequence.sql. Starting an empty database's sequence at 50 is
+-- harmless: Hibernate still hands out ids from 1.
+alter table customer alter column customer_id drop identity;
+
+create sequence customer_seq start with 1 increment by 50;
+alter sequence customer_seq restart with (select coalesce(max(customer_id), 0) + 50 from customer);
@@ -0,0 +1,7 @@
+-- H2 counterpart of mysql/V3__account_number_sequence.sql.
+create table account_number_sequence (
+    name         varchar(255) not null,
+    next_payload bigint       not null,
+    primary key (name)
+);
+insert into account_number_sequence (name, next_payload) values ('account_number', 190000000);
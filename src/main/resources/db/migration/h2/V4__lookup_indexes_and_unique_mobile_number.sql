@@ -0,0 +1,6 @@
+-- Every fetch, update and delete looks customers up by mobile number and accounts by customer id.
+-- The unique constraint also closes the race between the duplicate check and the insert in createAccount.
+-- Remove duplicate mobile numbers before applying this to an existing database.
+alter table customer add constraint uk_customer_mobile_number unique (mobile_number);
+
+create index idx_accounts_customer_id on accounts (customer_id);
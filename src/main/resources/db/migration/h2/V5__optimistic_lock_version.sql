@@ -0,0 +1,3 @@
+-- Optimistic lock column for BaseEntity.version; existing rows start at 0.
+alter table customer add column version bigint default 0 not null;
+alter table accounts add column version bigint default 0 not null;
@@ -0,0 +1,6 @@
+-- Soft delete marks the customer and clears its mobile number, which frees the number under
+-- uk_customer_mobile_number for a new customer right away. Its account is hidden through the customer and
+-- removed by the purger. The index lets the purger find deleted rows without scanning the live table.
+alter table customer add column deleted_at timestamp(6);
+
+create index idx_customer_deleted_at on customer (deleted_at);
@@ -0,0 +1,24 @@
+-- H2 counterpart of mysql/V7__outbox.sql.
+create sequence outbox_seq start with 1 increment by 50;
+
+create table outbox (
+    id                     bigint       not null,
+    change_type            varchar(16)  not null,
+    mobile_number          varchar(255),
+    previous_mobile_number varchar(255),
+    occurred_at            timestamp(6) not null,
+    sequence_number        bigint,
+    published_at           timestamp(6),
+    primary key (id),
+    constraint uk_outbox_sequence_number unique (sequence_number)
+);
+
+create index idx_outbox_published_at on outbox (published_at);
+
+-- single row holding the next sequence number; the relay locks it, which serialises relays across instances
+create table outbox_counter (
+    id                   integer not null,
+    next_sequence_number bigint  not null,
+    primary key (id)
+);
+insert into outbox_counter (id, next_sequence_number) values (1, 1);
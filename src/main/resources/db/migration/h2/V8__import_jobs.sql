@@ -0,0 +1,39 @@
+-- H2 counterpart of mysql/V8__import_jobs.sql.
+create sequence import_job_seq start with 1 increment by 50;
+create sequence import_batch_seq start with 1 increment by 50;
+create sequence import_rejection_seq start with 1 increment by 50;
+
+create table import_job (
+    id              bigint        not null,
+    file_path       varchar(512)  not null,
+    status          varchar(16)   not null,
+    batch_size      integer       not null,
+    started_at      timestamp(6)  not null,
+    finished_at     timestamp(6),
+    failure_message varchar(1024),
+    primary key (id)
+);
+
+create index idx_import_job_file_path on import_job (file_path);
+
+create table import_batch (
+    id           bigint       not null,
+    job_id       bigint       not null,
+    batch_number bigint       not null,
+    imported     integer      not null,
+    rejected     integer      not null,
+    committed_at timestamp(6) not null,
+    primary key (id),
+    constraint uk_import_batch_job_batch unique (job_id, batch_number)
+);
+
+create table import_rejection (
+    id            bigint        not null,
+    job_id        bigint        not null,
+    record_number bigint        not null,
+    mobile_number varchar(255),
+    reason        varchar(1024) not null,
+    primary key (id)
+);
+
+create index idx_import_rejection_job_record on import_rejection (job_id, record_number);
@@ -0,0 +1,4 @@
+-- H2 counterpart of mysql/V9__multiple_accounts_per_customer.sql.
+alter table accounts add column primary_account boolean not null default false;
+
+update accounts set primary_account = true;
@@ -0,0 +1,6 @@
+-- Account search filters on type, branch and creation time and pages in (created_at, account_number) order.
+-- Each index matches one filter followed by the sort key, so a page is read as a range in index order and stops
+-- at the page size, however deep it is. account_number is listed explicitly although InnoDB appends it anyway.
+create index idx_accounts_created_at on accounts (created_at, account_number);
+create index idx_accounts_type_created_at on accounts (account_type, created_at, account_number);
+create index idx_accounts_branch_created_at on accounts (branch_address, created_at, account_number);
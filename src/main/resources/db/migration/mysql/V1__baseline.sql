@@ -0,0 +1,25 @@
+-- Schema as generated by Hibernate before migrations were introduced. Databases created earlier through
+-- ddl-auto are baselined at this version (spring.flyway.baseline-on-migrate).
+create table customer (
+    customer_id   bigint not null auto_increment,
+    created_at    datetime(6),
+    created_by    varchar(255),
+    updated_at    datetime(6),
+    updated_by    varchar(255),
+    email         varchar(255),
+    mobile_number varchar(255),
+    name          varchar(255),
+    primary key (customer_id)
+);
+
+create table accounts (
+    account_number bigint not null,
+    created_at     datetime(6),
+    created_by     varchar(255),
+    updated_at     datetime(6),
+    updated_by     varchar(255),
+    customer_id    bigint,
+    account_type   varchar(255),
+    branch_address varchar(255),
+    primary key (account_number)
+);
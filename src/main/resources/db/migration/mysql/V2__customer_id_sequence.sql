@@ -0,0 +1,9 @@
+-- Customer ids come from a pooled sequence instead of auto_increment, so bulk creates can batch their inserts.
+-- Hibernate reads customer_seq as the top of a block of 50 ids, hence the + 50 above the ids already in use.
+alter table customer modify customer_id bigint not null;
+
+create table customer_seq (
+    next_val bigint
+);
+insert into customer_seq (next_val)
+select coalesce(max(customer_id), 0) + 50 from customer;
@@ -0,0 +1,8 @@
+-- Counters the account number generator allocates blocks from, one row per name. Block numbers start at payload
+-- 190000000, above every number the random generator used, so they never collide with existing accounts.
+create table account_number_sequence (
+    name         varchar(255) not null,
+    next_payload bigint       not null,
+    primary key (name)
+);
+insert into account_number_sequence (name, next_payload) values ('account_number', 190000000);
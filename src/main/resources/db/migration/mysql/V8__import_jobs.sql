@@ -0,0 +1,51 @@
+-- File imports from the legacy core banking system. Each committed batch leaves a row in import_batch, the
+-- checkpoint a resumed import skips by; rejected records are kept for the job's report.
+create table import_job_seq (
+    next_val bigint
+);
+insert into import_job_seq values (1);
+
+create table import_batch_seq (
+    next_val bigint
+);
+insert into import_batch_seq values (1);
+
+create table import_rejection_seq (
+    next_val bigint
+);
+insert into import_rejection_seq values (1);
+
+create table import_job (
+    id              bigint        not null,
+    file_path       varchar(512)  not null,
+    status          varchar(16)   not null,
+    batch_size      integer       not null,
+    started_at      datetime(6)   not null,
+    finished_at     datetime(6),
+    failure_message varchar(1024),
+    primary key (id)
+);
+
+create index idx_import_job_file_path on import_job (file_path);
+
+create table import_batch (
+    id           bigint      not null,
+    job_id       bigint      not null,
+    batch_number bigint      not null,
+    imported     integer     not null,
+    rejected     integer     not null,
+    committed_at datetime(6) not null,
+    primary key (id),
+    constraint uk_import_batch_job_batch unique (job_id, batch_number)
+);
+
+create table import_rejection (
+    id            bigint        not null,
+    job_id        bigint        not null,
+    record_number bigint        not null,
+    mobile_number varchar(255),
+    reason        varchar(1024) not null,
+    primary key (id)
+);
+
+create index idx_import_rejection_job_record on import_rejection (job_id, record_number);
@@ -0,0 +1,5 @@
+-- A customer can hold several accounts; the one opened with the customer is marked primary and is the one the
+-- single-account fetch returns. Until now every customer had exactly one account, which becomes its primary.
+alter table accounts add column primary_account boolean not null default false;
+
+update accounts set primary_account = true;
@@ -0,0 +1,38 @@
+package org.abpira.accounts.admission;
+
+import org.abpira.accounts.constants.AccountsConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class AdmissionInterceptorTest {
+
+    private final AdmissionInterceptor underTest =
+            new AdmissionInterceptor(mock(AdmissionLimiter.class), Set.of("10.0.0.1"));
+
+    @Test
+    void shouldTrustClientIdHeaderOnlyFromGateway() {
+        // given
+        MockHttpServletRequest viaGateway = request("10.0.0.1", "client-a");
+        MockHttpServletRequest direct = request("192.168.1.7", "client-a");
+        MockHttpServletRequest viaGatewayWithoutHeader = request("10.0.0.1", null);
+
+        // when & then
+        assertThat(underTest.clientId(viaGateway)).isEqualTo("client-a");
+        assertThat(underTest.clientId(direct)).isEqualTo("192.168.1.7");
+        assertThat(underTest.clientId(viaGatewayWithoutHeader)).isEqualTo("10.0.0.1");
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/fetch");
+        request.setRemoteAddr(remoteAddress);
+        if (clientId != null) {
+            request.addHeader(AccountsConstants.CLIENT_ID_HEADER, clientId);
+        }
+        return request;
+    }
+}
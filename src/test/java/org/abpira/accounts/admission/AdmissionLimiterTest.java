@@ -0,0 +1,87 @@
+package org.abpira.accounts.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.exceptions.RateLimitExceededException;
+import org.abpira.accounts.exceptions.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AccountsProperties.Admission properties = new AccountsProperties().getAdmission();
+
+    @Test
+    void shouldLimitEachClientSeparately() {
+        // given
+        AccountsProperties.Admission.Limit limit = new AccountsProperties.Admission.Limit();
+        limit.setClientRate(1);
+        limit.setClientBurst(1);
+        properties.getEndpoints().put("fetch", limit);
+        AdmissionLimiter underTest = new AdmissionLimiter(properties, 0, meterRegistry, () -> 0L);
+
+        // when
+        underTest.admit("fetch", "client-a", true);
+        underTest.admit("fetch", "client-b", true);
+
+        // then
+        assertThatThrownBy(() -> underTest.admit("fetch", "client-a", true))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(ex -> assertThat(((RateLimitExceededException) ex).getRetryAfter()).isPositive());
+        assertThat(count("fetch", "admitted")).isEqualTo(2);
+        assertThat(count("fetch", "rate-limited")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRefundClientTokenWhenEndpointBucketRejects() {
+        // given
+        AccountsProperties.Admission.Limit limit = new AccountsProperties.Admission.Limit();
+        limit.setRate(1);
+        limit.setBurst(1);
+        limit.setClientRate(0.1);
+        limit.setClientBurst(1);
+        properties.getEndpoints().put("fetch", limit);
+        AtomicLong now = new AtomicLong();
+        AdmissionLimiter underTest = new AdmissionLimiter(properties, 0, meterRegistry, now::get);
+        underTest.admit("fetch", "client-a", true);
+        assertThatThrownBy(() -> underTest.admit("fetch", "client-b", true))
+                .isInstanceOf(RateLimitExceededException.class);
+
+        // when
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // then
+        assertThat(underTest.admit("fetch", "client-b", true)).isFalse();
+        assertThat(count("fetch", "admitted")).isEqualTo(2);
+        assertThat(count("fetch", "rate-limited")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldShedLoadAboveConcurrencyCapUntilSlotIsReleased() {
+        // given
+        AdmissionLimiter underTest = new AdmissionLimiter(properties, 1, meterRegistry, () -> 0L);
+        boolean slot = underTest.admit("update", "client-a", true);
+
+        // when / then
+        assertThatThrownBy(() -> underTest.admit("update", "client-b", true))
+                .isInstanceOf(ServiceOverloadedException.class);
+        assertThat(underTest.admit("changes", "client-b", false)).isFalse();
+        underTest.release();
+        assertThat(underTest.admit("update", "client-b", true)).isTrue();
+        assertThat(slot).isTrue();
+        assertThat(count("update", "overloaded")).isEqualTo(1);
+    }
+
+    private long count(String endpoint, String result) {
+        return (long) meterRegistry.get(AdmissionLimiter.REQUESTS_COUNTER)
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .counter().count();
+    }
+}
@@ -0,0 +1,61 @@
+package org.abpira.accounts.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void shouldAdmitBurstThenReportWaitForNextToken() {
+        // given
+        TokenBucket underTest = new TokenBucket(10, 3, now::get);
+
+        // when
+        long first = underTest.tryAcquire();
+        long second = underTest.tryAcquire();
+        long third = underTest.tryAcquire();
+        long fourth = underTest.tryAcquire();
+
+        // then
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isZero();
+        assertThat(fourth).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void shouldRefillAtConfiguredRate() {
+        // given
+        TokenBucket underTest = new TokenBucket(10, 1, now::get);
+        underTest.tryAcquire();
+
+        // when
+        long tooEarly = underTest.tryAcquire();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        long onTime = underTest.tryAcquire();
+
+        // then
+        assertThat(tooEarly).isPositive();
+        assertThat(onTime).isZero();
+    }
+
+    @Test
+    void shouldAdmitAgainAfterRefund() {
+        // given
+        TokenBucket underTest = new TokenBucket(10, 1, now::get);
+        underTest.tryAcquire();
+
+        // when
+        underTest.refund();
+
+        // then
+        assertThat(underTest.tryAcquire()).isZero();
+        assertThat(underTest.tryAcquire()).isPositive();
+    }
+}
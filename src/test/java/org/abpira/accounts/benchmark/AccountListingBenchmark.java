@@ -0,0 +1,129 @@
+package org.abpira.accounts.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.abpira.accounts.AccountsApplication;
+import org.abpira.accounts.coalescing.SingleFlight;
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.dto.BatchAccountsResponseDTO;
+import org.abpira.accounts.dto.CustomerAccountsDTO;
+import org.abpira.accounts.dto.NewAccountDTO;
+import org.abpira.accounts.repository.AccountsRepository;
+import org.abpira.accounts.repository.CustomerRepository;
+import org.abpira.accounts.service.AccountsServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Account listing through the real repositories on an embedded H2, for customers holding hundreds of accounts.
+ * {@code listBatch} reads every customer's accounts with two queries, {@code listPerCustomer} with one lookup per
+ * customer as a client looping over the single listing would. {@code firstPage} and {@code lastPage} read the same
+ * page size from either end of a customer's accounts; with keyset paging the two should score alike.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountListingBenchmark {
+
+    private static final int CUSTOMERS = 20;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"100", "500"})
+    private int accountsPerCustomer;
+
+    private ConfigurableApplicationContext context;
+    private AccountsServiceImpl service;
+    private List<String> mobileNumbers;
+    private long[] lastPageAfter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AccountsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:account-listing;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=warn",
+                        // keep the background jobs out of the measurement
+                        "accounts.delete.purge.interval=1h",
+                        "accounts.outbox.relay.interval=1h")
+                .run();
+        // built by hand so the @Timed aspect stays out of the measurement
+        service = new AccountsServiceImpl(context.getBean(AccountsRepository.class),
+                context.getBean(CustomerRepository.class), event -> {
+        }, new AccountsProperties(), new AtomicLong(1000000000L)::incrementAndGet,
+                new SingleFlight<>("accountDetails", new SimpleMeterRegistry()),
+                BenchmarkData.mobileNumberFilter(CUSTOMERS));
+        mobileNumbers = new ArrayList<>(CUSTOMERS);
+        lastPageAfter = new long[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            String mobileNumber = BenchmarkData.mobileNumber(i);
+            service.createAccount(BenchmarkData.customerDTO(i));
+            List<Long> accountNumbers = new ArrayList<>(accountsPerCustomer);
+            for (int j = 1; j < accountsPerCustomer; j++) {
+                accountNumbers.add(service.openAccount(NewAccountDTO.builder()
+                        .mobileNumber(mobileNumber)
+                        .accountType("Savings")
+                        .branchAddress("123 Main Street, New York")
+                        .build()).getAccountNumber());
+            }
+            mobileNumbers.add(mobileNumber);
+            // the customer's first account was numbered by createAccount, so the opened ones hold the tail
+            lastPageAfter[i] = accountNumbers.get(accountNumbers.size() - PAGE_SIZE - 1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BatchAccountsResponseDTO listBatch() {
+        return service.fetchAccounts(mobileNumbers);
+    }
+
+    @Benchmark
+    public void listPerCustomer(Blackhole blackhole) {
+        for (String mobileNumber : mobileNumbers) {
+            blackhole.consume(service.fetchAccounts(mobileNumber, 0, accountsPerCustomer));
+        }
+    }
+
+    @Benchmark
+    public CustomerAccountsDTO firstPage() {
+        int i = ThreadLocalRandom.current().nextInt(CUSTOMERS);
+        return service.fetchAccounts(mobileNumbers.get(i), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CustomerAccountsDTO lastPage() {
+        int i = ThreadLocalRandom.current().nextInt(CUSTOMERS);
+        return service.fetchAccounts(mobileNumbers.get(i), lastPageAfter[i], PAGE_SIZE);
+    }
+}
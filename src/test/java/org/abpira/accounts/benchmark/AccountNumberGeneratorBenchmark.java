@@ -0,0 +1,64 @@
+package org.abpira.accounts.benchmark;
+
+import org.abpira.accounts.generator.AccountNumberBlock;
+import org.abpira.accounts.generator.BlockAccountNumberGenerator;
+import org.abpira.accounts.generator.RandomAccountNumberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the original {@code Math.random()} draw with the pluggable generators under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class AccountNumberGeneratorBenchmark {
+
+    private BlockAccountNumberGenerator blockGenerator;
+    private RandomAccountNumberGenerator randomGenerator;
+
+    @Setup
+    public void setUp() {
+        AtomicLong next = new AtomicLong(AccountNumberBlock.FIRST_PAYLOAD);
+        blockGenerator = new BlockAccountNumberGenerator(size -> {
+            long start = next.getAndAdd(size);
+            if (start + size > AccountNumberBlock.LAST_PAYLOAD) {
+                next.set(AccountNumberBlock.FIRST_PAYLOAD);
+                start = next.getAndAdd(size);
+            }
+            return new AccountNumberBlock(start, start + size);
+        }, 1000);
+        randomGenerator = new RandomAccountNumberGenerator();
+    }
+
+    @Benchmark
+    public long mathRandom() {
+        return 1000000000L + (long) (Math.random() * 900000000);
+    }
+
+    @Benchmark
+    public long threadLocalRandom() {
+        return randomGenerator.nextAccountNumber();
+    }
+
+    @Benchmark
+    public long blockAllocated() {
+        return blockGenerator.nextAccountNumber();
+    }
+}
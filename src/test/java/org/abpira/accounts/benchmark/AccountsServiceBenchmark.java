@@ -0,0 +1,80 @@
+package org.abpira.accounts.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.abpira.accounts.coalescing.SingleFlight;
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.service.AccountsServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service hot paths against the in-memory repository mode, without Spring proxies, so differences come from
+ * the service and mapping code.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountsServiceBenchmark {
+
+    private static final int CUSTOMERS = 10_000;
+    private static final String UPDATED_NAME = "Updated Customer";
+    private static final String OTHER_NAME = "Other Customer";
+
+    @Param({"JOINED", "SPLIT", "ENTITY"})
+    private AccountsProperties.ReadPath readPath;
+
+    private AccountsServiceImpl service;
+    private final AtomicInteger nextCustomer = new AtomicInteger(CUSTOMERS);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryAccountsStore store = new InMemoryAccountsStore();
+        AccountsProperties accountsProperties = new AccountsProperties();
+        accountsProperties.setReadPath(readPath);
+        service = new AccountsServiceImpl(store.accountsRepository(), store.customerRepository(), event -> {
+        }, accountsProperties, new AtomicLong(1000000000L)::incrementAndGet,
+                new SingleFlight<>("accountDetails", new SimpleMeterRegistry()),
+                BenchmarkData.mobileNumberFilter(CUSTOMERS));
+        for (int i = 0; i < CUSTOMERS; i++) {
+            service.createAccount(BenchmarkData.customerDTO(i));
+        }
+    }
+
+    @Benchmark
+    public CustomerDTO fetchAccountDetails() {
+        return service.fetchAccountDetails(BenchmarkData.mobileNumber(ThreadLocalRandom.current().nextInt(CUSTOMERS)));
+    }
+
+    @Benchmark
+    public void createAccount() {
+        service.createAccount(BenchmarkData.customerDTO(nextCustomer.getAndIncrement()));
+    }
+
+    @Benchmark
+    public boolean updateAccount() {
+        CustomerDTO customerDTO = service.fetchAccountDetails(
+                BenchmarkData.mobileNumber(ThreadLocalRandom.current().nextInt(CUSTOMERS)));
+        // alternate between two fixed names so every update changes the row without growing it
+        customerDTO.setName(UPDATED_NAME.equals(customerDTO.getName()) ? OTHER_NAME : UPDATED_NAME);
+        return service.updateAccount(customerDTO);
+    }
+}
@@ -0,0 +1,41 @@
+package org.abpira.accounts.benchmark;
+
+import org.abpira.accounts.dto.AccountsDTO;
+import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.membership.MobileNumberFilter;
+
+class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static String mobileNumber(int i) {
+        return String.valueOf(1000000000L + i);
+    }
+
+    static CustomerDTO customerDTO(int i) {
+        return CustomerDTO.builder()
+                .name("Customer " + i)
+                .email("customer" + i + "@example.com")
+                .mobileNumber(mobileNumber(i))
+                .accountsDTO(AccountsDTO.builder()
+                        .accountNumber(2000000000L + i)
+                        .accountType("Savings")
+                        .branchAddress("123 Main Street, New York")
+                        .build())
+                .build();
+    }
+
+    /**
+     * A loaded filter holding the first {@code customers} mobile numbers and sized for them, as the loader would
+     * build it for that table.
+     */
+    static MobileNumberFilter mobileNumberFilter(int customers) {
+        MobileNumberFilter filter = new MobileNumberFilter(customers, 0.01);
+        for (int i = 0; i < customers; i++) {
+            filter.add(mobileNumber(i));
+        }
+        filter.markLoaded();
+        return filter;
+    }
+}
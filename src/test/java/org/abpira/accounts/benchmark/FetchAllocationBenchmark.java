@@ -0,0 +1,90 @@
+package org.abpira.accounts.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.abpira.accounts.AccountsApplication;
+import org.abpira.accounts.coalescing.SingleFlight;
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.repository.AccountsRepository;
+import org.abpira.accounts.repository.CustomerRepository;
+import org.abpira.accounts.service.AccountsServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single fetch through the real repositories on an embedded H2, so {@code gc.alloc.rate.norm} includes what
+ * Hibernate allocates per request: {@code ENTITY} builds managed entities with their snapshots, {@code SPLIT} and
+ * {@code JOINED} read constructor-expression projections. H2 runs in-process, so its allocations are part of every
+ * score; compare the read paths against each other rather than against the in-memory service benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FetchAllocationBenchmark {
+
+    private static final int CUSTOMERS = 1_000;
+
+    @Param({"ENTITY", "SPLIT", "JOINED"})
+    private AccountsProperties.ReadPath readPath;
+
+    private ConfigurableApplicationContext context;
+    private AccountsServiceImpl service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AccountsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:fetch-allocation;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=warn",
+                        // keep the background jobs out of the measurement
+                        "accounts.delete.purge.interval=1h",
+                        "accounts.outbox.relay.interval=1h")
+                .run();
+        AccountsProperties accountsProperties = new AccountsProperties();
+        accountsProperties.setReadPath(readPath);
+        // built by hand so the cache and the @Timed aspect stay out of the measurement
+        service = new AccountsServiceImpl(context.getBean(AccountsRepository.class),
+                context.getBean(CustomerRepository.class), event -> {
+        }, accountsProperties, new AtomicLong(1000000000L)::incrementAndGet,
+                new SingleFlight<>("accountDetails", new SimpleMeterRegistry()),
+                BenchmarkData.mobileNumberFilter(CUSTOMERS));
+        for (int i = 0; i < CUSTOMERS; i++) {
+            service.createAccount(BenchmarkData.customerDTO(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerDTO fetchAccountDetails() {
+        return service.fetchAccountDetails(BenchmarkData.mobileNumber(ThreadLocalRandom.current().nextInt(CUSTOMERS)));
+    }
+}
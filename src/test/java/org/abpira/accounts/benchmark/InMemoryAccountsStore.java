@@ -0,0 +1,126 @@
+package org.abpira.accounts.benchmark;
+
+import org.abpira.accounts.entities.Accounts;
+import org.abpira.accounts.entities.Customer;
+import org.abpira.accounts.repository.AccountsRepository;
+import org.abpira.accounts.repository.CustomerRepository;
+import org.abpira.accounts.repository.projection.AccountSummary;
+import org.abpira.accounts.repository.projection.AccountWithCustomer;
+import org.abpira.accounts.repository.projection.CustomerAccountView;
+import org.abpira.accounts.repository.projection.CustomerSummary;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Map-backed stand-in for the Spring Data repositories, so service benchmarks measure the service and mapping
+ * code rather than the database. Only the repository methods used by the service are implemented, and each customer
+ * holds a single account.
+ */
+class InMemoryAccountsStore {
+
+    private final Map<Long, Customer> customersById = new ConcurrentHashMap<>();
+    private final Map<String, Customer> customersByMobileNumber = new ConcurrentHashMap<>();
+    private final Map<Long, Accounts> accountsByNumber = new ConcurrentHashMap<>();
+    private final Map<Long, Accounts> accountsByCustomerId = new ConcurrentHashMap<>();
+    private final AtomicLong customerIds = new AtomicLong();
+
+    CustomerRepository customerRepository() {
+        return proxy(CustomerRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findByMobileNumber" -> Optional.ofNullable(customersByMobileNumber.get((String) args[0]));
+            case "findCustomerAccountByMobileNumber" -> findCustomerAccount((String) args[0]);
+            case "findSummaryByMobileNumber" -> Optional.ofNullable(customersByMobileNumber.get((String) args[0]))
+                    .map(c -> new CustomerSummary(c.getCustomerId(), c.getName(), c.getEmail(), c.getMobileNumber(),
+                            c.getVersion()));
+            case "findExistingMobileNumbers" -> ((Collection<?>) args[0]).stream()
+                    .filter(customersByMobileNumber::containsKey)
+                    .map(String.class::cast)
+                    .collect(Collectors.toSet());
+            case "findById" -> Optional.ofNullable(customersById.get((Long) args[0]));
+            case "save", "saveAndFlush" -> saveCustomer((Customer) args[0]);
+            case "deleteById" -> {
+                Customer removed = customersById.remove((Long) args[0]);
+                if (removed != null) {
+                    customersByMobileNumber.remove(removed.getMobileNumber());
+                }
+                yield null;
+            }
+            default -> objectMethod(proxy, method.getName(), args);
+        });
+    }
+
+    AccountsRepository accountsRepository() {
+        return proxy(AccountsRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findByCustomerIdAndPrimaryAccountTrue" -> Optional.ofNullable(accountsByCustomerId.get((Long) args[0]));
+            case "findPrimarySummaryByCustomerId" -> Optional.ofNullable(accountsByCustomerId.get((Long) args[0]))
+                    .map(a -> new AccountSummary(a.getCustomerId(), a.getAccountNumber(), a.getAccountType(),
+                            a.getBranchAddress()));
+            case "findById" -> Optional.ofNullable(accountsByNumber.get((Long) args[0]));
+            case "findWithCustomerByAccountNumber" -> Optional.ofNullable(accountsByNumber.get((Long) args[0]))
+                    .map(a -> new AccountWithCustomer(a, customersById.get(a.getCustomerId())));
+            case "save", "saveAndFlush" -> saveAccount((Accounts) args[0]);
+            case "flush" -> null;
+            case "deleteByCustomerId" -> {
+                Accounts removed = accountsByCustomerId.remove((Long) args[0]);
+                if (removed != null) {
+                    accountsByNumber.remove(removed.getAccountNumber());
+                }
+                yield null;
+            }
+            default -> objectMethod(proxy, method.getName(), args);
+        });
+    }
+
+    Set<String> mobileNumbers() {
+        return customersByMobileNumber.keySet();
+    }
+
+    private Optional<CustomerAccountView> findCustomerAccount(String mobileNumber) {
+        Customer customer = customersByMobileNumber.get(mobileNumber);
+        if (customer == null) {
+            return Optional.empty();
+        }
+        Accounts accounts = accountsByCustomerId.get(customer.getCustomerId());
+        return Optional.of(new CustomerAccountView(customer.getCustomerId(), customer.getName(), customer.getEmail(),
+                customer.getMobileNumber(), customer.getVersion(),
+                accounts != null ? accounts.getAccountNumber() : null,
+                accounts != null ? accounts.getAccountType() : null,
+                accounts != null ? accounts.getBranchAddress() : null));
+    }
+
+    private Customer saveCustomer(Customer customer) {
+        if (customer.getCustomerId() == null) {
+            customer.setCustomerId(customerIds.incrementAndGet());
+        }
+        customersById.put(customer.getCustomerId(), customer);
+        customersByMobileNumber.put(customer.getMobileNumber(), customer);
+        return customer;
+    }
+
+    private Accounts saveAccount(Accounts accounts) {
+        accountsByNumber.put(accounts.getAccountNumber(), accounts);
+        accountsByCustomerId.put(accounts.getCustomerId(), accounts);
+        return accounts;
+    }
+
+    private static Object objectMethod(Object proxy, String name, Object[] args) {
+        return switch (name) {
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "InMemoryAccountsStore repository";
+            default -> throw new UnsupportedOperationException(name + " is not supported by the in-memory store");
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,58 @@
+package org.abpira.accounts.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.abpira.accounts.dto.CustomerDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the {@code /api/fetch} response and the {@code /api/create} request body, using an
+ * {@link ObjectMapper} configured the way Spring MVC configures its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private CustomerDTO customerDTO;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(CustomerDTO.class);
+        reader = objectMapper.readerFor(CustomerDTO.class);
+        customerDTO = BenchmarkData.customerDTO(1);
+        json = writer.writeValueAsBytes(customerDTO);
+    }
+
+    @Benchmark
+    public byte[] serializeCustomerDTO() throws JsonProcessingException {
+        return writer.writeValueAsBytes(customerDTO);
+    }
+
+    @Benchmark
+    public CustomerDTO deserializeCustomerDTO() throws IOException {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,69 @@
+package org.abpira.accounts.benchmark;
+
+import org.abpira.accounts.dto.AccountsDTO;
+import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.entities.Accounts;
+import org.abpira.accounts.entities.Customer;
+import org.abpira.accounts.mapper.AccountsMapper;
+import org.abpira.accounts.mapper.CustomerMapper;
+import org.abpira.accounts.repository.projection.CustomerAccountView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private CustomerDTO customerDTO;
+    private Customer customer;
+    private Accounts accounts;
+    private CustomerAccountView view;
+
+    @Setup
+    public void setUp() {
+        customerDTO = BenchmarkData.customerDTO(1);
+        customer = CustomerMapper.mapToCustomer(customerDTO, new Customer());
+        customer.setCustomerId(1L);
+        accounts = Accounts.builder()
+                .customerId(1L)
+                .accountNumber(customerDTO.getAccountsDTO().getAccountNumber())
+                .accountType(customerDTO.getAccountsDTO().getAccountType())
+                .branchAddress(customerDTO.getAccountsDTO().getBranchAddress())
+                .build();
+        view = new CustomerAccountView(1L, customer.getName(), customer.getEmail(), customer.getMobileNumber(), 0L,
+                accounts.getAccountNumber(), accounts.getAccountType(), accounts.getBranchAddress());
+    }
+
+    @Benchmark
+    public CustomerDTO entitiesToDTO() {
+        CustomerDTO dto = CustomerMapper.mapToCustomerDTO(customer, new CustomerDTO());
+        dto.setAccountsDTO(AccountsMapper.mapToAccountsDTO(accounts, new AccountsDTO()));
+        return dto;
+    }
+
+    @Benchmark
+    public CustomerDTO viewToDTO() {
+        CustomerDTO dto = CustomerMapper.mapToCustomerDTO(view, new CustomerDTO());
+        dto.setAccountsDTO(AccountsMapper.mapToAccountsDTO(view, new AccountsDTO()));
+        return dto;
+    }
+
+    @Benchmark
+    public Customer dtoToCustomer() {
+        return CustomerMapper.mapToCustomer(customerDTO, new Customer());
+    }
+}
@@ -0,0 +1,136 @@
+package org.abpira.accounts.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Launches the packaged application in each startup mode against an in-memory H2 and reports, as the median of
+ * several launches, the time until it logs that it has started and its resident set size at that moment. Not a JMH
+ * benchmark: every sample is a fresh process, which is the cost being measured. Resident size is read from
+ * {@code /proc}, so it is only reported on Linux.
+ * <p>
+ * Arguments: the build directory and the jar's final name, as passed by the {@code startup-benchmark} Maven profile.
+ */
+public final class StartupBenchmark {
+
+    private static final int RUNS = 5;
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final String STARTED = "Started AccountsApplication in ";
+
+    private static final List<String> EMBEDDED_DATABASE = List.of(
+            "--spring.datasource.url=jdbc:h2:mem:startup",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--server.port=0",
+            "--spring.main.banner-mode=off",
+            "--spring.output.ansi.enabled=never");
+    private static final String FAST_STARTUP = "--spring.profiles.active=fast-startup";
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path target = Path.of(args[0]);
+        Path jar = target.resolve(args[1] + ".jar");
+        Path extractedJar = target.resolve("application").resolve(args[1] + ".jar");
+        Path archive = target.resolve("application").resolve("application.jsa");
+        Path executable = target.resolve("accounts");
+        String java = ProcessHandle.current().info().command().orElse("java");
+
+        List<Mode> modes = List.of(
+                new Mode("jvm", jar, List.of(java, "-jar", jar.toString())),
+                new Mode("jvm fast-startup", jar, List.of(java, "-jar", jar.toString(), FAST_STARTUP)),
+                new Mode("aot", jar, List.of(java, "-Dspring.aot.enabled=true", "-jar", jar.toString(),
+                        FAST_STARTUP)),
+                new Mode("aot + cds", archive, List.of(java, "-XX:SharedArchiveFile=" + archive,
+                        "-Dspring.aot.enabled=true", "-jar", extractedJar.toString(), FAST_STARTUP)),
+                new Mode("native", executable, List.of(executable.toString(), FAST_STARTUP)));
+
+        System.out.printf("%-18s %12s %12s%n", "mode", "startup ms", "rss MB");
+        for (Mode mode : modes) {
+            if (!Files.exists(mode.artifact())) {
+                System.out.printf("%-18s skipped, %s was not built%n", mode.name(), mode.artifact().getFileName());
+                continue;
+            }
+            long[] millis = new long[RUNS];
+            long[] residentKilobytes = new long[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                Sample sample = launch(mode.command());
+                millis[i] = sample.millis();
+                residentKilobytes[i] = sample.residentKilobytes();
+            }
+            long rss = median(residentKilobytes);
+            System.out.printf("%-18s %12d %12s%n", mode.name(), median(millis), rss < 0 ? "n/a" : rss / 1024);
+        }
+    }
+
+    private static Sample launch(List<String> command) throws IOException, InterruptedException {
+        List<String> arguments = new ArrayList<>(command);
+        arguments.addAll(EMBEDDED_DATABASE);
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(arguments).redirectErrorStream(true).start();
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        Thread reader = Thread.ofPlatform().daemon().start(() -> {
+            try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = output.readLine()) != null) {
+                    if (line.contains(STARTED)) {
+                        started.complete(null);
+                    }
+                }
+                started.completeExceptionally(new IllegalStateException("Exited with " + process.waitFor()));
+            } catch (IOException | InterruptedException ex) {
+                started.completeExceptionally(ex);
+            }
+        });
+        try {
+            started.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            return new Sample(millis, residentKilobytes(process.pid()));
+        } catch (ExecutionException | TimeoutException ex) {
+            throw new IllegalStateException("Did not start: " + String.join(" ", arguments), ex);
+        } finally {
+            process.destroy();
+            process.waitFor();
+            reader.join();
+        }
+    }
+
+    private static long residentKilobytes(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return -1;
+    }
+
+    private static long median(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private record Mode(String name, Path artifact, List<String> command) {
+    }
+
+    private record Sample(long millis, long residentKilobytes) {
+    }
+}
@@ -0,0 +1,59 @@
+package org.abpira.accounts.cache;
+
+import org.abpira.accounts.constants.AccountsConstants;
+import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.events.AccountsChangedEvent;
+import org.abpira.accounts.events.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountDetailsCacheEvictorTest {
+
+    private Cache cache;
+    private RecentWrites recentWrites;
+    private AccountDetailsCacheEvictor underTest;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(AccountsConstants.ACCOUNT_DETAILS_CACHE);
+        cache = cacheManager.getCache(AccountsConstants.ACCOUNT_DETAILS_CACHE);
+        recentWrites = new RecentWrites(Duration.ofMinutes(1));
+        underTest = new AccountDetailsCacheEvictor(cacheManager, recentWrites);
+    }
+
+    @Test
+    void shouldEvictOnlyTheChangedMobileNumber() {
+        // given
+        cache.put("1234567890", new CustomerDTO());
+        cache.put("1111111111", new CustomerDTO());
+
+        // when
+        underTest.onAccountsChanged(new AccountsChangedEvent(ChangeType.DELETED, "1234567890"));
+
+        // then
+        assertThat(cache.get("1234567890")).isNull();
+        assertThat(cache.get("1111111111")).isNotNull();
+        assertThat(recentWrites.contains("1234567890")).isTrue();
+        assertThat(recentWrites.contains("1111111111")).isFalse();
+    }
+
+    @Test
+    void shouldEvictPreviousMobileNumberOnUpdate() {
+        // given
+        cache.put("1234567890", new CustomerDTO());
+        cache.put("0987654321", new CustomerDTO());
+
+        // when
+        underTest.onAccountsChanged(new AccountsChangedEvent(ChangeType.UPDATED, "0987654321", "1234567890"));
+
+        // then
+        assertThat(cache.get("1234567890")).isNull();
+        assertThat(cache.get("0987654321")).isNull();
+    }
+}
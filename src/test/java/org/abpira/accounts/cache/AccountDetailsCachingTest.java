@@ -0,0 +1,99 @@
+package org.abpira.accounts.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.abpira.accounts.coalescing.SingleFlight;
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.constants.AccountsConstants;
+import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.generator.AccountNumberGenerator;
+import org.abpira.accounts.membership.MobileNumberFilter;
+import org.abpira.accounts.repository.AccountsRepository;
+import org.abpira.accounts.repository.CustomerRepository;
+import org.abpira.accounts.repository.projection.CustomerAccountView;
+import org.abpira.accounts.service.AccountsService;
+import org.abpira.accounts.service.AccountsServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig
+class AccountDetailsCachingTest {
+
+    @Autowired
+    private AccountsService underTest;
+
+    @Autowired
+    private RecentWrites recentWrites;
+
+    @MockitoBean
+    private CustomerRepository customerRepository;
+
+    @MockitoBean
+    private AccountsRepository accountsRepository;
+
+    @MockitoBean
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @MockitoBean
+    private MobileNumberFilter mobileNumberFilter;
+
+    @Test
+    void shouldNotCacheFetchOfRecentlyChangedMobileNumber() {
+        // given
+        when(customerRepository.findCustomerAccountByMobileNumber(anyString())).thenAnswer(invocation ->
+                Optional.of(new CustomerAccountView(1L, "abcde", "abc@gmail.com", invocation.getArgument(0), 0L,
+                        1027418131L, "Savings", "New York")));
+        recentWrites.record("1234567890");
+
+        // when
+        underTest.fetchAccountDetails("1234567890");
+        underTest.fetchAccountDetails("1234567890");
+        underTest.fetchAccountDetails("1111111111");
+        underTest.fetchAccountDetails("1111111111");
+
+        // then
+        verify(customerRepository, times(2)).findCustomerAccountByMobileNumber("1234567890");
+        verify(customerRepository, times(1)).findCustomerAccountByMobileNumber("1111111111");
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import(AccountsServiceImpl.class)
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(AccountsConstants.ACCOUNT_DETAILS_CACHE);
+        }
+
+        @Bean
+        RecentWrites recentWrites() {
+            return new RecentWrites(Duration.ofMinutes(1));
+        }
+
+        @Bean
+        AccountsProperties accountsProperties() {
+            return new AccountsProperties();
+        }
+
+        @Bean
+        SingleFlight<String, CustomerDTO> accountDetailsSingleFlight() {
+            return new SingleFlight<>("accountDetails", new SimpleMeterRegistry());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.abpira.accounts.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.abpira.accounts.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SingleFlight<String, String> underTest = new SingleFlight<>("test", meterRegistry);
+
+    @Test
+    void shouldShareFailureWithCallersThatJoinedTheFlight() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            // given
+            CountDownLatch leaderStarted = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Future<String> leader = executor.submit(() -> underTest.execute("k", () -> {
+                leaderStarted.countDown();
+                await(release);
+                throw new ResourceNotFoundException("Customer", "mobileNumber", "k");
+            }));
+            assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // when
+            Future<String> follower = executor.submit(() -> underTest.execute("k", () -> "unused"));
+            while (calls("coalesced") < 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            // then
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(ResourceNotFoundException.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(ResourceNotFoundException.class);
+            assertThat(calls("executed")).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldRunAgainOnceThePreviousFlightCompleted() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        underTest.execute("k", () -> "v" + loads.incrementAndGet());
+        String second = underTest.execute("k", () -> "v" + loads.incrementAndGet());
+
+        // then
+        assertThat(second).isEqualTo("v2");
+        assertThat(calls("executed")).isEqualTo(2);
+        assertThat(calls("coalesced")).isZero();
+        assertThat(meterRegistry.get("accounts.single-flight.in-flight").gauge().value()).isZero();
+    }
+
+    private long calls(String result) {
+        return (long) meterRegistry.get("accounts.single-flight.calls").tag("result", result).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
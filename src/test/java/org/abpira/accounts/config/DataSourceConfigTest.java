@@ -0,0 +1,156 @@
+package org.abpira.accounts.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataSourceConfigTest {
+
+    private static final String WHERE_AM_I = "select name from marker";
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = embedded("primary");
+        replica = embedded("replica");
+        DataSource underTest = new DataSourceConfig().dataSource(primary, Optional.of(replica));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(underTest);
+        jdbcTemplate = new JdbcTemplate(underTest);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        // when
+        String name = readOnly.execute(status -> jdbcTemplate.queryForObject(WHERE_AM_I, String.class));
+
+        // then
+        assertThat(name).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldRouteReadWriteTransactionsAndPlainStatementsToPrimary() {
+        // when
+        String inTransaction = readWrite.execute(status -> jdbcTemplate.queryForObject(WHERE_AM_I, String.class));
+        String withoutTransaction = jdbcTemplate.queryForObject(WHERE_AM_I, String.class);
+
+        // then
+        assertThat(inTransaction).isEqualTo("primary");
+        assertThat(withoutTransaction).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldRouteEachTransactionOfOneRequestToItsOwnPool() {
+        // when
+        String read = readOnly.execute(status -> jdbcTemplate.queryForObject(WHERE_AM_I, String.class));
+        String written = readWrite.execute(status -> {
+            jdbcTemplate.update("insert into marker (name) values (?)", "written");
+            return jdbcTemplate.queryForObject(WHERE_AM_I + " where name <> 'written'", String.class);
+        });
+
+        // then
+        assertThat(read).isEqualTo("replica");
+        assertThat(written).isEqualTo("primary");
+        assertThat(new JdbcTemplate(primary).queryForList("select name from marker", String.class))
+                .containsExactlyInAnyOrder("primary", "written");
+    }
+
+    @Test
+    void shouldNotBorrowConnectionForTransactionWithoutStatements() throws SQLException {
+        // given
+        AtomicInteger borrowed = new AtomicInteger();
+        DataSource counting = new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                borrowed.incrementAndGet();
+                return super.getConnection();
+            }
+        };
+        DataSource underTest = new DataSourceConfig().dataSource(counting, Optional.empty());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(underTest));
+        borrowed.set(0);
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+        });
+
+        // then
+        assertThat(borrowed).hasValue(0);
+    }
+
+    @Test
+    void shouldTakeDefaultsFromPoolConfigurationWithoutBorrowing() throws SQLException {
+        // given
+        AtomicInteger borrowed = new AtomicInteger();
+        try (HikariDataSource configured = new HikariDataSource()) {
+            configured.setJdbcUrl("jdbc:h2:mem:configured-routing");
+            configured.setTransactionIsolation("TRANSACTION_READ_COMMITTED");
+            DataSource counting = new DelegatingDataSource(configured) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    borrowed.incrementAndGet();
+                    return super.getConnection();
+                }
+            };
+
+            // when
+            new DataSourceConfig().dataSource(counting, Optional.empty());
+
+            // then
+            assertThat(borrowed).hasValue(0);
+        }
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWithoutReplica() throws SQLException {
+        // given
+        DataSource underTest = new DataSourceConfig().dataSource(primary, Optional.empty());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(underTest));
+        transactionTemplate.setReadOnly(true);
+
+        // when
+        String name = transactionTemplate.execute(
+                status -> new JdbcTemplate(underTest).queryForObject(WHERE_AM_I, String.class));
+
+        // then
+        assertThat(name).isEqualTo("primary");
+    }
+
+    private static HikariDataSource embedded(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + "-routing;DB_CLOSE_DELAY=-1");
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(2);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists marker (name varchar(16))");
+        jdbcTemplate.update("delete from marker");
+        jdbcTemplate.update("insert into marker (name) values (?)", name);
+        return dataSource;
+    }
+}
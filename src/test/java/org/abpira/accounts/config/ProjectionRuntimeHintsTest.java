@@ -0,0 +1,39 @@
+package org.abpira.accounts.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectionRuntimeHintsTest {
+
+    @Test
+    void shouldRegisterEveryProjection() {
+        // given
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+        List<Class<?>> projections = scanner.findCandidateComponents("org.abpira.accounts.repository.projection")
+                .stream()
+                .map(BeanDefinition::getBeanClassName)
+                .<Class<?>>map(name -> ClassUtils.resolveClassName(name, getClass().getClassLoader()))
+                .toList();
+        RuntimeHints hints = new RuntimeHints();
+
+        // when
+        new ProjectionRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // then
+        assertThat(projections).isNotEmpty();
+        assertThat(projections).allSatisfy(projection -> assertThat(RuntimeHintsPredicates.reflection()
+                .onType(projection)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS))
+                .accepts(hints));
+    }
+}
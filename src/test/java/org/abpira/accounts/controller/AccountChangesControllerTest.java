@@ -0,0 +1,75 @@
+package org.abpira.accounts.controller;
+
+import org.abpira.accounts.dto.AccountChangeDTO;
+import org.abpira.accounts.events.ChangeType;
+import org.abpira.accounts.service.AccountChangesService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = AccountChangesController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class AccountChangesControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AccountChangesService accountChangesService;
+
+    @Test
+    void shouldFollowByDefaultAndEndResponseWhenStreamCompletes() throws Exception {
+        // given a following stream that emits two changes and then reaches its maximum duration
+        when(accountChangesService.changesAfter(7, true)).thenReturn(Flux.just(change(8), change(9))
+                .concatWith(Flux.never())
+                .take(Duration.ofMillis(200)));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/changes")
+                        .param("after", "7")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(Duration.ofSeconds(5).toMillis());
+
+        // then
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(result.getResponse().getContentAsString().lines())
+                .satisfiesExactly(
+                        line -> assertThat(line).contains("\"sequenceNumber\":8"),
+                        line -> assertThat(line).contains("\"sequenceNumber\":9"));
+    }
+
+    @Test
+    void shouldRejectNegativeOffset() throws Exception {
+        // when & then
+        mockMvc.perform(get("/api/changes").param("after", "-1").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.after").value("Offset must not be negative"));
+        verifyNoInteractions(accountChangesService);
+    }
+
+    private static AccountChangeDTO change(long sequenceNumber) {
+        return AccountChangeDTO.builder()
+                .sequenceNumber(sequenceNumber)
+                .type(ChangeType.UPDATED)
+                .mobileNumber("1234567890")
+                .build();
+    }
+}
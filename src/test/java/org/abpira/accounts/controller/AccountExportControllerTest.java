@@ -0,0 +1,61 @@
+package org.abpira.accounts.controller;
+
+import org.abpira.accounts.export.ExportFormat;
+import org.abpira.accounts.service.AccountExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = AccountExportController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class AccountExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AccountExportService accountExportService;
+
+    @Test
+    void shouldExportInRequestedFormatFromOffset() throws Exception {
+        // when & then
+        mockMvc.perform(get("/api/export").param("format", "csv").param("after", "42"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"accounts.csv\""));
+        verify(accountExportService).exportAccounts(eq(ExportFormat.CSV), eq(42L), eq(Long.MAX_VALUE), isNull(),
+                isNull(), any());
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() throws Exception {
+        // when & then
+        mockMvc.perform(get("/api/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.format").value("Format should be ndjson or csv"));
+        verifyNoInteractions(accountExportService);
+    }
+
+    @Test
+    void shouldRejectNegativeOffset() throws Exception {
+        // when & then
+        mockMvc.perform(get("/api/export").param("after", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.after").value("Offset must not be negative"));
+        verifyNoInteractions(accountExportService);
+    }
+}
@@ -0,0 +1,74 @@
+package org.abpira.accounts.controller;
+
+import org.abpira.accounts.dto.AccountSearchResultDTO;
+import org.abpira.accounts.repository.projection.AccountSearchRow;
+import org.abpira.accounts.service.AccountSearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = AccountSearchController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class AccountSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AccountSearchService accountSearchService;
+
+    @Test
+    void shouldSearchAccountsPage() throws Exception {
+        // given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        when(accountSearchService.searchAccounts(eq("Savings"), isNull(), isNull(), isNull(), isNull(), eq(0L),
+                eq(1)))
+                .thenReturn(AccountSearchResultDTO.builder()
+                        .accounts(List.of(new AccountSearchRow(1027418131L, "Savings", "New York", createdAt, 1L,
+                                "abcde", "1234567890")))
+                        .nextAfterCreatedAt(createdAt)
+                        .nextAfterAccountNumber(1027418131L)
+                        .build());
+
+        // when & then
+        mockMvc.perform(get("/api/accounts/search").param("accountType", "Savings").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts[0].accountNumber").value(1027418131L))
+                .andExpect(jsonPath("$.nextAfterAccountNumber").value(1027418131L));
+    }
+
+    @Test
+    void shouldRejectLimitBelowOne() throws Exception {
+        // when & then
+        mockMvc.perform(get("/api/accounts/search").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.limit").value("Limit must be at least 1"));
+        verifyNoInteractions(accountSearchService);
+    }
+
+    @Test
+    void shouldRejectLimitAboveMaximum() throws Exception {
+        // when & then
+        mockMvc.perform(get("/api/accounts/search").param("limit", "501"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.limit").value("Limit must be at most 500"));
+        verifyNoInteractions(accountSearchService);
+    }
+}
@@ -3,8 +3,17 @@ package org.abpira.accounts.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.abpira.accounts.constants.AccountsConstants;
 import org.abpira.accounts.dto.AccountsDTO;
+import org.abpira.accounts.dto.BatchFetchRequestDTO;
+import org.abpira.accounts.dto.BatchFetchResponseDTO;
+import org.abpira.accounts.dto.BulkCreateItemDTO;
+import org.abpira.accounts.dto.BulkCreateResponseDTO;
+import org.abpira.accounts.dto.BulkCreateStatus;
+import org.abpira.accounts.dto.CustomerAccountsDTO;
 import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.dto.NewAccountDTO;
+import org.abpira.accounts.exceptions.BulkRequestTooLargeException;
 import org.abpira.accounts.service.AccountsService;
+import org.abpira.accounts.service.BulkAccountsService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -13,11 +22,18 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -38,6 +54,9 @@ class AccountsControllerTest {
     @MockitoBean
     private AccountsService accountsService;
 
+    @MockitoBean
+    private BulkAccountsService bulkAccountsService;
+
     @Test
     void shouldCreateAccountSuccessfully() throws Exception {
         // given
@@ -59,6 +78,51 @@ class AccountsControllerTest {
                 .andExpect(jsonPath("$.statusMessage", is(AccountsConstants.MESSAGE_201)));
     }
 
+    @Test
+    void shouldCreateAccountsInBulk() throws Exception {
+        // given
+        List<CustomerDTO> customerDTOs = List.of(
+                CustomerDTO.builder().name("abcde").mobileNumber("1234567890").email("abcde@gmail.com").build(),
+                CustomerDTO.builder().name("fghij").mobileNumber("1234567890").email("fghij@gmail.com").build());
+        BulkCreateResponseDTO response = BulkCreateResponseDTO.builder()
+                .created(1)
+                .rejected(1)
+                .items(List.of(
+                        BulkCreateItemDTO.builder().index(0).mobileNumber("1234567890")
+                                .status(BulkCreateStatus.CREATED).accountNumber(1027418131L).build(),
+                        BulkCreateItemDTO.builder().index(1).mobileNumber("1234567890")
+                                .status(BulkCreateStatus.DUPLICATE_IN_REQUEST).build()))
+                .build();
+        when(bulkAccountsService.createAccounts(any())).thenReturn(response);
+
+        // when & then
+        mockMvc.perform(post("/api/create/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(customerDTOs)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[1].status").value("DUPLICATE_IN_REQUEST"));
+    }
+
+    @Test
+    void shouldRejectOversizedBulkRequest() throws Exception {
+        // given
+        List<CustomerDTO> customerDTOs = List.of(
+                CustomerDTO.builder().name("abcde").mobileNumber("1234567890").email("abcde@gmail.com").build());
+        when(bulkAccountsService.createAccounts(any()))
+                .thenThrow(new BulkRequestTooLargeException("Bulk create accepts at most 0 customers"));
+
+        // when & then
+        mockMvc.perform(post("/api/create/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(customerDTOs)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Bulk create accepts at most 0 customers"));
+    }
+
     @Test
     void shouldFetchAccountDetailsSuccessfully() throws Exception {
         // given
@@ -88,6 +152,120 @@ class AccountsControllerTest {
                 .andExpect(jsonPath("$.accountsDTO.branchAddress").value("New York"));
     }
 
+    @Test
+    void shouldFetchAccountDetailsInBatch() throws Exception {
+        // given
+        CustomerDTO customerDTO = CustomerDTO.builder()
+                .name("abcde")
+                .mobileNumber("1234567890")
+                .email("abc@gmail.com")
+                .build();
+        when(accountsService.fetchAccountDetails(List.of("1234567890", "1111111111"))).thenReturn(
+                BatchFetchResponseDTO.builder()
+                        .customers(List.of(customerDTO))
+                        .notFound(List.of("1111111111"))
+                        .build());
+        BatchFetchRequestDTO request = BatchFetchRequestDTO.builder()
+                .mobileNumbers(List.of("1234567890", "1111111111"))
+                .build();
+
+        // when & then
+        mockMvc.perform(post("/api/fetch/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.customers[0].mobileNumber").value("1234567890"))
+                .andExpect(jsonPath("$.notFound[0]").value("1111111111"));
+    }
+
+    @Test
+    void shouldRejectBatchFetchWithInvalidMobileNumber() throws Exception {
+        // given
+        BatchFetchRequestDTO request = BatchFetchRequestDTO.builder()
+                .mobileNumbers(List.of("1234567890", "12345"))
+                .build();
+
+        // when & then
+        mockMvc.perform(post("/api/fetch/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldOpenAdditionalAccount() throws Exception {
+        // given
+        NewAccountDTO request = NewAccountDTO.builder()
+                .mobileNumber("1234567890")
+                .accountType("Current")
+                .branchAddress("Boston")
+                .build();
+        when(accountsService.openAccount(request)).thenReturn(AccountsDTO.builder()
+                .accountNumber(1027418132L)
+                .accountType("Current")
+                .branchAddress("Boston")
+                .build());
+
+        // when & then
+        mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.accountNumber").value(1027418132L));
+    }
+
+    @Test
+    void shouldListAccountsPage() throws Exception {
+        // given
+        when(accountsService.fetchAccounts("1234567890", 1027418131L, 2)).thenReturn(CustomerAccountsDTO.builder()
+                .mobileNumber("1234567890")
+                .accounts(List.of(
+                        AccountsDTO.builder().accountNumber(1027418132L).build(),
+                        AccountsDTO.builder().accountNumber(1027418133L).build()))
+                .nextAfter(1027418133L)
+                .build());
+
+        // when & then
+        mockMvc.perform(get("/api/accounts")
+                        .param("mobileNumber", "1234567890")
+                        .param("after", "1027418131")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts.length()").value(2))
+                .andExpect(jsonPath("$.nextAfter").value(1027418133L));
+    }
+
+    @Test
+    void shouldRejectAccountsPageWithLimitOutOfRange() throws Exception {
+        // when & then
+        mockMvc.perform(get("/api/accounts")
+                        .param("mobileNumber", "1234567890")
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.limit").value("Limit must be at least 1"));
+        mockMvc.perform(get("/api/accounts")
+                        .param("mobileNumber", "1234567890")
+                        .param("limit", "501"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.limit").value("Limit must be at most 500"));
+        verify(accountsService, never()).fetchAccounts(any(String.class), anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldRejectAccountsPageWithInvalidMobileNumberOrNegativeAfter() throws Exception {
+        // when & then
+        mockMvc.perform(get("/api/accounts").param("mobileNumber", "12345"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mobileNumber").value("Mobile number should be 10 digits"));
+        mockMvc.perform(get("/api/accounts")
+                        .param("mobileNumber", "1234567890")
+                        .param("after", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.after").value("After must not be negative"));
+        verify(accountsService, never()).fetchAccounts(any(String.class), anyLong(), anyInt());
+    }
+
     @Test
     void shouldUpdateAccountSuccessfully() throws Exception {
         // given
@@ -95,6 +273,7 @@ class AccountsControllerTest {
                 .name("abcde")
                 .mobileNumber("1234567890")
                 .email("abc@gmail.com")
+                .version(0L)
                 .build();
         when(accountsService.updateAccount(any(CustomerDTO.class))).thenReturn(true);
 
@@ -115,6 +294,7 @@ class AccountsControllerTest {
                 .name("abcde")
                 .mobileNumber("1234567890")
                 .email("abc@gmail.com")
+                .version(0L)
                 .build();
         when(accountsService.updateAccount(any(CustomerDTO.class))).thenReturn(false);
 
@@ -128,6 +308,106 @@ class AccountsControllerTest {
                 .andExpect(jsonPath("$.statusMessage", is(AccountsConstants.MESSAGE_500)));
     }
 
+    @Test
+    void shouldRejectUpdateWithoutVersion() throws Exception {
+        // given
+        CustomerDTO customerDTO = CustomerDTO.builder()
+                .name("abcde")
+                .mobileNumber("1234567890")
+                .email("abc@gmail.com")
+                .build();
+
+        // when & then
+        mockMvc.perform(put("/api/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(customerDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.version", is("Version should not be null")));
+        verify(accountsService, never()).updateAccount(any(CustomerDTO.class));
+    }
+
+    @Test
+    void shouldPatchAccountAndReportModifiedFields() throws Exception {
+        // given
+        CustomerDTO customerDTO = CustomerDTO.builder()
+                .email("new@gmail.com")
+                .version(0L)
+                .accountsDTO(AccountsDTO.builder().accountNumber(1000000008L).build())
+                .build();
+        when(accountsService.patchAccount(any(CustomerDTO.class))).thenReturn(List.of("email"));
+
+        // when & then
+        mockMvc.perform(patch("/api/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(customerDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statusCode", is(AccountsConstants.STATUS_200)))
+                .andExpect(jsonPath("$.modifiedFields[0]", is("email")));
+    }
+
+    @Test
+    void shouldRejectMalformedFieldInPatch() throws Exception {
+        // given
+        CustomerDTO customerDTO = CustomerDTO.builder()
+                .email("not-an-email")
+                .accountsDTO(AccountsDTO.builder().accountNumber(1000000008L).build())
+                .build();
+
+        // when & then
+        mockMvc.perform(patch("/api/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(customerDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.email", is("Invalid email format")));
+    }
+
+    @Test
+    void shouldRejectPatchWithoutAccountNumber() throws Exception {
+        // given
+        CustomerDTO withoutNumber = CustomerDTO.builder()
+                .email("new@gmail.com")
+                .version(0L)
+                .accountsDTO(AccountsDTO.builder().accountType("Current").build())
+                .build();
+        CustomerDTO withoutAccount = CustomerDTO.builder()
+                .email("new@gmail.com")
+                .version(0L)
+                .build();
+
+        // when & then
+        mockMvc.perform(patch("/api/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(withoutNumber)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['accountsDTO.accountNumber']", is("Account number should not be null")));
+        mockMvc.perform(patch("/api/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(withoutAccount)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.accountsDTO", is("Account details should not be null")));
+        verify(accountsService, never()).patchAccount(any(CustomerDTO.class));
+    }
+
+    @Test
+    void shouldRejectUpdateWithoutAccountNumber() throws Exception {
+        // given
+        CustomerDTO customerDTO = CustomerDTO.builder()
+                .name("abcde")
+                .mobileNumber("1234567890")
+                .email("abc@gmail.com")
+                .version(0L)
+                .accountsDTO(AccountsDTO.builder().accountType("Savings").branchAddress("New York").build())
+                .build();
+
+        // when & then
+        mockMvc.perform(put("/api/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(customerDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['accountsDTO.accountNumber']", is("Account number should not be null")));
+        verify(accountsService, never()).updateAccount(any(CustomerDTO.class));
+    }
+
     @Test
     void shouldDeleteAccountSuccessfully() throws Exception {
         // given
@@ -0,0 +1,65 @@
+package org.abpira.accounts.controller;
+
+import org.abpira.accounts.search.CustomerSearchHit;
+import org.abpira.accounts.service.CustomerSearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = CustomerSearchController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class CustomerSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CustomerSearchService customerSearchService;
+
+    @Test
+    void shouldSearchCustomers() throws Exception {
+        // given
+        when(customerSearchService.searchCustomers("abc", 5))
+                .thenReturn(List.of(new CustomerSearchHit("abcde", "abcde@gmail.com", "1234567890")));
+
+        // when & then
+        mockMvc.perform(get("/api/customers/search").param("q", "abc").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].mobileNumber").value("1234567890"));
+    }
+
+    @Test
+    void shouldRejectBlankOrOverlongQuery() throws Exception {
+        // when & then
+        mockMvc.perform(get("/api/customers/search").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.q").value("Query should not be empty"));
+        mockMvc.perform(get("/api/customers/search").param("q", "a".repeat(101)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.q").value("Query should be at most 100 characters"));
+        verifyNoInteractions(customerSearchService);
+    }
+
+    @Test
+    void shouldRejectLimitOutOfRange() throws Exception {
+        // when & then
+        mockMvc.perform(get("/api/customers/search").param("q", "abc").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.limit").value("Limit must be at least 1"));
+        mockMvc.perform(get("/api/customers/search").param("q", "abc").param("limit", "51"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.limit").value("Limit must be at most 50"));
+        verifyNoInteractions(customerSearchService);
+    }
+}
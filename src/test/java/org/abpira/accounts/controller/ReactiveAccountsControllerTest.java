@@ -0,0 +1,134 @@
+package org.abpira.accounts.controller;
+
+import org.abpira.accounts.dto.AccountsDTO;
+import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.exceptions.ResourceNotFoundException;
+import org.abpira.accounts.service.ReactiveAccountsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ReactiveAccountsController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ReactiveAccountsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReactiveAccountsService reactiveAccountsService;
+
+    @Test
+    void shouldFetchAccountDetailsWithoutBlocking() throws Exception {
+        // given
+        when(reactiveAccountsService.fetchAccountDetails("1234567890")).thenReturn(Mono.just(customer("1234567890")));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/reactive/fetch").param("mobileNumber", "1234567890"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mobileNumber").value("1234567890"))
+                .andExpect(jsonPath("$.accountsDTO.accountNumber").value(1027418131));
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenCustomerMissing() throws Exception {
+        // given
+        when(reactiveAccountsService.fetchAccountDetails("1234567890"))
+                .thenReturn(Mono.error(new ResourceNotFoundException("Customer", "mobileNumber", "1234567890")));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/reactive/fetch").param("mobileNumber", "1234567890"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldStreamAccountDetailsAsNdjson() throws Exception {
+        // given
+        when(reactiveAccountsService.fetchAccountDetails(List.of("1234567890", "0987654321")))
+                .thenReturn(Flux.just(customer("1234567890"), customer("0987654321")));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/reactive/fetch/stream")
+                        .param("mobileNumbers", "1234567890", "0987654321")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        // then
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        // one JSON document per line, in the order the service emitted them
+        assertThat(result.getResponse().getContentAsString().lines())
+                .satisfiesExactly(
+                        line -> assertThat(line).startsWith("{").contains("\"mobileNumber\":\"1234567890\""),
+                        line -> assertThat(line).startsWith("{").contains("\"mobileNumber\":\"0987654321\""));
+    }
+
+    @Test
+    void shouldRejectMalformedMobileNumberInStream() throws Exception {
+        // when & then
+        mockMvc.perform(get("/api/reactive/fetch/stream")
+                        .param("mobileNumbers", "1234567890", "12345")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mobileNumbers").value("Mobile number should be 10 digits"));
+        verifyNoInteractions(reactiveAccountsService);
+    }
+
+    @Test
+    void shouldRejectStreamOfMoreThanThousandNumbers() throws Exception {
+        // given
+        String[] mobileNumbers = IntStream.range(0, 1001)
+                .mapToObj(i -> String.format("%010d", i))
+                .toArray(String[]::new);
+
+        // when & then
+        mockMvc.perform(get("/api/reactive/fetch/stream")
+                        .param("mobileNumbers", mobileNumbers)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mobileNumbers").value("At most 1000 mobile numbers can be fetched at once"));
+        verifyNoInteractions(reactiveAccountsService);
+    }
+
+    private static CustomerDTO customer(String mobileNumber) {
+        return CustomerDTO.builder()
+                .name("abcde")
+                .email("abc@gmail.com")
+                .mobileNumber(mobileNumber)
+                .accountsDTO(AccountsDTO.builder()
+                        .accountNumber(1027418131L)
+                        .accountType("Savings")
+                        .branchAddress("New York")
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package org.abpira.accounts.diagnostics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.abpira.accounts.config.AccountsProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnJre;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// From JDK 24 onwards synchronized no longer pins virtual threads (JEP 491)
+@EnabledOnJre(JRE.JAVA_21)
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private VirtualThreadPinningMonitor underTest;
+
+    @BeforeEach
+    void setUp() {
+        AccountsProperties accountsProperties = new AccountsProperties();
+        accountsProperties.getDiagnostics().getPinning().setThreshold(Duration.ofMillis(5));
+        underTest = new VirtualThreadPinningMonitor(meterRegistry, accountsProperties);
+        underTest.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.stop();
+    }
+
+    @Test
+    void shouldRecordVirtualThreadBlockingInsideSynchronized() throws Exception {
+        // given
+        Object lock = new Object();
+
+        // when
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        // then
+        Timer pinned = meterRegistry.get("accounts.virtual-threads.pinned").timer();
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (pinned.count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(pinned.count()).isGreaterThanOrEqualTo(1);
+    }
+}
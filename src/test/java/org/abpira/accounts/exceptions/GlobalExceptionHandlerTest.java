@@ -0,0 +1,58 @@
+package org.abpira.accounts.exceptions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.abpira.accounts.dto.ErrorResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GlobalExceptionHandler underTest = new GlobalExceptionHandler(
+            new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class));
+
+    @Test
+    void shouldCountErrorsByExceptionType() {
+        // given
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/fetch"));
+
+        // when
+        underTest.handleRNFE(new ResourceNotFoundException("Customer", "mobileNumber", "123"), request);
+        underTest.handleRNFE(new ResourceNotFoundException("Customer", "mobileNumber", "456"), request);
+        underTest.handleCAEE(new CustomerAlreadyExistsException("exists"), request);
+
+        // then
+        assertThat(meterRegistry.get(GlobalExceptionHandler.ERROR_COUNTER)
+                .tag("exception", "ResourceNotFoundException")
+                .tag("status", "404")
+                .counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(GlobalExceptionHandler.ERROR_COUNTER)
+                .tag("exception", "CustomerAlreadyExistsException")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAnswerRateLimitWithRetryAfterInWholeSeconds() {
+        // given
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/fetch"));
+
+        // when
+        ResponseEntity<ErrorResponseDTO> response = underTest.handleRLEE(
+                new RateLimitExceededException("fetch", Duration.ofMillis(1200)), request);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+    }
+}
@@ -0,0 +1,94 @@
+package org.abpira.accounts.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockAccountNumberGeneratorTest {
+
+    @Test
+    void shouldProduceTenDigitNumbersWithValidCheckDigit() {
+        // given
+        BlockAccountNumberGenerator underTest = new BlockAccountNumberGenerator(inMemoryAllocator(new AtomicInteger()), 10);
+
+        // when
+        long first = underTest.nextAccountNumber();
+        long second = underTest.nextAccountNumber();
+
+        // then
+        assertThat(first).isEqualTo(LuhnCheckDigit.append(AccountNumberBlock.FIRST_PAYLOAD));
+        assertThat(second).isEqualTo(LuhnCheckDigit.append(AccountNumberBlock.FIRST_PAYLOAD + 1));
+        assertThat(String.valueOf(first)).hasSize(10);
+        // above every number the random generator can produce
+        assertThat(first).isGreaterThanOrEqualTo(1_900_000_000L);
+        assertThat(LuhnCheckDigit.isValid(first)).isTrue();
+        assertThat(LuhnCheckDigit.isValid(first + 1)).isFalse();
+    }
+
+    @Test
+    void shouldComputeKnownLuhnCheckDigit() {
+        // 7992739871 is the textbook Luhn example, its check digit is 3
+        assertThat(LuhnCheckDigit.compute(7992739871L)).isEqualTo(3);
+        assertThat(LuhnCheckDigit.isValid(79927398713L)).isTrue();
+    }
+
+    @Test
+    void shouldNeverHandOutDuplicatesUnderConcurrentLoad() throws Exception {
+        // given
+        int threads = 16;
+        int perThread = 50_000;
+        int blockSize = 64;
+        AtomicInteger allocations = new AtomicInteger();
+        BlockAccountNumberGenerator underTest = new BlockAccountNumberGenerator(inMemoryAllocator(allocations), blockSize);
+        Set<Long> seen = ConcurrentHashMap.newKeySet(threads * perThread);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                int invalid = 0;
+                for (int i = 0; i < perThread; i++) {
+                    long number = underTest.nextAccountNumber();
+                    if (!seen.add(number) || !LuhnCheckDigit.isValid(number)) {
+                        invalid++;
+                    }
+                }
+                return invalid;
+            }));
+        }
+        start.countDown();
+        int invalid = 0;
+        for (Future<Integer> future : futures) {
+            invalid += future.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(invalid).isZero();
+        assertThat(seen).hasSize(threads * perThread);
+        assertThat(allocations.get()).isEqualTo(threads * perThread / blockSize);
+    }
+
+    private static AccountNumberBlockAllocator inMemoryAllocator(AtomicInteger allocations) {
+        AtomicLong next = new AtomicLong(AccountNumberBlock.FIRST_PAYLOAD);
+        return size -> {
+            allocations.incrementAndGet();
+            long start = next.getAndAdd(size);
+            return new AccountNumberBlock(start, start + size);
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package org.abpira.accounts.generator;
+
+import org.abpira.accounts.repository.AccountNumberSequenceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaAccountNumberBlockAllocatorTest {
+
+    @Autowired
+    private AccountNumberSequenceRepository sequenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldAllocateConsecutiveDisjointBlocks() {
+        // given
+        JpaAccountNumberBlockAllocator underTest = new JpaAccountNumberBlockAllocator(sequenceRepository, transactionManager);
+
+        // when
+        AccountNumberBlock first = underTest.allocate(100);
+        AccountNumberBlock second = underTest.allocate(100);
+
+        // then
+        assertThat(second.start()).isEqualTo(first.end());
+        assertThat(second.end() - second.start()).isEqualTo(100);
+        assertThat(sequenceRepository.findById(JpaAccountNumberBlockAllocator.SEQUENCE_NAME))
+                .hasValueSatisfying(s -> assertThat(s.getNextPayload()).isEqualTo(second.end()));
+    }
+}
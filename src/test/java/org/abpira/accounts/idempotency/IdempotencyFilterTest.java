@@ -0,0 +1,172 @@
+package org.abpira.accounts.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.abpira.accounts.constants.AccountsConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final IdempotencyFilter underTest = new IdempotencyFilter(
+            new IdempotencyStore(100, Duration.ofMinutes(1)), Duration.ofSeconds(5),
+            new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    void shouldReplayCompletedResponseWithoutExecutingAgain() throws Exception {
+        // given
+        MockHttpServletResponse first = perform("key-1", "{\"name\":\"abcde\"}", 201);
+
+        // when
+        MockHttpServletResponse retry = perform("key-1", "{\"name\":\"abcde\"}", 201);
+
+        // then
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader(AccountsConstants.IDEMPOTENT_REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void shouldRejectReusedKeyWithDifferentBody() throws Exception {
+        // given
+        perform("key-1", "{\"name\":\"abcde\"}", 201);
+
+        // when
+        MockHttpServletResponse response = perform("key-1", "{\"name\":\"other\"}", 201);
+
+        // then
+        assertThat(executions).hasValue(1);
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void shouldExecuteAgainWhenOriginalFailedWithServerError() throws Exception {
+        // given
+        perform("key-1", "{}", 500);
+
+        // when
+        MockHttpServletResponse retry = perform("key-1", "{}", 201);
+
+        // then
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(AccountsConstants.IDEMPOTENT_REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void shouldPassReadsThroughEvenWithKey() throws Exception {
+        // given
+        perform(request("GET", "/api/accounts", null, "key-1", "{}"), 200);
+
+        // when
+        MockHttpServletResponse retry = perform(request("GET", "/api/accounts", null, "key-1", "{}"), 200);
+
+        // then
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getHeader(AccountsConstants.IDEMPOTENT_REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void shouldScopeKeyToQueryString() throws Exception {
+        // given
+        perform(request("POST", "/api/accounts", "mobileNumber=1111111111", "key-1", "{}"), 201);
+
+        // when
+        MockHttpServletResponse other =
+                perform(request("POST", "/api/accounts", "mobileNumber=2222222222", "key-1", "{}"), 201);
+
+        // then
+        assertThat(executions).hasValue(2);
+        assertThat(other.getHeader(AccountsConstants.IDEMPOTENT_REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void shouldCoalesceConcurrentDuplicatesIntoOneExecution() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServlet slowServlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                executions.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                res.setStatus(201);
+                res.getWriter().write("created");
+            }
+        };
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            // when
+            Future<MockHttpServletResponse> original = executor.submit(() -> perform("key-1", "{}", slowServlet));
+            started.await(5, TimeUnit.SECONDS);
+            Future<MockHttpServletResponse> duplicate = executor.submit(() -> perform("key-1", "{}", slowServlet));
+            Thread.sleep(100);
+            release.countDown();
+
+            // then
+            assertThat(original.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+            assertThat(duplicate.get(5, TimeUnit.SECONDS).getContentAsString()).isEqualTo("created");
+            assertThat(executions).hasValue(1);
+        }
+    }
+
+    private MockHttpServletResponse perform(String key, String body, int status) throws Exception {
+        return perform(request("POST", "/api/create", null, key, body), status);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, int status) throws Exception {
+        return perform(request, new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                executions.incrementAndGet();
+                String received = new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                res.setStatus(status);
+                res.setContentType("application/json");
+                res.getWriter().write("{\"echo\":" + received + ",\"n\":" + executions.get() + "}");
+            }
+        });
+    }
+
+    private MockHttpServletResponse perform(String key, String body, HttpServlet servlet) throws Exception {
+        return perform(request("POST", "/api/create", null, key, body), servlet);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, HttpServlet servlet) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        underTest.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String query, String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setQueryString(query);
+        request.addHeader(AccountsConstants.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
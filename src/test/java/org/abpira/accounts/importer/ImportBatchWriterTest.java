@@ -0,0 +1,133 @@
+package org.abpira.accounts.importer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.abpira.accounts.dto.AccountsDTO;
+import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.entities.Accounts;
+import org.abpira.accounts.entities.ImportBatch;
+import org.abpira.accounts.entities.ImportRejection;
+import org.abpira.accounts.generator.AccountNumberGenerator;
+import org.abpira.accounts.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportBatchWriterTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final AccountNumberGenerator accountNumberGenerator = new AtomicLong(1000000000L)::incrementAndGet;
+
+    private ImportBatchWriter underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ImportBatchWriter(customerRepository, entityManager, transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher, accountNumberGenerator);
+    }
+
+    @Test
+    void shouldImportValidRecordsAndRejectTheRest() {
+        // given
+        List<ImportRecord> records = List.of(
+                record(1, "Alice Smith", "1111111111", "Current"),
+                record(2, "x", "2222222222", "Savings"),
+                record(3, "Alice Again", "1111111111", "Savings"),
+                record(4, "Bob Jones", "3333333333", "Savings"),
+                record(5, "Carol King", "4444444444", ""),
+                new ImportRecord(6, null, "Expected 5 fields but found 2"));
+        when(customerRepository.findExistingMobileNumbers(anyCollection())).thenReturn(Set.of("3333333333"));
+
+        // when
+        ImportBatch batch = underTest.write(7L, 3L, records);
+
+        // then
+        assertThat(batch.getImported()).isEqualTo(1);
+        assertThat(batch.getRejected()).isEqualTo(5);
+        assertThat(batch.getBatchNumber()).isEqualTo(3L);
+        ArgumentCaptor<Object> persisted = ArgumentCaptor.forClass(Object.class);
+        verify(entityManager, atLeastOnce()).persist(persisted.capture());
+        assertThat(persisted.getAllValues()).filteredOn(Accounts.class::isInstance)
+                .singleElement()
+                .satisfies(account -> assertThat(((Accounts) account).getAccountType()).isEqualTo("Current"));
+        assertThat(persisted.getAllValues()).filteredOn(ImportRejection.class::isInstance)
+                .extracting("recordNumber", "reason")
+                .containsExactlyInAnyOrder(
+                        tuple(2L, "name: Name should be between 5 and 30 characters"),
+                        tuple(3L, "Mobile number appears more than once in the file"),
+                        tuple(4L, "Customer already exists with mobile number 3333333333"),
+                        tuple(5L, "accountsDTO.accountType: Account type should not be empty"),
+                        tuple(6L, "Expected 5 fields but found 2"));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldRetryBatchThatCollidesWithConcurrentInsert() {
+        // given
+        when(customerRepository.findExistingMobileNumbers(anyCollection()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("1111111111"));
+        doThrow(new DataIntegrityViolationException("duplicate mobile number"))
+                .doNothing()
+                .when(entityManager).flush();
+
+        // when
+        ImportBatch batch = underTest.write(7L, 1L, List.of(record(1, "Alice Smith", "1111111111", "Savings")));
+
+        // then
+        assertThat(batch.getImported()).isZero();
+        assertThat(batch.getRejected()).isEqualTo(1);
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        // given
+        when(customerRepository.findExistingMobileNumbers(anyCollection())).thenReturn(Set.of());
+        doThrow(new DataIntegrityViolationException("duplicate mobile number")).when(entityManager).flush();
+        List<ImportRecord> records = List.of(record(1, "Alice Smith", "1111111111", "Savings"));
+
+        // when / then
+        assertThatThrownBy(() -> underTest.write(7L, 1L, records))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verify(transactionManager, times(ImportBatchWriter.MAX_ATTEMPTS)).getTransaction(any());
+    }
+
+    private static ImportRecord record(long recordNumber, String name, String mobileNumber, String accountType) {
+        return new ImportRecord(recordNumber, CustomerDTO.builder()
+                .name(name)
+                .email("customer@example.com")
+                .mobileNumber(mobileNumber)
+                .accountsDTO(AccountsDTO.builder().accountType(accountType).branchAddress("Main St").build())
+                .build(), null);
+    }
+}
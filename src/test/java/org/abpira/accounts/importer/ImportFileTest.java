@@ -0,0 +1,67 @@
+package org.abpira.accounts.importer;
+
+import org.abpira.accounts.exceptions.InvalidImportFileException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImportFileTest {
+
+    @Test
+    void shouldMapColumnsByHeaderAndParseQuotedFields() throws IOException {
+        // given
+        String csv = "\uFEFFMobileNumber,name,email,branchAddress,accountType\r\n"
+                + "1111111111,Alice Smith,alice@example.com,\"12 Main St, \"\"Old\"\" Town\",Savings\r\n"
+                + "\r\n"
+                + "2222222222,Bob Jones,bob@example.com,\"Line one\nLine two\",Current\n";
+
+        // when
+        List<ImportRecord> batch = new ImportFile(new StringReader(csv)).nextBatch(10);
+
+        // then
+        assertThat(batch).extracting(ImportRecord::recordNumber).containsExactly(1L, 2L);
+        assertThat(batch.get(0).customerDTO().getName()).isEqualTo("Alice Smith");
+        assertThat(batch.get(0).customerDTO().getMobileNumber()).isEqualTo("1111111111");
+        assertThat(batch.get(0).customerDTO().getAccountsDTO().getBranchAddress()).isEqualTo("12 Main St, \"Old\" Town");
+        assertThat(batch.get(1).customerDTO().getAccountsDTO().getBranchAddress()).isEqualTo("Line one\nLine two");
+        assertThat(batch.get(1).customerDTO().getAccountsDTO().getAccountType()).isEqualTo("Current");
+    }
+
+    @Test
+    void shouldHandOutFixedSizeBatchesAndFlagMalformedRecords() throws IOException {
+        // given
+        String csv = "name,email,mobileNumber,accountType,branchAddress\n"
+                + "Alice Smith,alice@example.com,1111111111,Savings,Main St\n"
+                + "Bob Jones,bob@example.com\n"
+                + "Carol King,carol@example.com,3333333333,Savings,Main St\n";
+        ImportFile file = new ImportFile(new StringReader(csv));
+
+        // when
+        List<ImportRecord> first = file.nextBatch(2);
+        List<ImportRecord> second = file.nextBatch(2);
+        List<ImportRecord> third = file.nextBatch(2);
+
+        // then
+        assertThat(first).hasSize(2);
+        assertThat(first.get(1).customerDTO()).isNull();
+        assertThat(first.get(1).error()).isEqualTo("Expected 5 fields but found 2");
+        assertThat(second).extracting(ImportRecord::recordNumber).containsExactly(3L);
+        assertThat(third).isEmpty();
+    }
+
+    @Test
+    void shouldRejectFileWithoutRequiredColumn() {
+        // given
+        String csv = "name,email,accountType,branchAddress\n";
+
+        // when / then
+        assertThatThrownBy(() -> new ImportFile(new StringReader(csv)))
+                .isInstanceOf(InvalidImportFileException.class)
+                .hasMessageContaining("mobileNumber");
+    }
+}
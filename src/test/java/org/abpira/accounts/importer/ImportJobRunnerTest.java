@@ -0,0 +1,118 @@
+package org.abpira.accounts.importer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.entities.ImportBatch;
+import org.abpira.accounts.entities.ImportJob;
+import org.abpira.accounts.repository.ImportBatchRepository;
+import org.abpira.accounts.repository.ImportJobRepository;
+import org.abpira.accounts.repository.projection.ImportTotals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobRunnerTest {
+
+    private static final String CSV = "name,email,mobileNumber,accountType,branchAddress\n"
+            + "Alice Smith,alice@example.com,1111111111,Savings,Main St\n"
+            + "Bob Jones,bob@example.com,2222222222,Savings,Main St\n"
+            + "Carol King,carol@example.com,3333333333,Savings,Main St\n"
+            + "Dave Brown,dave@example.com,4444444444,Savings,Main St\n"
+            + "Erin White,erin@example.com,5555555555,Savings,Main St\n";
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private ImportBatchRepository importBatchRepository;
+
+    @Mock
+    private ImportBatchWriter batchWriter;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ImportJobRunner underTest;
+
+    @BeforeEach
+    void setUp() {
+        AccountsProperties accountsProperties = new AccountsProperties();
+        accountsProperties.getFileImport().setParallelism(2);
+        underTest = new ImportJobRunner(importJobRepository, importBatchRepository, batchWriter, accountsProperties,
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.shutdown();
+    }
+
+    @Test
+    void shouldSkipCommittedBatchesWhenResuming() throws IOException {
+        // given
+        ImportJob job = job();
+        when(importBatchRepository.findBatchNumbersByJobId(7L)).thenReturn(Set.of(1L));
+        when(batchWriter.write(eq(7L), anyLong(), anyList())).thenAnswer(invocation -> ImportBatch.builder()
+                .batchNumber(invocation.getArgument(1))
+                .imported(invocation.<List<?>>getArgument(2).size())
+                .build());
+        when(importBatchRepository.findTotals(eq(7L), any())).thenReturn(new ImportTotals(3L, 5L, 0L, 3L));
+
+        // when
+        underTest.run(job, new ImportFile(new StringReader(CSV)));
+
+        // then
+        verify(batchWriter).write(eq(7L), eq(2L), argThat(records -> records.size() == 2));
+        verify(batchWriter).write(eq(7L), eq(3L), argThat(records -> records.size() == 1));
+        verify(batchWriter, never()).write(eq(7L), eq(1L), anyList());
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getFinishedAt()).isNotNull();
+        assertThat(meterRegistry.get(ImportJobRunner.ROWS_COUNTER).tag("result", "imported").counter().count())
+                .isEqualTo(3);
+        verify(importJobRepository).save(job);
+    }
+
+    @Test
+    void shouldMarkJobFailedWhenBatchFails() throws IOException {
+        // given
+        ImportJob job = job();
+        when(importBatchRepository.findBatchNumbersByJobId(7L)).thenReturn(Set.of());
+        when(batchWriter.write(eq(7L), anyLong(), anyList())).thenThrow(new IllegalStateException("database down"));
+        when(importBatchRepository.findTotals(eq(7L), any())).thenReturn(new ImportTotals(0L, 0L, 0L, 0L));
+
+        // when
+        underTest.run(job, new ImportFile(new StringReader(CSV)));
+
+        // then
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(job.getFailureMessage()).isEqualTo("database down");
+        assertThat(underTest.isRunning(7L)).isFalse();
+    }
+
+    private static ImportJob job() {
+        return ImportJob.builder()
+                .id(7L)
+                .filePath("customers.csv")
+                .status(ImportJobStatus.RUNNING)
+                .batchSize(2)
+                .startedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package org.abpira.accounts.load;
+
+import org.abpira.accounts.repository.AccountsRepository;
+import org.abpira.accounts.repository.projection.AccountSearchRow;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Generates a few million accounts in H2 and times the first search page against a page near the end, for each
+ * index the search can use. With keyset paging both read one index range stopped at the page size, so the deep
+ * page must not cost noticeably more than the first.
+ */
+@Tag("load")
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:account-search-load;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class AccountSearchLoadTest {
+
+    private static final int CUSTOMERS = 250_000;
+    private static final int ACCOUNTS = 2_500_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int RUNS = 25;
+    private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Autowired
+    private AccountsRepository accountsRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void deepPageShouldCostAboutTheSameAsFirstPage() {
+        // given
+        generate();
+        // account x is created x seconds after START; this cursor leaves the last 10,000 accounts
+        LocalDateTime deepCursor = START.plusSeconds(ACCOUNTS - 10_000);
+
+        for (String[] filters : new String[][]{
+                {null, null}, {"Savings", null}, {null, "Branch 7"}, {"Savings", "Branch 8"}}) {
+            // when
+            Duration first = medianPage(filters[0], filters[1], null);
+            Duration deep = medianPage(filters[0], filters[1], deepCursor);
+
+            // then
+            System.out.printf("accountType=%s branchAddress=%s: first page %d us, deep page %d us%n",
+                    filters[0], filters[1], first.toNanos() / 1000, deep.toNanos() / 1000);
+            assertThat(deep).isLessThan(first.multipliedBy(3).plusMillis(5));
+        }
+    }
+
+    private Duration medianPage(String accountType, String branchAddress, LocalDateTime afterCreatedAt) {
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            List<AccountSearchRow> page = accountsRepository.search(accountType, branchAddress, null, null,
+                    afterCreatedAt, 0L, PAGE_SIZE);
+            nanos[i] = System.nanoTime() - start;
+            assertThat(page).hasSize(PAGE_SIZE);
+            entityManager.clear();
+        }
+        Arrays.sort(nanos);
+        return Duration.ofNanos(nanos[RUNS / 2]);
+    }
+
+    private void generate() {
+        entityManager.getEntityManager().createNativeQuery("""
+                insert into customer (customer_id, name, email, mobile_number, created_at, version)
+                select x, 'Customer ' || x, 'customer' || x || '@example.com', cast(1000000000 + x as varchar),
+                       timestamp '2020-01-01 00:00:00', 0
+                from system_range(1, %d)
+                """.formatted(CUSTOMERS)).executeUpdate();
+        // four account types and a hundred branches, spread evenly over creation time
+        entityManager.getEntityManager().createNativeQuery("""
+                insert into accounts (account_number, customer_id, account_type, branch_address, created_at, version)
+                select 2000000000 + x, 1 + mod(x, %d),
+                       case mod(x, 4) when 0 then 'Savings' when 1 then 'Current' when 2 then 'Salary'
+                           else 'Deposit' end,
+                       'Branch ' || mod(x, 100), dateadd(second, x, timestamp '2020-01-01 00:00:00'), 0
+                from system_range(1, %d)
+                """.formatted(CUSTOMERS, ACCOUNTS)).executeUpdate();
+    }
+}
@@ -0,0 +1,105 @@
+package org.abpira.accounts.load;
+
+import org.abpira.accounts.search.CustomerSearchIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Indexes a million generated customers, reports the heap the index retains and times typeahead queries as they are
+ * typed, including ones with a typo. Names are built from syllables so the dictionary holds a realistic spread of
+ * shared and rare terms.
+ */
+@Tag("load")
+class CustomerSearchIndexLoadTest {
+
+    private static final int CUSTOMERS = 1_000_000;
+    private static final int QUERIES = 2_000;
+    private static final String[] SYLLABLES = {"an", "be", "car", "da", "el", "fi", "gor", "ha", "is", "jo", "ka",
+            "lin", "ma", "no", "ol", "pe", "ri", "sa", "ta", "ul", "vi", "wen", "xa", "yo", "zu"};
+
+    @Test
+    void shouldAnswerTypeaheadUnderAMillisecondForAMillionCustomers() {
+        // given
+        Random random = new Random(42);
+        String[] firstNames = words(random, 2_000);
+        String[] lastNames = words(random, 20_000);
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = usedHeap(memory);
+        CustomerSearchIndex index = new CustomerSearchIndex();
+        long start = System.nanoTime();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            String first = firstNames[random.nextInt(firstNames.length)];
+            String last = lastNames[random.nextInt(lastNames.length)];
+            index.put(first + " " + last, first + "." + last + i + "@example.com", String.valueOf(6000000000L + i));
+        }
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+        long retained = usedHeap(memory) - before;
+        System.out.printf("%d customers, %d terms: built in %d ms, %d MB retained (%d bytes per customer)%n",
+                index.size(), index.termCount(), buildMillis, retained >> 20, retained / CUSTOMERS);
+
+        // when
+        long[] nanos = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String query = query(random, firstNames, lastNames);
+            long queryStart = System.nanoTime();
+            index.search(query, 10);
+            nanos[i] = System.nanoTime() - queryStart;
+        }
+
+        // then
+        Arrays.sort(nanos);
+        Duration median = Duration.ofNanos(nanos[QUERIES / 2]);
+        System.out.printf("typeahead: median %d us, p99 %d us, max %d us%n", median.toNanos() / 1000,
+                nanos[QUERIES * 99 / 100] / 1000, nanos[QUERIES - 1] / 1000);
+        assertThat(index.size()).isEqualTo(CUSTOMERS);
+        assertThat(median).isLessThan(Duration.ofMillis(1));
+    }
+
+    /**
+     * What a user has typed so far: the start of a first name, or a full first name and the start of a last name,
+     * every tenth time with two letters swapped.
+     */
+    private static String query(Random random, String[] firstNames, String[] lastNames) {
+        String first = firstNames[random.nextInt(firstNames.length)];
+        String last = lastNames[random.nextInt(lastNames.length)];
+        String query = random.nextBoolean()
+                ? first.substring(0, 1 + random.nextInt(first.length()))
+                : first + " " + last.substring(0, 1 + random.nextInt(last.length()));
+        if (random.nextInt(10) == 0 && query.length() > 3) {
+            char[] chars = query.toCharArray();
+            int at = 1 + random.nextInt(chars.length - 2);
+            char swapped = chars[at];
+            chars[at] = chars[at + 1];
+            chars[at + 1] = swapped;
+            query = new String(chars);
+        }
+        return query;
+    }
+
+    private static String[] words(Random random, int count) {
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int syllables = 2 + random.nextInt(3); syllables > 0; syllables--) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words[i] = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+        }
+        return words;
+    }
+
+    private static long usedHeap(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
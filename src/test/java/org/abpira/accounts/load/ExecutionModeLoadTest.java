@@ -0,0 +1,90 @@
+package org.abpira.accounts.load;
+
+import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.service.AccountsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fires a burst of concurrent fetches whose service call blocks for {@link #SERVICE_LATENCY}, standing in for
+ * a slow database. Subclasses pick the execution mode; both cap Tomcat at {@link #TOMCAT_THREADS} platform
+ * threads, so the elapsed time shows how much concurrency each mode gets out of the same configuration.
+ */
+@Tag("load")
+@AutoConfigureTestDatabase
+abstract class ExecutionModeLoadTest {
+
+    static final int TOMCAT_THREADS = 20;
+    static final int CONCURRENT_REQUESTS = 400;
+    static final Duration SERVICE_LATENCY = Duration.ofMillis(100);
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private AccountsService accountsService;
+
+    @BeforeEach
+    void setUp() {
+        when(accountsService.fetchAccountDetails(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(SERVICE_LATENCY.toMillis());
+            return CustomerDTO.builder().mobileNumber(invocation.getArgument(0)).build();
+        });
+    }
+
+    Duration runBurst() throws Exception {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clients)
+                     .build()) {
+            // warm up the connector and the dispatcher servlet before measuring
+            httpClient.send(request(0), HttpResponse.BodyHandlers.discarding());
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                responses.add(httpClient.sendAsync(request(i), HttpResponse.BodyHandlers.discarding()));
+            }
+            for (CompletableFuture<HttpResponse<Void>> response : responses) {
+                assertThat(response.get().statusCode()).isEqualTo(200);
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            System.out.printf("%s: %d requests in %d ms (%.0f req/s)%n", getClass().getSimpleName(),
+                    CONCURRENT_REQUESTS, elapsed.toMillis(), CONCURRENT_REQUESTS * 1000.0 / elapsed.toMillis());
+            return elapsed;
+        }
+    }
+
+    /**
+     * Lower bound for a burst served by {@link #TOMCAT_THREADS} workers: the requests queue in waves.
+     */
+    static Duration platformThreadFloor() {
+        return SERVICE_LATENCY.multipliedBy(CONCURRENT_REQUESTS / TOMCAT_THREADS);
+    }
+
+    private HttpRequest request(int i) {
+        String mobileNumber = String.valueOf(1000000000L + i);
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/fetch?mobileNumber=" + mobileNumber))
+                .GET()
+                .build();
+    }
+}
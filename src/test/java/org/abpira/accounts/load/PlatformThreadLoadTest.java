@@ -0,0 +1,18 @@
+package org.abpira.accounts.load;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=false",
+        "server.tomcat.threads.max=" + ExecutionModeLoadTest.TOMCAT_THREADS
+})
+class PlatformThreadLoadTest extends ExecutionModeLoadTest {
+
+    @Test
+    void shouldServeBurst() throws Exception {
+        assertThat(runBurst()).isGreaterThanOrEqualTo(platformThreadFloor());
+    }
+}
@@ -0,0 +1,95 @@
+package org.abpira.accounts.load;
+
+import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.service.AccountsService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends the same burst of lookups through the servlet fetch path and the reactive fetch path. Both data sources
+ * point at one shared in-memory H2 database. Tomcat is capped at {@link #TOMCAT_THREADS} platform threads: the
+ * servlet path holds a worker for every lookup, the reactive path gives it back while the query is in flight.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive-load;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-load?options=DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.cache.type=none",
+        "server.tomcat.threads.max=" + ReactiveFetchLoadTest.TOMCAT_THREADS
+})
+class ReactiveFetchLoadTest {
+
+    static final int TOMCAT_THREADS = 20;
+    private static final int CUSTOMERS = 500;
+    private static final int REQUESTS = 5_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AccountsService accountsService;
+
+    @Test
+    void shouldServeBurstOnBothPaths() throws Exception {
+        for (int i = 0; i < CUSTOMERS; i++) {
+            accountsService.createAccount(CustomerDTO.builder()
+                    .name("Customer " + i)
+                    .email("customer" + i + "@example.com")
+                    .mobileNumber(mobileNumber(i))
+                    .build());
+        }
+
+        double servlet = burst("/api/fetch");
+        double reactive = burst("/api/reactive/fetch");
+
+        System.out.printf("servlet: %.0f req/s, reactive: %.0f req/s%n", servlet, reactive);
+        assertThat(servlet).isPositive();
+        assertThat(reactive).isPositive();
+    }
+
+    private double burst(String path) throws Exception {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clients)
+                     .build()) {
+            httpClient.send(request(path, 0), HttpResponse.BodyHandlers.discarding());
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                responses.add(httpClient.sendAsync(request(path, i % CUSTOMERS), HttpResponse.BodyHandlers.discarding()));
+            }
+            for (CompletableFuture<HttpResponse<Void>> response : responses) {
+                assertThat(response.get().statusCode()).isEqualTo(200);
+            }
+            return REQUESTS * 1_000_000_000.0 / (System.nanoTime() - start);
+        }
+    }
+
+    private HttpRequest request(String path, int i) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path + "?mobileNumber=" + mobileNumber(i)))
+                .GET()
+                .build();
+    }
+
+    private static String mobileNumber(int i) {
+        return String.valueOf(1000000000L + i);
+    }
+}
@@ -0,0 +1,19 @@
+package org.abpira.accounts.load;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "server.tomcat.threads.max=" + ExecutionModeLoadTest.TOMCAT_THREADS
+})
+class VirtualThreadLoadTest extends ExecutionModeLoadTest {
+
+    @Test
+    void shouldServeBurst() throws Exception {
+        // the same burst must finish well inside the time platform threads need just to drain their queue
+        assertThat(runBurst()).isLessThan(platformThreadFloor().dividedBy(2));
+    }
+}
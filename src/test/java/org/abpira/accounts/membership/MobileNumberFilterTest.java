@@ -0,0 +1,80 @@
+package org.abpira.accounts.membership;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MobileNumberFilterTest {
+
+    private static final int NUMBERS = 100_000;
+
+    @Test
+    void shouldNeverRuleOutAnAddedNumber() {
+        // given
+        MobileNumberFilter underTest = new MobileNumberFilter(NUMBERS, 0.01);
+        IntStream.range(0, NUMBERS).forEach(i -> underTest.add(mobileNumber(i)));
+        underTest.markLoaded();
+
+        // when
+        long ruledOut = IntStream.range(0, NUMBERS).filter(i -> !underTest.mightContain(mobileNumber(i))).count();
+
+        // then
+        assertThat(ruledOut).isZero();
+    }
+
+    @Test
+    void shouldRuleOutUnknownNumbersAtAboutTheConfiguredRate() {
+        // given
+        MobileNumberFilter underTest = new MobileNumberFilter(NUMBERS, 0.01);
+        IntStream.range(0, NUMBERS).forEach(i -> underTest.add(mobileNumber(i)));
+        underTest.markLoaded();
+
+        // when
+        long falsePositives = IntStream.range(NUMBERS, 2 * NUMBERS)
+                .filter(i -> underTest.mightContain(mobileNumber(i)))
+                .count();
+
+        // then
+        assertThat((double) falsePositives / NUMBERS).isLessThan(0.02);
+        assertThat(underTest.falsePositiveRate()).isBetween(0.005, 0.02);
+    }
+
+    @Test
+    void shouldNotRuleOutAnythingUntilLoaded() {
+        // given
+        MobileNumberFilter underTest = new MobileNumberFilter(NUMBERS, 0.01);
+
+        // when
+        boolean mightContain = underTest.mightContain(mobileNumber(1));
+
+        // then
+        assertThat(mightContain).isTrue();
+        assertThat(underTest.isLoaded()).isFalse();
+    }
+
+    @Test
+    void shouldKeepNumbersAddedConcurrently() {
+        // given
+        MobileNumberFilter underTest = new MobileNumberFilter(NUMBERS, 0.01);
+
+        // when
+        IntStream.range(0, NUMBERS).parallel().forEach(i -> underTest.add(mobileNumber(i)));
+        underTest.markLoaded();
+
+        // then
+        assertThat(IntStream.range(0, NUMBERS).allMatch(i -> underTest.mightContain(mobileNumber(i)))).isTrue();
+    }
+
+    @Test
+    void shouldRejectImpossibleSizing() {
+        assertThatThrownBy(() -> new MobileNumberFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MobileNumberFilter(NUMBERS, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String mobileNumber(int i) {
+        return String.valueOf(7000000000L + i);
+    }
+}
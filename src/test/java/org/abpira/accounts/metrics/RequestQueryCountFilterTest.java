@@ -0,0 +1,69 @@
+package org.abpira.accounts.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestQueryCountFilterTest {
+
+    private final QueryCountInspector inspector = new QueryCountInspector();
+    private MeterRegistry meterRegistry;
+    private RequestQueryCountFilter underTest;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new RequestQueryCountFilter(
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry))
+                        .getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    void shouldRecordStatementsIssuedDuringTheRequest() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/fetch");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/fetch");
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req,
+                                   HttpServletResponse res) {
+                inspector.inspect("select 1");
+                inspector.inspect("select 2");
+            }
+        });
+
+        // when
+        underTest.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // then
+        DistributionSummary summary = meterRegistry.get(RequestQueryCountFilter.QUERY_SUMMARY)
+                .tag("uri", "/api/fetch")
+                .tag("method", "GET")
+                .summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotCountStatementsOutsideARequest() {
+        // when
+        inspector.inspect("select 1");
+
+        // then
+        assertThat(QueryCountInspector.stop()).isZero();
+    }
+}
@@ -0,0 +1,81 @@
+package org.abpira.accounts.outbox;
+
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.dto.AccountChangeDTO;
+import org.abpira.accounts.entities.OutboxEvent;
+import org.abpira.accounts.events.ChangeType;
+import org.abpira.accounts.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({OutboxRelay.class, InMemoryOutboxSink.class, AccountsProperties.class})
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay underTest;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private AccountsProperties accountsProperties;
+
+    @BeforeEach
+    void setUp() {
+        // the sink outlives the rolled-back test transaction, the counter does not
+        sink.clear();
+    }
+
+    @Test
+    void shouldPublishInBatchesAndAssignConsecutiveSequenceNumbers() {
+        // given
+        accountsProperties.getOutbox().getRelay().setBatchSize(2);
+        save(ChangeType.CREATED, "1111111111");
+        save(ChangeType.UPDATED, "2222222222");
+        save(ChangeType.DELETED, "3333333333");
+
+        // when
+        int published = underTest.relay();
+
+        // then
+        assertThat(published).isEqualTo(3);
+        assertThat(sink.events()).extracting(AccountChangeDTO::getSequenceNumber).containsExactly(1L, 2L, 3L);
+        assertThat(sink.events()).extracting(AccountChangeDTO::getType)
+                .containsExactly(ChangeType.CREATED, ChangeType.UPDATED, ChangeType.DELETED);
+        assertThat(outboxEventRepository.findAll()).allSatisfy(event -> assertThat(event.getPublishedAt()).isNotNull());
+    }
+
+    @Test
+    void shouldContinueSequenceAcrossRunsAndNotRepublish() {
+        // given
+        save(ChangeType.CREATED, "1111111111");
+        underTest.relay();
+        save(ChangeType.UPDATED, "1111111111");
+
+        // when
+        int published = underTest.relay();
+
+        // then
+        assertThat(published).isEqualTo(1);
+        assertThat(sink.events()).extracting(AccountChangeDTO::getSequenceNumber).containsExactly(1L, 2L);
+    }
+
+    private void save(ChangeType type, String mobileNumber) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .changeType(type)
+                .mobileNumber(mobileNumber)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+}
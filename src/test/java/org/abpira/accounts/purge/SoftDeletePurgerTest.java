@@ -0,0 +1,112 @@
+package org.abpira.accounts.purge;
+
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.entities.Accounts;
+import org.abpira.accounts.entities.Customer;
+import org.abpira.accounts.repository.AccountsRepository;
+import org.abpira.accounts.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({SoftDeletePurger.class, AccountsProperties.class})
+class SoftDeletePurgerTest {
+
+    @Autowired
+    private SoftDeletePurger underTest;
+
+    @Autowired
+    private AccountsProperties accountsProperties;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountsRepository accountsRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        accountsProperties.getDelete().getPurge().setBatchSize(2);
+        for (int i = 0; i < 5; i++) {
+            Customer customer = customerRepository.save(Customer.builder()
+                    .name("Customer " + i)
+                    .email(i + "@example.com")
+                    .mobileNumber("123456789" + i)
+                    .build());
+            accountsRepository.save(Accounts.builder()
+                    .accountNumber(1000000000L + i)
+                    .customerId(customer.getCustomerId())
+                    .accountType("Savings")
+                    .branchAddress("New York")
+                    .build());
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void shouldHideSoftDeletedCustomerFromFetchPaths() {
+        // when
+        int marked = customerRepository.softDeleteByMobileNumber("1234567890", LocalDateTime.now());
+        entityManager.clear();
+
+        // then
+        assertThat(marked).isEqualTo(1);
+        assertThat(customerRepository.findByMobileNumber("1234567890")).isEmpty();
+        assertThat(customerRepository.findCustomerAccountByMobileNumber("1234567890")).isEmpty();
+        assertThat(accountsRepository.findWithCustomerByAccountNumber(1000000000L))
+                .hasValueSatisfying(found -> assertThat(found.customer()).isNull());
+        assertThat(customerRepository.softDeleteByMobileNumber("1234567890", LocalDateTime.now())).isZero();
+    }
+
+    @Test
+    void shouldReleaseMobileNumberOfSoftDeletedCustomer() {
+        // given
+        customerRepository.softDeleteByMobileNumber("1234567890", LocalDateTime.now());
+        entityManager.clear();
+
+        // when
+        Customer recreated = customerRepository.save(Customer.builder()
+                .name("Customer 0")
+                .email("0@example.com")
+                .mobileNumber("1234567890")
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // then
+        assertThat(customerRepository.findByMobileNumber("1234567890"))
+                .hasValueSatisfying(found -> assertThat(found.getCustomerId()).isEqualTo(recreated.getCustomerId()));
+        assertThat(underTest.purge()).isEqualTo(1);
+        assertThat(customerRepository.findByMobileNumber("1234567890")).isPresent();
+    }
+
+    @Test
+    void shouldPurgeSoftDeletedCustomersAndAccountsInBatches() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            customerRepository.softDeleteByMobileNumber("123456789" + i, LocalDateTime.now());
+        }
+        entityManager.clear();
+
+        // when
+        int purged = underTest.purge();
+
+        // then
+        assertThat(purged).isEqualTo(3);
+        assertThat(customerRepository.findSoftDeletedIds(10)).isEmpty();
+        assertThat(accountsRepository.findAll()).extracting(Accounts::getAccountNumber)
+                .containsExactlyInAnyOrder(1000000003L, 1000000004L);
+        assertThat(customerRepository.findAll()).hasSize(2);
+    }
+}
@@ -1,15 +1,21 @@
 package org.abpira.accounts.repository;
 
 import org.abpira.accounts.entities.Accounts;
+import org.abpira.accounts.entities.Customer;
+import org.abpira.accounts.repository.projection.AccountSearchRow;
+import org.abpira.accounts.repository.projection.AccountSummary;
+import org.abpira.accounts.repository.projection.AccountWithCustomer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
 
 
 @DataJpaTest
@@ -18,9 +24,13 @@ class AccountsRepositoryTest {
     @Autowired
     private AccountsRepository underTest;
 
+    @Autowired
+    private CustomerRepository customerRepository;
+
     @AfterEach
     void tearDown() {
         underTest.deleteAll();
+        customerRepository.deleteAll();
     }
 
     @Test
@@ -65,23 +75,26 @@ class AccountsRepositoryTest {
     @Test
     void shouldFindAccountByCustomerId() {
         // given
+        underTest.save(account(2L, 1L));
         Accounts accounts = Accounts.builder()
                 .accountNumber(1L)
                 .customerId(1L)
                 .accountType("Savings")
                 .branchAddress("New York")
+                .primaryAccount(true)
                 .createdAt(LocalDateTime.of(2025, 1, 1, 0, 0))
                 .createdBy("Admin")
                 .build();
         underTest.save(accounts);
 
         // when
-        Optional<Accounts> found = underTest.findByCustomerId(1L);
+        Optional<Accounts> found = underTest.findByCustomerIdAndPrimaryAccountTrue(1L);
 
         // then
         assertThat(found)
                 .isPresent()
                 .hasValueSatisfying(a -> {
+                    assertThat(a.getAccountNumber()).isEqualTo(1L);
                     assertThat(a.getCustomerId()).isEqualTo(1L);
                     assertThat(a.getAccountType()).isEqualTo("Savings");
                     assertThat(a.getBranchAddress()).isEqualTo("New York");
@@ -91,10 +104,138 @@ class AccountsRepositoryTest {
     @Test
     void shouldReturnEmptyWhenCustomerIdNotFound() {
         // when
-        Optional<Accounts> found = underTest.findByCustomerId(999L);
+        Optional<Accounts> found = underTest.findByCustomerIdAndPrimaryAccountTrue(999L);
 
         // then
         assertThat(found).isEmpty();
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldFindPrimaryAccountOfEachCustomer() {
+        // given
+        underTest.saveAll(List.of(primary(3L, 1L), account(1L, 1L), primary(2L, 2L), account(4L, 2L)));
+
+        // when
+        List<AccountSummary> found = underTest.findPrimarySummariesByCustomerIds(List.of(1L, 2L));
+
+        // then
+        assertThat(found).extracting(AccountSummary::accountNumber).containsExactlyInAnyOrder(3L, 2L);
+        assertThat(underTest.findPrimaryByCustomerIdIn(List.of(1L, 2L)))
+                .extracting(Accounts::getAccountNumber)
+                .containsExactlyInAnyOrder(3L, 2L);
+        assertThat(underTest.findPrimarySummaryByCustomerId(1L))
+                .hasValueSatisfying(summary -> assertThat(summary.accountNumber()).isEqualTo(3L));
+    }
+
+    @Test
+    void shouldPageAccountsOfCustomerAfterAccountNumber() {
+        // given
+        underTest.saveAll(List.of(account(5L, 1L), account(1L, 1L), account(3L, 1L), account(4L, 1L),
+                account(2L, 2L)));
+
+        // when
+        List<AccountSummary> page = underTest.findPageByCustomerId(1L, 1L, PageRequest.ofSize(2));
+
+        // then
+        assertThat(page).extracting(AccountSummary::accountNumber).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void shouldSearchAccountsByFiltersInCreationOrder() {
+        // given
+        Customer customer = customerRepository.save(Customer.builder()
+                .name("John Doe")
+                .email("jde@example.com")
+                .mobileNumber("1234567890")
+                .build());
+        LocalDateTime day = LocalDateTime.of(2025, 1, 1, 0, 0);
+        underTest.saveAll(List.of(
+                searchable(4L, customer, "Savings", "New York", day.plusHours(3)),
+                searchable(1L, customer, "Savings", "New York", day.plusHours(1)),
+                searchable(2L, customer, "Current", "New York", day.plusHours(2)),
+                searchable(3L, customer, "Savings", "Boston", day.plusHours(2)),
+                searchable(5L, customer, "Savings", "New York", day.plusDays(1))));
+
+        // when
+        List<AccountSearchRow> found = underTest.search("Savings", "New York", day, day.plusDays(1), null, 0L, 10);
+
+        // then
+        assertThat(found).extracting(AccountSearchRow::accountNumber).containsExactly(1L, 4L);
+        assertThat(found.get(0).mobileNumber()).isEqualTo("1234567890");
+    }
+
+    @Test
+    void shouldResumeSearchAfterLastRowIncludingTies() {
+        // given
+        Customer customer = customerRepository.save(Customer.builder()
+                .name("John Doe")
+                .email("jde@example.com")
+                .mobileNumber("1234567890")
+                .build());
+        LocalDateTime noon = LocalDateTime.of(2025, 1, 1, 12, 0);
+        underTest.saveAll(List.of(
+                searchable(3L, customer, "Savings", "New York", noon),
+                searchable(1L, customer, "Savings", "New York", noon),
+                searchable(2L, customer, "Savings", "New York", noon),
+                searchable(4L, customer, "Savings", "New York", noon.minusHours(1)),
+                searchable(5L, customer, "Savings", "New York", noon.plusHours(1))));
+
+        // when
+        List<AccountSearchRow> found = underTest.search(null, null, null, null, noon, 1L, 10);
+
+        // then
+        assertThat(found).extracting(AccountSearchRow::accountNumber).containsExactly(2L, 3L, 5L);
+    }
+
+    @Test
+    void shouldLoadManagedAccountWithCustomerAndVersionOnlyChangedRows() {
+        // given
+        Customer customer = customerRepository.save(Customer.builder()
+                .name("John Doe")
+                .email("jde@example.com")
+                .mobileNumber("1234567890")
+                .build());
+        underTest.save(Accounts.builder()
+                .accountNumber(1L)
+                .customerId(customer.getCustomerId())
+                .accountType("Savings")
+                .branchAddress("New York")
+                .build());
+        underTest.flush();
+
+        // when
+        AccountWithCustomer found = underTest.findWithCustomerByAccountNumber(1L).orElseThrow();
+        found.customer().setName("Jane Doe");
+        underTest.flush();
+
+        // then
+        assertThat(found.customer().getVersion()).isEqualTo(1L);
+        assertThat(found.accounts().getVersion()).isEqualTo(0L);
+    }
+
+    private static Accounts searchable(long accountNumber, Customer customer, String accountType,
+                                       String branchAddress, LocalDateTime createdAt) {
+        return Accounts.builder()
+                .accountNumber(accountNumber)
+                .customerId(customer.getCustomerId())
+                .accountType(accountType)
+                .branchAddress(branchAddress)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static Accounts account(long accountNumber, long customerId) {
+        return Accounts.builder()
+                .accountNumber(accountNumber)
+                .customerId(customerId)
+                .accountType("Savings")
+                .branchAddress("New York")
+                .build();
+    }
+
+    private static Accounts primary(long accountNumber, long customerId) {
+        Accounts accounts = account(accountNumber, customerId);
+        accounts.setPrimaryAccount(true);
+        return accounts;
+    }
+}
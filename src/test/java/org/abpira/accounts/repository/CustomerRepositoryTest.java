@@ -1,15 +1,25 @@
 package org.abpira.accounts.repository;
 
+import org.abpira.accounts.entities.Accounts;
 import org.abpira.accounts.entities.Customer;
+import org.abpira.accounts.repository.projection.AccountExportRow;
+import org.abpira.accounts.repository.projection.AccountSummary;
+import org.abpira.accounts.repository.projection.CustomerAccountView;
+import org.abpira.accounts.repository.projection.CustomerSummary;
+import org.hibernate.Session;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 class CustomerRepositoryTest {
@@ -17,8 +27,15 @@ class CustomerRepositoryTest {
     @Autowired
     private CustomerRepository underTest;
 
+    @Autowired
+    private AccountsRepository accountsRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     @AfterEach
     void tearDown() {
+        accountsRepository.deleteAll();
         underTest.deleteAll();
     }
 
@@ -57,4 +74,162 @@ class CustomerRepositoryTest {
         // then
         assertThat(found).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldFindCustomerAccountByMobileNumber() {
+        // given
+        Customer customer = underTest.save(Customer.builder()
+                .name("John Doe")
+                .email("jde@example.com")
+                .mobileNumber("1234567890")
+                .build());
+        accountsRepository.save(Accounts.builder()
+                .accountNumber(1027418131L)
+                .customerId(customer.getCustomerId())
+                .accountType("Savings")
+                .branchAddress("New York")
+                .build());
+        accountsRepository.save(Accounts.builder()
+                .accountNumber(1027418132L)
+                .customerId(customer.getCustomerId())
+                .accountType("Current")
+                .branchAddress("Boston")
+                .primaryAccount(true)
+                .build());
+
+        // when
+        Optional<CustomerAccountView> found = underTest.findCustomerAccountByMobileNumber("1234567890");
+
+        // then
+        assertThat(found)
+                .isPresent()
+                .hasValueSatisfying(v -> {
+                    assertThat(v.customerId()).isEqualTo(customer.getCustomerId());
+                    assertThat(v.name()).isEqualTo("John Doe");
+                    assertThat(v.accountNumber()).isEqualTo(1027418132L);
+                    assertThat(v.accountType()).isEqualTo("Current");
+                    assertThat(v.branchAddress()).isEqualTo("Boston");
+                });
+    }
+
+    @Test
+    void shouldReturnCustomerWithoutAccountColumnsWhenAccountMissing() {
+        // given
+        underTest.save(Customer.builder()
+                .name("John Doe")
+                .email("jde@example.com")
+                .mobileNumber("1234567890")
+                .build());
+
+        // when
+        Optional<CustomerAccountView> found = underTest.findCustomerAccountByMobileNumber("1234567890");
+
+        // then
+        assertThat(found)
+                .isPresent()
+                .hasValueSatisfying(v -> assertThat(v.accountNumber()).isNull());
+    }
+
+    @Test
+    void shouldFindCustomerAccountsForSetOfMobileNumbers() {
+        // given
+        for (int i = 1; i <= 3; i++) {
+            Customer customer = underTest.save(Customer.builder()
+                    .name("Customer " + i)
+                    .email("c" + i + "@example.com")
+                    .mobileNumber("123456789" + i)
+                    .build());
+            accountsRepository.save(Accounts.builder()
+                    .accountNumber(1000000000L + i)
+                    .customerId(customer.getCustomerId())
+                    .accountType("Savings")
+                    .branchAddress("New York")
+                    .primaryAccount(true)
+                    .build());
+        }
+
+        // when
+        List<CustomerAccountView> found = underTest.findCustomerAccountsByMobileNumbers(
+                List.of("1234567891", "1234567893", "1111111111"));
+
+        // then
+        assertThat(found)
+                .extracting(CustomerAccountView::mobileNumber)
+                .containsExactlyInAnyOrder("1234567891", "1234567893");
+    }
+
+    @Test
+    void shouldReadSummariesWithoutManagingEntities() {
+        // given
+        Customer customer = underTest.save(Customer.builder()
+                .name("John Doe")
+                .email("jde@example.com")
+                .mobileNumber("1234567890")
+                .build());
+        accountsRepository.save(Accounts.builder()
+                .accountNumber(1027418131L)
+                .customerId(customer.getCustomerId())
+                .accountType("Savings")
+                .branchAddress("New York")
+                .primaryAccount(true)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        CustomerSummary customerSummary = underTest.findSummaryByMobileNumber("1234567890").orElseThrow();
+        AccountSummary accountSummary = accountsRepository.findPrimarySummaryByCustomerId(customer.getCustomerId())
+                .orElseThrow();
+
+        // then
+        assertThat(customerSummary.name()).isEqualTo("John Doe");
+        assertThat(accountSummary.accountNumber()).isEqualTo(1027418131L);
+        assertThat(accountSummary.branchAddress()).isEqualTo("New York");
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount())
+                .isZero();
+    }
+
+    @Test
+    void shouldStreamExportRowsAfterCursorWithinCreationWindow() {
+        // given
+        List<Long> customerIds = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            Customer customer = underTest.save(Customer.builder()
+                    .name("Customer " + i)
+                    .email("c" + i + "@example.com")
+                    .mobileNumber("123456789" + i)
+                    .createdAt(LocalDateTime.of(2025, 1, i, 0, 0))
+                    .build());
+            accountsRepository.save(Accounts.builder()
+                    .accountNumber(1000000000L + i)
+                    .customerId(customer.getCustomerId())
+                    .accountType("Savings")
+                    .branchAddress("New York")
+                    .build());
+            customerIds.add(customer.getCustomerId());
+        }
+        accountsRepository.save(Accounts.builder()
+                .accountNumber(1000000012L)
+                .customerId(customerIds.get(1))
+                .accountType("Current")
+                .branchAddress("Boston")
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        List<AccountExportRow> rows;
+        try (Stream<AccountExportRow> stream = underTest.streamForExport(customerIds.get(1),
+                1000000002L, null, LocalDateTime.of(2025, 1, 4, 0, 0))) {
+            rows = stream.toList();
+        }
+
+        // then
+        assertThat(rows)
+                .extracting(AccountExportRow::customerId)
+                .containsExactly(customerIds.get(1), customerIds.get(2));
+        assertThat(rows)
+                .extracting(AccountExportRow::accountNumber)
+                .containsExactly(1000000012L, 1000000003L);
+    }
+}
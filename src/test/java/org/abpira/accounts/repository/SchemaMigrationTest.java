@@ -0,0 +1,94 @@
+package org.abpira.accounts.repository;
+
+import org.abpira.accounts.entities.Customer;
+import org.abpira.accounts.generator.AccountNumberBlock;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Builds the schema from the Flyway scripts instead of Hibernate DDL, so a mapping that drifts from the
+ * migrations fails {@code ddl-auto=validate} at startup.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class SchemaMigrationTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void shouldRejectDuplicateMobileNumber() {
+        // given
+        customerRepository.saveAndFlush(customer("jde@example.com"));
+
+        // when / then
+        assertThatThrownBy(() -> customerRepository.saveAndFlush(customer("other@example.com")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void shouldAllocateCustomerIdsFromSequence() {
+        // when
+        Customer saved = customerRepository.saveAndFlush(customer("jde@example.com"));
+
+        // then
+        assertThat(saved.getCustomerId()).isNotNull();
+    }
+
+    @Test
+    void shouldSeedCountersAboveRowsOfBaselinedDatabase() {
+        // given a database created by ddl-auto before migrations, with an identity customer_id
+        JdbcTemplate legacy = new JdbcTemplate(new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:legacy-schema;DB_CLOSE_DELAY=-1", "sa", ""));
+        legacy.execute("""
+                create table customer (customer_id bigint generated by default as identity primary key,
+                    created_at timestamp(6), created_by varchar(255), updated_at timestamp(6), updated_by varchar(255),
+                    email varchar(255), mobile_number varchar(255), name varchar(255))
+                """);
+        legacy.execute("""
+                create table accounts (account_number bigint not null primary key, created_at timestamp(6),
+                    created_by varchar(255), updated_at timestamp(6), updated_by varchar(255), customer_id bigint,
+                    account_type varchar(255), branch_address varchar(255))
+                """);
+        legacy.update("insert into customer (customer_id, mobile_number) values (120, '1234567890')");
+        legacy.update("insert into accounts (account_number, customer_id) values (1899999997, 120)");
+
+        // when
+        Flyway.configure()
+                .dataSource(legacy.getDataSource())
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        // then Hibernate takes the value read as the top of a block of 50 ids
+        Long nextCustomerId = legacy.queryForObject("select next value for customer_seq", Long.class);
+        assertThat(nextCustomerId - 49).isGreaterThan(120);
+        assertThat(legacy.queryForObject(
+                "select next_payload from account_number_sequence where name = 'account_number'", Long.class))
+                .isEqualTo(AccountNumberBlock.FIRST_PAYLOAD);
+    }
+
+    private static Customer customer(String email) {
+        return Customer.builder()
+                .name("John Doe")
+                .email(email)
+                .mobileNumber("1234567890")
+                .createdAt(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .createdBy("Admin")
+                .build();
+    }
+}
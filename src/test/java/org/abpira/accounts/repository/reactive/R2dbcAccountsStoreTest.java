@@ -0,0 +1,77 @@
+package org.abpira.accounts.repository.reactive;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.abpira.accounts.repository.projection.CustomerAccountView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+class R2dbcAccountsStoreTest {
+
+    private final ConnectionFactory connectionFactory =
+            ConnectionFactories.get("r2dbc:h2:mem:///reactive-store?options=DB_CLOSE_DELAY=-1");
+    private final DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
+    private final R2dbcAccountsStore underTest = new R2dbcAccountsStore(connectionFactory);
+
+    @BeforeEach
+    void setUp() {
+        execute("create table customer (customer_id bigint primary key, name varchar(255), email varchar(255), "
+                + "mobile_number varchar(255), version bigint, deleted_at timestamp)");
+        execute("create table accounts (account_number bigint primary key, customer_id bigint, "
+                + "account_type varchar(255), branch_address varchar(255), primary_account boolean)");
+        execute("insert into customer values (1, 'John Doe', 'jde@example.com', '1234567890', 0, null)");
+        execute("insert into customer values (2, 'Jane Roe', 'jro@example.com', '0987654321', 0, null)");
+        execute("insert into customer values (3, 'Max Moe', 'mmo@example.com', '5555555555', 0, current_timestamp)");
+        execute("insert into accounts values (1027418131, 1, 'Savings', 'New York', true)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        execute("drop table accounts");
+        execute("drop table customer");
+    }
+
+    @Test
+    void shouldFindCustomerAccountByMobileNumber() {
+        StepVerifier.create(underTest.findByMobileNumber("1234567890"))
+                .expectNext(new CustomerAccountView(1L, "John Doe", "jde@example.com", "1234567890", 0L,
+                        1027418131L, "Savings", "New York"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnCustomerWithoutAccountColumnsWhenAccountMissing() {
+        StepVerifier.create(underTest.findByMobileNumber("0987654321"))
+                .expectNextMatches(view -> view.customerId() == 2L && view.accountNumber() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldCompleteEmptyWhenMobileNumberNotFound() {
+        StepVerifier.create(underTest.findByMobileNumber("1111111111"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldTreatSoftDeletedCustomerAsNotFound() {
+        StepVerifier.create(underTest.findByMobileNumber("5555555555"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldStreamOnlyExistingCustomers() {
+        StepVerifier.create(underTest.findByMobileNumbers(
+                        List.of("1234567890", "0987654321", "1111111111", "5555555555")))
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    private void execute(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+}
@@ -0,0 +1,86 @@
+package org.abpira.accounts.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerSearchIndexTest {
+
+    private CustomerSearchIndex underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CustomerSearchIndex();
+        underTest.put("John Smith", "john.smith@example.com", "1111111111");
+        underTest.put("Jane Smithers", "jane@example.org", "2222222222");
+        underTest.put("Johanna Jones", "jj@example.com", "3333333333");
+    }
+
+    @Test
+    void shouldMatchEveryTokenAsPrefixOfSomeTerm() {
+        // when
+        List<CustomerSearchHit> smith = underTest.search("smi", 10);
+        List<CustomerSearchHit> johnSmith = underTest.search("Smith jo", 10);
+        List<CustomerSearchHit> byMobile = underTest.search("33333", 10);
+
+        // then
+        assertThat(smith).extracting(CustomerSearchHit::mobileNumber)
+                .containsExactlyInAnyOrder("1111111111", "2222222222");
+        assertThat(johnSmith).extracting(CustomerSearchHit::mobileNumber).containsExactly("1111111111");
+        assertThat(byMobile).extracting(CustomerSearchHit::name).containsExactly("Johanna Jones");
+    }
+
+    @Test
+    void shouldTolerateOneTypoOnlyWhenExactMatchesRunShort() {
+        // when
+        List<CustomerSearchHit> typo = underTest.search("smtih", 10);
+        List<CustomerSearchHit> shortTypo = underTest.search("jna", 10);
+        List<CustomerSearchHit> firstCharacter = underTest.search("xmith", 10);
+
+        // then
+        assertThat(typo).extracting(CustomerSearchHit::mobileNumber)
+                .containsExactlyInAnyOrder("1111111111", "2222222222");
+        assertThat(shortTypo).isEmpty();
+        assertThat(firstCharacter).isEmpty();
+    }
+
+    @Test
+    void shouldIgnoreCaseAndAccents() {
+        // given
+        underTest.put("Zoë Müller", "zoe@example.com", "4444444444");
+
+        // when
+        List<CustomerSearchHit> hits = underTest.search("MULL zoe", 10);
+
+        // then
+        assertThat(hits).extracting(CustomerSearchHit::mobileNumber).containsExactly("4444444444");
+    }
+
+    @Test
+    void shouldReplaceAndRemoveByMobileNumber() {
+        // given
+        underTest.put("John Baker", "john.baker@example.com", "1111111111");
+        underTest.remove("2222222222");
+
+        // when
+        List<CustomerSearchHit> smith = underTest.search("smith", 10);
+        List<CustomerSearchHit> baker = underTest.search("baker", 10);
+
+        // then
+        assertThat(smith).isEmpty();
+        assertThat(baker).extracting(CustomerSearchHit::email).containsExactly("john.baker@example.com");
+        assertThat(underTest.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldStopAtLimit() {
+        // when
+        List<CustomerSearchHit> hits = underTest.search("example", 2);
+
+        // then
+        assertThat(hits).hasSize(2);
+    }
+}
@@ -0,0 +1,70 @@
+package org.abpira.accounts.service;
+
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.dto.AccountChangeDTO;
+import org.abpira.accounts.events.ChangeType;
+import org.abpira.accounts.repository.reactive.ReactiveOutboxStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountChangesServiceTest {
+
+    private static final long PUBLISHED = 5;
+
+    private final ReactiveOutboxStore reactiveOutboxStore = mock(ReactiveOutboxStore.class);
+    private AccountChangesService underTest;
+
+    @BeforeEach
+    void setUp() {
+        AccountsProperties accountsProperties = new AccountsProperties();
+        accountsProperties.getOutbox().getStream().setPageSize(2);
+        accountsProperties.getOutbox().getStream().setPollInterval(Duration.ofMillis(10));
+        accountsProperties.getOutbox().getStream().setMaxDuration(Duration.ofMillis(200));
+        when(reactiveOutboxStore.findPublishedAfter(anyLong(), anyInt())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return Flux.fromStream(LongStream.rangeClosed(after + 1, PUBLISHED).limit(limit).mapToObj(
+                    sequence -> AccountChangeDTO.builder().sequenceNumber(sequence).type(ChangeType.CREATED).build()));
+        });
+        underTest = new AccountChangesServiceImpl(reactiveOutboxStore, accountsProperties);
+    }
+
+    @Test
+    void shouldPageFromOffsetAndCompleteWhenCaughtUp() {
+        StepVerifier.create(underTest.changesAfter(1, false).map(AccountChangeDTO::getSequenceNumber))
+                .expectNext(2L, 3L, 4L, 5L)
+                .verifyComplete();
+        // two full pages, then the empty page that shows the consumer has caught up
+        verify(reactiveOutboxStore).findPublishedAfter(1, 2);
+        verify(reactiveOutboxStore).findPublishedAfter(3, 2);
+        verify(reactiveOutboxStore).findPublishedAfter(5, 2);
+    }
+
+    @Test
+    void shouldKeepPollingWhenFollowing() {
+        StepVerifier.create(underTest.changesAfter(3, true).map(AccountChangeDTO::getSequenceNumber))
+                .expectNext(4L, 5L)
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void shouldCompleteFollowingStreamAfterMaxDuration() {
+        StepVerifier.create(underTest.changesAfter(3, true).map(AccountChangeDTO::getSequenceNumber))
+                .expectNext(4L, 5L)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+}
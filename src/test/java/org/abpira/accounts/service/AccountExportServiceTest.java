@@ -0,0 +1,78 @@
+package org.abpira.accounts.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.abpira.accounts.export.ExportFormat;
+import org.abpira.accounts.repository.CustomerRepository;
+import org.abpira.accounts.repository.projection.AccountExportRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class AccountExportServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 1, 9, 30);
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @InjectMocks
+    private AccountExportServiceImpl underTest;
+
+    @Test
+    void shouldWriteOneJsonObjectPerLineAndCloseCursor() throws Exception {
+        // given
+        AtomicBoolean closed = new AtomicBoolean();
+        given(customerRepository.streamForExport(0L, Long.MAX_VALUE, null, null)).willReturn(Stream.of(
+                        new AccountExportRow(1L, "John Doe", "jd@example.com", "1234567890", 11L, "Savings",
+                                "New York", CREATED_AT),
+                        new AccountExportRow(2L, "Jane Doe", "jane@example.com", "1234567891", 12L, "Savings",
+                                "Boston", CREATED_AT))
+                .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long rows = underTest.exportAccounts(ExportFormat.NDJSON, 0L, Long.MAX_VALUE, null, null, out);
+
+        // then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"customerId\":1,").contains("\"branchAddress\":\"New York\"");
+        assertThat(lines[1]).startsWith("{\"customerId\":2,");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void shouldQuoteCsvFieldsThatNeedIt() throws Exception {
+        // given
+        given(customerRepository.streamForExport(5L, Long.MAX_VALUE, CREATED_AT, null)).willReturn(Stream.of(
+                new AccountExportRow(6L, "Doe, \"JD\" John", "jd@example.com", "1234567890", 11L, "Savings",
+                        null, CREATED_AT)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        underTest.exportAccounts(ExportFormat.CSV, 5L, Long.MAX_VALUE, CREATED_AT, null, out);
+
+        // then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "customerId,name,email,mobileNumber,accountNumber,accountType,branchAddress,createdAt\r\n"
+                        + "6,\"Doe, \"\"JD\"\" John\",jd@example.com,1234567890,11,Savings,,2025-01-01T09:30\r\n");
+    }
+}
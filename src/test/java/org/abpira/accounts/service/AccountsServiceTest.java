@@ -1,20 +1,49 @@
 package org.abpira.accounts.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.abpira.accounts.coalescing.SingleFlight;
+
+import org.abpira.accounts.config.AccountsProperties;
 import org.abpira.accounts.dto.AccountsDTO;
+import org.abpira.accounts.dto.BatchAccountsResponseDTO;
+import org.abpira.accounts.dto.BatchFetchResponseDTO;
+import org.abpira.accounts.dto.CustomerAccountsDTO;
 import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.dto.NewAccountDTO;
 import org.abpira.accounts.entities.Accounts;
 import org.abpira.accounts.entities.Customer;
+import org.abpira.accounts.events.AccountsChangedEvent;
+import org.abpira.accounts.events.ChangeType;
 import org.abpira.accounts.exceptions.CustomerAlreadyExistsException;
 import org.abpira.accounts.exceptions.ResourceNotFoundException;
+import org.abpira.accounts.generator.AccountNumberGenerator;
+import org.abpira.accounts.membership.MobileNumberFilter;
 import org.abpira.accounts.repository.AccountsRepository;
 import org.abpira.accounts.repository.CustomerRepository;
+import org.abpira.accounts.repository.projection.AccountSummary;
+import org.abpira.accounts.repository.projection.AccountWithCustomer;
+import org.abpira.accounts.repository.projection.CustomerAccountView;
+import org.abpira.accounts.repository.projection.CustomerSummary;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
@@ -22,6 +51,7 @@ import static org.mockito.Mockito.*;
 import static org.mockito.BDDMockito.given;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 
 @ExtendWith(MockitoExtension.class)
 class AccountsServiceTest {
@@ -32,6 +62,25 @@ class AccountsServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private AccountsProperties accountsProperties = new AccountsProperties();
+
+    @Mock
+    private AccountNumberGenerator accountNumberGenerator;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private SingleFlight<String, CustomerDTO> accountDetailsSingleFlight =
+            new SingleFlight<>("accountDetails", meterRegistry);
+
+    // never loaded unless a test says so, so it rules nothing out and every create looks its number up
+    @Spy
+    private MobileNumberFilter mobileNumberFilter = new MobileNumberFilter(100, 0.01);
+
     @InjectMocks
     private AccountsServiceImpl underTest;
 
@@ -48,15 +97,18 @@ class AccountsServiceTest {
         when(mockCustomer.getCustomerId()).thenReturn(1L);
 
         when(customerRepository.findByMobileNumber("123456")).thenReturn(Optional.empty());
-        when(customerRepository.save(any(Customer.class))).thenReturn(mockCustomer);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(mockCustomer);
+        when(accountNumberGenerator.nextAccountNumber()).thenReturn(1000000008L);
 
         // when
         underTest.createAccount(customerDTO);
 
         // then
         verify(customerRepository).findByMobileNumber("123456");
-        verify(customerRepository).save(any(Customer.class));
-        verify(accountsRepository).save(any(Accounts.class));
+        verify(customerRepository).saveAndFlush(any(Customer.class));
+        verify(accountsRepository).save(argThat((Accounts a) ->
+                a.getAccountNumber() == 1000000008L && a.getCustomerId() == 1L));
+        verify(eventPublisher).publishEvent(any(AccountsChangedEvent.class));
     }
 
     @Test
@@ -78,13 +130,59 @@ class AccountsServiceTest {
         assertThatThrownBy(() -> underTest.createAccount(customerDTO))
                 .isInstanceOf(CustomerAlreadyExistsException.class)
                 .hasMessageContaining("Customer already exists with mobile number 123456");
-        verify(customerRepository, never()).save(any());
+        verify(customerRepository, never()).saveAndFlush(any());
         verify(accountsRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldMapUniqueConstraintViolationToCustomerAlreadyExistsException() {
+        // given
+        CustomerDTO customerDTO = CustomerDTO.builder()
+                .name("abc")
+                .mobileNumber("123456")
+                .email("123456@gmail.com")
+                .build();
+        given(customerRepository.findByMobileNumber("123456")).willReturn(Optional.empty());
+        given(customerRepository.saveAndFlush(any(Customer.class)))
+                .willThrow(new DataIntegrityViolationException("uk_customer_mobile_number"));
+
+        // when / then
+        assertThatThrownBy(() -> underTest.createAccount(customerDTO))
+                .isInstanceOf(CustomerAlreadyExistsException.class)
+                .hasMessageContaining("Customer already exists with mobile number 123456");
+        verify(accountsRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldSkipLookupWhenFilterRulesNumberOut() {
+        // given
+        CustomerDTO customerDTO = CustomerDTO.builder()
+                .name("abc")
+                .mobileNumber("123456")
+                .email("123456@gmail.com")
+                .build();
+        mobileNumberFilter.add("654321");
+        mobileNumberFilter.markLoaded();
+        Customer savedCustomer = Customer.builder().customerId(1L).mobileNumber("123456").build();
+        given(customerRepository.saveAndFlush(any(Customer.class))).willReturn(savedCustomer);
+        given(accountNumberGenerator.nextAccountNumber()).willReturn(1000000008L);
+
+        // when
+        underTest.createAccount(customerDTO);
+
+        // then
+        verify(customerRepository, never()).findByMobileNumber(any());
+        verify(customerRepository).saveAndFlush(any(Customer.class));
+        verify(accountsRepository).save(argThat((Accounts a) -> a.getCustomerId() == 1L && a.isPrimaryAccount()));
+        verify(eventPublisher).publishEvent(any(AccountsChangedEvent.class));
     }
 
     @Test
     void shouldFetchAccountDetailsSuccessfully() {
         // given
+        accountsProperties.setReadPath(AccountsProperties.ReadPath.ENTITY);
         String mobileNumber = "123456";
         Customer customer = Customer.builder()
                 .mobileNumber(mobileNumber)
@@ -96,19 +194,20 @@ class AccountsServiceTest {
                 .accountType("Test")
                 .build();
         when(customerRepository.findByMobileNumber("123456")).thenReturn(Optional.of(customer));
-        when(accountsRepository.findByCustomerId(1L)).thenReturn(Optional.of(accounts));
+        when(accountsRepository.findByCustomerIdAndPrimaryAccountTrue(1L)).thenReturn(Optional.of(accounts));
 
         // when
         underTest.fetchAccountDetails(mobileNumber);
 
         // then
         verify(customerRepository).findByMobileNumber(mobileNumber);
-        verify(accountsRepository).findByCustomerId(customer.getCustomerId());
+        verify(accountsRepository).findByCustomerIdAndPrimaryAccountTrue(customer.getCustomerId());
     }
 
     @Test
     void shouldThrowExceptionWhenCustomerNotFound() {
         // given
+        accountsProperties.setReadPath(AccountsProperties.ReadPath.ENTITY);
         String mobileNumber = "111111";
         when(customerRepository.findByMobileNumber(mobileNumber)).thenReturn(Optional.empty());
 
@@ -117,12 +216,13 @@ class AccountsServiceTest {
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Customer", "mobileNumber", mobileNumber);
 
-        verify(accountsRepository, never()).findByCustomerId(any());
+        verify(accountsRepository, never()).findByCustomerIdAndPrimaryAccountTrue(any());
     }
 
     @Test
     void shouldThrowExceptionWhenAccountNotFound() {
         // given
+        accountsProperties.setReadPath(AccountsProperties.ReadPath.ENTITY);
         String mobileNumber = "111111";
         Customer customer = Customer.builder()
                 .customerId(1L)
@@ -130,7 +230,7 @@ class AccountsServiceTest {
                 .build();
 
         when(customerRepository.findByMobileNumber(mobileNumber)).thenReturn(Optional.of(customer));
-        when(accountsRepository.findByCustomerId(1L)).thenReturn(Optional.empty());
+        when(accountsRepository.findByCustomerIdAndPrimaryAccountTrue(1L)).thenReturn(Optional.empty());
 
         // then
         assertThatThrownBy(() -> underTest.fetchAccountDetails(mobileNumber))
@@ -138,7 +238,223 @@ class AccountsServiceTest {
                 .hasMessageContaining("Accounts", "CustomerId", "1");
 
         verify(customerRepository).findByMobileNumber(mobileNumber);
-        verify(accountsRepository).findByCustomerId(1L);
+        verify(accountsRepository).findByCustomerIdAndPrimaryAccountTrue(1L);
+    }
+
+    @Test
+    void shouldFetchJoinedAccountDetailsInSingleQuery() {
+        // given
+        String mobileNumber = "1234567890";
+        CustomerAccountView view = new CustomerAccountView(1L, "abcde", "abc@gmail.com", mobileNumber, 0L,
+                1027418131L, "Savings", "New York");
+        when(customerRepository.findCustomerAccountByMobileNumber(mobileNumber)).thenReturn(Optional.of(view));
+
+        // when
+        CustomerDTO result = underTest.fetchAccountDetails(mobileNumber);
+
+        // then
+        assertEquals("abcde", result.getName());
+        assertEquals("abc@gmail.com", result.getEmail());
+        assertEquals(mobileNumber, result.getMobileNumber());
+        assertEquals(1027418131L, result.getAccountsDTO().getAccountNumber());
+        assertEquals("Savings", result.getAccountsDTO().getAccountType());
+        assertEquals("New York", result.getAccountsDTO().getBranchAddress());
+        verify(customerRepository, never()).findByMobileNumber(any());
+        verify(accountsRepository, never()).findByCustomerIdAndPrimaryAccountTrue(any());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenJoinedAccountNotFound() {
+        // given
+        String mobileNumber = "1234567890";
+        CustomerAccountView view = new CustomerAccountView(1L, "abcde", "abc@gmail.com", mobileNumber, 0L,
+                null, null, null);
+        when(customerRepository.findCustomerAccountByMobileNumber(mobileNumber)).thenReturn(Optional.of(view));
+
+        // then
+        assertThatThrownBy(() -> underTest.fetchAccountDetails(mobileNumber))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Accounts", "CustomerId", "1");
+    }
+
+    @Test
+    void shouldRunOneLookupForConcurrentFetchesOfTheSameMobileNumber() throws Exception {
+        // given
+        int callers = 8;
+        String mobileNumber = "123456";
+        CustomerAccountView view = new CustomerAccountView(1L, "abcde", "abc@gmail.com", mobileNumber, 0L,
+                1027418131L, "Savings", "New York");
+        when(customerRepository.findCustomerAccountByMobileNumber(mobileNumber)).thenAnswer(invocation -> {
+            // hold the lookup open until every other caller has joined it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (coalescedCalls() < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            return Optional.of(view);
+        });
+
+        // when
+        List<Future<CustomerDTO>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> underTest.fetchAccountDetails(mobileNumber)));
+            }
+            for (Future<CustomerDTO> result : results) {
+                assertEquals("abcde", result.get(10, TimeUnit.SECONDS).getName());
+            }
+        }
+
+        // then
+        verify(customerRepository, times(1)).findCustomerAccountByMobileNumber(mobileNumber);
+        assertEquals(callers - 1, coalescedCalls());
+    }
+
+    @Test
+    void shouldFetchBatchWithOneJoinedQueryPerChunk() {
+        // given
+        accountsProperties.getBatchFetch().setChunkSize(2);
+        when(customerRepository.findCustomerAccountsByMobileNumbers(List.of("1111111111", "2222222222")))
+                .thenReturn(List.of(
+                        new CustomerAccountView(1L, "Alice", "a@x.com", "1111111111", 0L, 11L, "Savings", "NY"),
+                        new CustomerAccountView(2L, "Bob", "b@x.com", "2222222222", 0L, null, null, null)));
+        when(customerRepository.findCustomerAccountsByMobileNumbers(List.of("3333333333")))
+                .thenReturn(List.of(
+                        new CustomerAccountView(3L, "Carol", "c@x.com", "3333333333", 0L, 33L, "Savings", "NY")));
+
+        // when
+        BatchFetchResponseDTO result = underTest.fetchAccountDetails(
+                List.of("1111111111", "2222222222", "3333333333", "1111111111"));
+
+        // then
+        assertEquals(List.of("1111111111", "3333333333"),
+                result.getCustomers().stream().map(CustomerDTO::getMobileNumber).toList());
+        assertEquals(List.of("2222222222"), result.getNotFound());
+        verify(customerRepository, times(2)).findCustomerAccountsByMobileNumbers(any());
+    }
+
+    @Test
+    void shouldFetchBatchWithSetBasedEntityQueries() {
+        // given
+        accountsProperties.setReadPath(AccountsProperties.ReadPath.ENTITY);
+        List<String> mobileNumbers = List.of("1111111111", "2222222222");
+        when(customerRepository.findByMobileNumberIn(mobileNumbers)).thenReturn(List.of(
+                Customer.builder().customerId(1L).mobileNumber("1111111111").build()));
+        when(accountsRepository.findPrimaryByCustomerIdIn(List.of(1L))).thenReturn(List.of(
+                Accounts.builder().customerId(1L).accountNumber(11L).accountType("Savings").build()));
+
+        // when
+        BatchFetchResponseDTO result = underTest.fetchAccountDetails(mobileNumbers);
+
+        // then
+        assertEquals(1, result.getCustomers().size());
+        assertEquals(11L, result.getCustomers().get(0).getAccountsDTO().getAccountNumber());
+        assertEquals(List.of("2222222222"), result.getNotFound());
+        verify(customerRepository, never()).findByMobileNumber(any());
+    }
+
+    @Test
+    void shouldFetchAccountDetailsFromSplitProjections() {
+        // given
+        accountsProperties.setReadPath(AccountsProperties.ReadPath.SPLIT);
+        String mobileNumber = "123456";
+        when(customerRepository.findSummaryByMobileNumber(mobileNumber)).thenReturn(Optional.of(
+                new CustomerSummary(1L, "abcde", "abc@gmail.com", mobileNumber, 0L)));
+        when(accountsRepository.findPrimarySummaryByCustomerId(1L)).thenReturn(Optional.of(
+                new AccountSummary(1L, 1027418131L, "Savings", "New York")));
+
+        // when
+        CustomerDTO result = underTest.fetchAccountDetails(mobileNumber);
+
+        // then
+        assertEquals("abcde", result.getName());
+        assertEquals(1027418131L, result.getAccountsDTO().getAccountNumber());
+        assertEquals("New York", result.getAccountsDTO().getBranchAddress());
+        verify(customerRepository, never()).findByMobileNumber(any());
+        verify(accountsRepository, never()).findByCustomerIdAndPrimaryAccountTrue(any());
+    }
+
+    @Test
+    void shouldFetchBatchWithSetBasedProjectionQueries() {
+        // given
+        accountsProperties.setReadPath(AccountsProperties.ReadPath.SPLIT);
+        List<String> mobileNumbers = List.of("1111111111", "2222222222");
+        when(customerRepository.findSummariesByMobileNumbers(mobileNumbers)).thenReturn(List.of(
+                new CustomerSummary(1L, "abcde", "abc@gmail.com", "1111111111", 0L)));
+        when(accountsRepository.findPrimarySummariesByCustomerIds(List.of(1L))).thenReturn(List.of(
+                new AccountSummary(1L, 11L, "Savings", "New York")));
+
+        // when
+        BatchFetchResponseDTO result = underTest.fetchAccountDetails(mobileNumbers);
+
+        // then
+        assertEquals(1, result.getCustomers().size());
+        assertEquals(11L, result.getCustomers().get(0).getAccountsDTO().getAccountNumber());
+        assertEquals(List.of("2222222222"), result.getNotFound());
+        verify(customerRepository, never()).findByMobileNumberIn(any());
+    }
+
+    @Test
+    void shouldOpenAdditionalAccountForExistingCustomer() {
+        // given
+        NewAccountDTO newAccountDTO = NewAccountDTO.builder()
+                .mobileNumber("1234567890")
+                .accountType("Current")
+                .branchAddress("Boston")
+                .build();
+        when(customerRepository.findByMobileNumber("1234567890")).thenReturn(Optional.of(
+                Customer.builder().customerId(1L).mobileNumber("1234567890").build()));
+        when(accountNumberGenerator.nextAccountNumber()).thenReturn(1000000009L);
+
+        // when
+        AccountsDTO result = underTest.openAccount(newAccountDTO);
+
+        // then
+        assertEquals(1000000009L, result.getAccountNumber());
+        assertEquals("Current", result.getAccountType());
+        verify(accountsRepository).save(argThat((Accounts a) ->
+                a.getAccountNumber() == 1000000009L && a.getCustomerId() == 1L && !a.isPrimaryAccount()));
+        verify(eventPublisher).publishEvent(new AccountsChangedEvent(ChangeType.UPDATED, "1234567890"));
+    }
+
+    @Test
+    void shouldListAccountsPageWithCursorToNextPage() {
+        // given
+        when(customerRepository.findSummaryByMobileNumber("1234567890")).thenReturn(Optional.of(
+                new CustomerSummary(1L, "abcde", "abc@gmail.com", "1234567890", 0L)));
+        when(accountsRepository.findPageByCustomerId(1L, 10L, PageRequest.ofSize(3))).thenReturn(List.of(
+                new AccountSummary(1L, 11L, "Savings", "New York"),
+                new AccountSummary(1L, 12L, "Current", "New York"),
+                new AccountSummary(1L, 13L, "Savings", "Boston")));
+
+        // when
+        CustomerAccountsDTO result = underTest.fetchAccounts("1234567890", 10L, 2);
+
+        // then
+        assertEquals(List.of(11L, 12L), result.getAccounts().stream().map(AccountsDTO::getAccountNumber).toList());
+        assertEquals(12L, result.getNextAfter());
+    }
+
+    @Test
+    void shouldListAccountsOfBatchWithTwoQueries() {
+        // given
+        List<String> mobileNumbers = List.of("1111111111", "2222222222", "3333333333");
+        when(customerRepository.findSummariesByMobileNumbers(mobileNumbers)).thenReturn(List.of(
+                new CustomerSummary(3L, "fghij", "fgh@gmail.com", "3333333333", 0L),
+                new CustomerSummary(1L, "abcde", "abc@gmail.com", "1111111111", 0L)));
+        when(accountsRepository.findSummariesByCustomerIds(List.of(3L, 1L))).thenReturn(List.of(
+                new AccountSummary(1L, 11L, "Savings", "New York"),
+                new AccountSummary(1L, 12L, "Current", "New York")));
+
+        // when
+        BatchAccountsResponseDTO result = underTest.fetchAccounts(mobileNumbers);
+
+        // then
+        assertEquals(List.of("1111111111", "3333333333"),
+                result.getCustomers().stream().map(CustomerAccountsDTO::getMobileNumber).toList());
+        assertEquals(2, result.getCustomers().get(0).getAccounts().size());
+        assertTrue(result.getCustomers().get(1).getAccounts().isEmpty());
+        assertEquals(List.of("2222222222"), result.getNotFound());
+        verify(accountsRepository, never()).findPageByCustomerId(anyLong(), anyLong(), any());
     }
 
     @Test
@@ -154,27 +470,132 @@ class AccountsServiceTest {
                 .name("Updated Name")
                 .email("updated@email.com")
                 .mobileNumber("1234567890")
+                .version(3L)
                 .accountsDTO(accountsDTO)
                 .build();
 
         Accounts existingAccount = new Accounts();
+        existingAccount.setAccountNumber(1L);
         existingAccount.setCustomerId(1L);
-        when(accountsRepository.findById(1L)).thenReturn(Optional.of(existingAccount));
-        when(accountsRepository.save(any(Accounts.class))).thenReturn(existingAccount);
-
+        existingAccount.setAccountType("Savings");
+        existingAccount.setBranchAddress("123 Street");
         Customer existingCustomer = new Customer();
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(existingCustomer));
-        when(customerRepository.save(any(Customer.class))).thenReturn(existingCustomer);
+        existingCustomer.setMobileNumber("0987654321");
+        existingCustomer.setVersion(3L);
+        when(accountsRepository.findWithCustomerByAccountNumber(1L))
+                .thenReturn(Optional.of(new AccountWithCustomer(existingAccount, existingCustomer)));
 
         // when
         boolean result = underTest.updateAccount(customerDTO);
 
         // then
         assertTrue(result);
-        verify(accountsRepository).findById(1L);
-        verify(accountsRepository).save(any(Accounts.class));
-        verify(customerRepository).findById(1L);
-        verify(customerRepository).save(any(Customer.class));
+        assertEquals(1L, existingAccount.getAccountNumber());
+        assertEquals("Updated Name", existingCustomer.getName());
+        verify(accountsRepository).findWithCustomerByAccountNumber(1L);
+        verify(accountsRepository).flush();
+        verify(accountsRepository, never()).save(any(Accounts.class));
+        verify(customerRepository, never()).findById(anyLong());
+        verify(customerRepository, never()).save(any(Customer.class));
+        verify(eventPublisher).publishEvent(
+                new AccountsChangedEvent(ChangeType.UPDATED, "1234567890", "0987654321"));
+    }
+
+    @Test
+    void shouldRejectUpdateBasedOnStaleVersion() {
+        // given
+        CustomerDTO customerDTO = CustomerDTO.builder()
+                .name("Updated Name")
+                .mobileNumber("1234567890")
+                .version(2L)
+                .accountsDTO(AccountsDTO.builder().accountNumber(1L).build())
+                .build();
+        Accounts existingAccount = Accounts.builder().accountNumber(1L).customerId(1L).build();
+        Customer existingCustomer = Customer.builder().name("John Doe").mobileNumber("1234567890").build();
+        existingCustomer.setVersion(3L);
+        when(accountsRepository.findWithCustomerByAccountNumber(1L))
+                .thenReturn(Optional.of(new AccountWithCustomer(existingAccount, existingCustomer)));
+
+        // when and then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> underTest.updateAccount(customerDTO));
+        assertEquals("John Doe", existingCustomer.getName());
+        verify(accountsRepository, never()).flush();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldPatchOnlyChangedFields() {
+        // given
+        CustomerDTO customerDTO = CustomerDTO.builder()
+                .email("new@email.com")
+                .mobileNumber("1234567890")
+                .accountsDTO(AccountsDTO.builder().accountNumber(1L).branchAddress("456 Avenue").build())
+                .build();
+
+        Accounts existingAccount = Accounts.builder()
+                .accountNumber(1L)
+                .customerId(1L)
+                .accountType("Savings")
+                .branchAddress("123 Street")
+                .build();
+        Customer existingCustomer = Customer.builder()
+                .name("John Doe")
+                .email("old@email.com")
+                .mobileNumber("1234567890")
+                .build();
+        when(accountsRepository.findWithCustomerByAccountNumber(1L))
+                .thenReturn(Optional.of(new AccountWithCustomer(existingAccount, existingCustomer)));
+
+        // when
+        List<String> modifiedFields = underTest.patchAccount(customerDTO);
+
+        // then
+        assertEquals(List.of("email", "accountsDTO.branchAddress"), modifiedFields);
+        assertEquals("John Doe", existingCustomer.getName());
+        assertEquals("Savings", existingAccount.getAccountType());
+        assertEquals("456 Avenue", existingAccount.getBranchAddress());
+        verify(accountsRepository).flush();
+        verify(eventPublisher).publishEvent(
+                new AccountsChangedEvent(ChangeType.UPDATED, "1234567890", "1234567890"));
+    }
+
+    @Test
+    void shouldSkipWritesWhenPatchChangesNothing() {
+        // given
+        CustomerDTO customerDTO = CustomerDTO.builder()
+                .name("John Doe")
+                .accountsDTO(AccountsDTO.builder().accountNumber(1L).accountType("Savings").build())
+                .build();
+        Accounts existingAccount = Accounts.builder().accountNumber(1L).customerId(1L).accountType("Savings").build();
+        Customer existingCustomer = Customer.builder().name("John Doe").mobileNumber("1234567890").build();
+        when(accountsRepository.findWithCustomerByAccountNumber(1L))
+                .thenReturn(Optional.of(new AccountWithCustomer(existingAccount, existingCustomer)));
+
+        // when
+        List<String> modifiedFields = underTest.patchAccount(customerDTO);
+
+        // then
+        assertTrue(modifiedFields.isEmpty());
+        verify(accountsRepository, never()).flush();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldMapTakenMobileNumberOnUpdateToCustomerAlreadyExistsException() {
+        // given
+        CustomerDTO customerDTO = CustomerDTO.builder()
+                .mobileNumber("2222222222")
+                .accountsDTO(AccountsDTO.builder().accountNumber(1L).build())
+                .build();
+        Accounts existingAccount = Accounts.builder().accountNumber(1L).customerId(1L).build();
+        Customer existingCustomer = Customer.builder().mobileNumber("1234567890").build();
+        when(accountsRepository.findWithCustomerByAccountNumber(1L))
+                .thenReturn(Optional.of(new AccountWithCustomer(existingAccount, existingCustomer)));
+        doThrow(new DataIntegrityViolationException("uk_customer_mobile_number")).when(accountsRepository).flush();
+
+        // when and then
+        assertThrows(CustomerAlreadyExistsException.class, () -> underTest.patchAccount(customerDTO));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -193,14 +614,13 @@ class AccountsServiceTest {
                 .accountsDTO(accountsDTO)
                 .build();
 
-        when(accountsRepository.findById(999L)).thenReturn(Optional.empty());
+        when(accountsRepository.findWithCustomerByAccountNumber(999L)).thenReturn(Optional.empty());
 
         // when and then
         assertThrows(ResourceNotFoundException.class, () -> underTest.updateAccount(customerDTO));
-        verify(accountsRepository).findById(999L);
-        verify(accountsRepository, never()).save(any(Accounts.class));
+        verify(accountsRepository).findWithCustomerByAccountNumber(999L);
+        verify(accountsRepository, never()).flush();
         verify(customerRepository, never()).findById(anyLong());
-        verify(customerRepository, never()).save(any(Customer.class));
     }
 
     @Test
@@ -218,10 +638,9 @@ class AccountsServiceTest {
 
         // then
         assertFalse(result);
-        verify(accountsRepository, never()).findById(anyLong());
-        verify(accountsRepository, never()).save(any(Accounts.class));
+        verify(accountsRepository, never()).findWithCustomerByAccountNumber(anyLong());
+        verify(accountsRepository, never()).flush();
         verify(customerRepository, never()).findById(anyLong());
-        verify(customerRepository, never()).save(any(Customer.class));
     }
 
     @Test
@@ -242,21 +661,20 @@ class AccountsServiceTest {
 
         Accounts existingAccount = new Accounts();
         existingAccount.setCustomerId(1L);
-        when(accountsRepository.findById(1L)).thenReturn(Optional.of(existingAccount));
-        when(accountsRepository.save(any(Accounts.class))).thenReturn(existingAccount);
-        when(customerRepository.findById(1L)).thenReturn(Optional.empty());
+        when(accountsRepository.findWithCustomerByAccountNumber(1L))
+                .thenReturn(Optional.of(new AccountWithCustomer(existingAccount, null)));
 
         // when and then
         assertThrows(ResourceNotFoundException.class, () -> underTest.updateAccount(customerDTO));
-        verify(accountsRepository).findById(1L);
-        verify(accountsRepository).save(any(Accounts.class));
-        verify(customerRepository).findById(1L);
-        verify(customerRepository, never()).save(any(Customer.class));
+        verify(accountsRepository).findWithCustomerByAccountNumber(1L);
+        verify(accountsRepository, never()).flush();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
-    void shouldDeleteAccountsSuccessfully() {
+    void shouldHardDeleteAccountsSuccessfully() {
         // given
+        accountsProperties.getDelete().setMode(AccountsProperties.DeleteMode.HARD);
         Customer customer = Customer.builder()
                 .mobileNumber("123456")
                 .customerId(1L)
@@ -273,12 +691,14 @@ class AccountsServiceTest {
         verify(customerRepository).findByMobileNumber("123456");
         verify(accountsRepository).deleteByCustomerId(customer.getCustomerId());
         verify(customerRepository).deleteById(customer.getCustomerId());
+        verify(eventPublisher).publishEvent(new AccountsChangedEvent(ChangeType.DELETED, "123456"));
         assertTrue(result);
     }
 
     @Test
-    void shouldThrowResourceNotFoundExceptionWhenCustomerNotFoundForDelete() {
+    void shouldThrowResourceNotFoundExceptionWhenCustomerNotFoundForHardDelete() {
         // given
+        accountsProperties.getDelete().setMode(AccountsProperties.DeleteMode.HARD);
         when(customerRepository.findByMobileNumber("123456")).thenReturn(Optional.empty());
 
         // when and then
@@ -287,4 +707,34 @@ class AccountsServiceTest {
         verify(accountsRepository, never()).deleteByCustomerId(anyLong());
         verify(customerRepository, never()).deleteById(anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldSoftDeleteWithSingleStatement() {
+        // given
+        when(customerRepository.softDeleteByMobileNumber(eq("123456"), any(LocalDateTime.class))).thenReturn(1);
+
+        // when
+        boolean result = underTest.deleteAccounts("123456");
+
+        // then
+        assertTrue(result);
+        verify(customerRepository, never()).findByMobileNumber(any());
+        verify(accountsRepository, never()).deleteByCustomerId(anyLong());
+        verify(customerRepository, never()).deleteById(anyLong());
+        verify(eventPublisher).publishEvent(new AccountsChangedEvent(ChangeType.DELETED, "123456"));
+    }
+
+    @Test
+    void shouldThrowResourceNotFoundExceptionWhenNothingToSoftDelete() {
+        // given
+        when(customerRepository.softDeleteByMobileNumber(eq("123456"), any(LocalDateTime.class))).thenReturn(0);
+
+        // when and then
+        assertThrows(ResourceNotFoundException.class, () -> underTest.deleteAccounts("123456"));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    private long coalescedCalls() {
+        return (long) meterRegistry.get("accounts.single-flight.calls").tag("result", "coalesced").counter().count();
+    }
+}
@@ -0,0 +1,150 @@
+package org.abpira.accounts.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.abpira.accounts.config.AccountsProperties;
+import org.abpira.accounts.dto.BulkCreateResponseDTO;
+import org.abpira.accounts.dto.BulkCreateStatus;
+import org.abpira.accounts.dto.CustomerDTO;
+import org.abpira.accounts.entities.Accounts;
+import org.abpira.accounts.entities.Customer;
+import org.abpira.accounts.exceptions.BulkRequestTooLargeException;
+import org.abpira.accounts.generator.AccountNumberGenerator;
+import org.abpira.accounts.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkAccountsServiceTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final AccountsProperties accountsProperties = new AccountsProperties();
+
+    private final AccountNumberGenerator accountNumberGenerator = new AtomicLong(1000000000L)::incrementAndGet;
+
+    private BulkAccountsServiceImpl underTest;
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        underTest = new BulkAccountsServiceImpl(customerRepository, entityManager, transactionManager, validator,
+                eventPublisher, accountsProperties, accountNumberGenerator);
+    }
+
+    @Test
+    void shouldReportPerItemResults() {
+        // given
+        List<CustomerDTO> customerDTOs = List.of(
+                customer("Alice Smith", "1111111111"),
+                customer("x", "2222222222"),
+                customer("Alice Again", "1111111111"),
+                customer("Bob Jones", "3333333333"));
+        when(customerRepository.findExistingMobileNumbers(anyCollection())).thenReturn(Set.of("3333333333"));
+
+        // when
+        BulkCreateResponseDTO response = underTest.createAccounts(customerDTOs);
+
+        // then
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(3);
+        assertThat(response.getItems()).extracting("status").containsExactly(
+                BulkCreateStatus.CREATED,
+                BulkCreateStatus.INVALID,
+                BulkCreateStatus.DUPLICATE_IN_REQUEST,
+                BulkCreateStatus.ALREADY_EXISTS);
+        assertThat(response.getItems().get(0).getAccountNumber()).isNotNull();
+        verify(customerRepository, times(1)).findExistingMobileNumbers(anyCollection());
+        verify(entityManager).persist(any(Customer.class));
+        verify(entityManager).persist(any(Accounts.class));
+    }
+
+    @Test
+    void shouldPersistInChunksWithOneTransactionPerChunk() {
+        // given
+        accountsProperties.getBulk().setBatchSize(2);
+        List<CustomerDTO> customerDTOs = List.of(
+                customer("Alice Smith", "1111111111"),
+                customer("Bob Jones", "2222222222"),
+                customer("Carol King", "3333333333"));
+        when(customerRepository.findExistingMobileNumbers(anyCollection())).thenReturn(Set.of());
+
+        // when
+        BulkCreateResponseDTO response = underTest.createAccounts(customerDTOs);
+
+        // then
+        assertThat(response.getCreated()).isEqualTo(3);
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(entityManager, times(2)).flush();
+        verify(eventPublisher, times(3)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldRetryItemsIndividuallyWhenChunkFails() {
+        // given
+        List<CustomerDTO> customerDTOs = List.of(
+                customer("Alice Smith", "1111111111"),
+                customer("Bob Jones", "2222222222"));
+        when(customerRepository.findExistingMobileNumbers(anyCollection())).thenReturn(Set.of());
+        doThrow(new IllegalStateException("chunk failed"))
+                .doNothing()
+                .doThrow(new IllegalStateException("row failed"))
+                .when(entityManager).flush();
+
+        // when
+        BulkCreateResponseDTO response = underTest.createAccounts(customerDTOs);
+
+        // then
+        assertThat(response.getItems()).extracting("status")
+                .containsExactly(BulkCreateStatus.CREATED, BulkCreateStatus.FAILED);
+        assertThat(response.getItems().get(1).getMessage()).isEqualTo("row failed");
+    }
+
+    @Test
+    void shouldRejectRequestsAboveMaxItems() {
+        // given
+        accountsProperties.getBulk().setMaxItems(1);
+        List<CustomerDTO> customerDTOs = List.of(
+                customer("Alice Smith", "1111111111"),
+                customer("Bob Jones", "2222222222"));
+
+        // when and then
+        assertThatThrownBy(() -> underTest.createAccounts(customerDTOs))
+                .isInstanceOf(BulkRequestTooLargeException.class);
+        verifyNoInteractions(customerRepository, entityManager);
+    }
+
+    private static CustomerDTO customer(String name, String mobileNumber) {
+        return CustomerDTO.builder()
+                .name(name)
+                .email(mobileNumber + "@gmail.com")
+                .mobileNumber(mobileNumber)
+                .build();
+    }
+}